@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link ArtifactMatcher} compositions over synthetic artifact sets. Stateful matchers (like "unique")
+ * are built per invocation, as that is how they are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactMatcherBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({
+        "any()",
+        "artifact(org.group1*:*:*)",
+        "and(artifact(org.group*:artifact1*:*:jar:*), not(snapshot()), withoutClassifier())",
+        "or(artifact(*:*:*:pom:*), artifact(*:*:sources:jar:*), snapshot())",
+        "uniqueBy(GAKey())"
+    })
+    public String spec;
+
+    private List<Artifact> artifacts;
+
+    @Setup
+    public void setup() {
+        artifacts = SyntheticArtifacts.generate(size);
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        ArtifactMatcher matcher = ArtifactMatcher.build(Collections.emptyMap(), spec);
+        for (Artifact artifact : artifacts) {
+            blackhole.consume(matcher.test(artifact));
+        }
+    }
+}
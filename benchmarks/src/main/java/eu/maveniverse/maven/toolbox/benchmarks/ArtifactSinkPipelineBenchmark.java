@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.countingArtifactSink;
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.mappingArtifactSink;
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.matchingArtifactSink;
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.nullArtifactSink;
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.teeArtifactSink;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactMapper;
+import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks a typical sink pipeline: a tee of a matching (counting) sink and a mapping (null) sink, fed either
+ * artifact by artifact or with whole collection at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactSinkPipelineBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Artifact> artifacts;
+
+    private ArtifactMatcher matcher;
+
+    private ArtifactMapper mapper;
+
+    @Setup
+    public void setup() {
+        artifacts = SyntheticArtifacts.generate(size);
+        matcher = ArtifactMatcher.build(Collections.emptyMap(), "and(not(snapshot()), withoutClassifier())");
+        mapper = ArtifactMapper.build(Collections.emptyMap(), "compose(omitClassifier(), baseVersion())");
+    }
+
+    @Benchmark
+    public void acceptEach(Blackhole blackhole) throws Exception {
+        ArtifactSinks.CountingArtifactSink counting = countingArtifactSink(new NullOutput());
+        try (ArtifactSink sink = teeArtifactSink(
+                matchingArtifactSink(matcher, counting), mappingArtifactSink(mapper, nullArtifactSink()))) {
+            for (Artifact artifact : artifacts) {
+                sink.accept(artifact);
+            }
+        }
+        blackhole.consume(counting.count());
+    }
+
+    @Benchmark
+    public void acceptAll(Blackhole blackhole) throws Exception {
+        ArtifactSinks.CountingArtifactSink counting = countingArtifactSink(new NullOutput());
+        try (ArtifactSink sink = teeArtifactSink(
+                matchingArtifactSink(matcher, counting), mappingArtifactSink(mapper, nullArtifactSink()))) {
+            sink.accept(artifacts);
+        }
+        blackhole.consume(counting.count());
+    }
+}
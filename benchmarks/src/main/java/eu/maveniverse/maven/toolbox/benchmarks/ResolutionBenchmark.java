@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Runtime;
+import eu.maveniverse.maven.mima.context.Runtimes;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
+import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
+import eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks;
+import eu.maveniverse.maven.toolbox.shared.internal.DirectorySink;
+import eu.maveniverse.maven.toolbox.shared.internal.ToolboxCommandoImpl;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmarks of {@link ToolboxCommandoImpl} resolution commands against a {@link SyntheticRepository}
+ * exposed as {@code file://} remote repository, with cold (emptied before each invocation) or warm (populated once)
+ * local repository. Each invocation uses fresh context, hence no session state is shared between invocations.
+ * <p>
+ * Reports wall time per command ("avgt" mode) and, in "thrpt" mode, artifacts (or tree nodes) processed per second as
+ * "artifacts" secondary result. For allocation rate, run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResolutionBenchmark {
+    @Param({"4"})
+    public int depth;
+
+    @Param({"4"})
+    public int fanOut;
+
+    @Param({"3"})
+    public int versions;
+
+    @Param({"1"})
+    public int boms;
+
+    @Param({"cold", "warm"})
+    public String localRepository;
+
+    /**
+     * Secondary result: processed artifacts, normalized as primary result is.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long artifacts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            artifacts = 0;
+        }
+    }
+
+    private Path workDirectory;
+
+    private Path localRepositoryDirectory;
+
+    private Path copyDirectory;
+
+    private RemoteRepository remoteRepository;
+
+    private Runtime runtime;
+
+    private Context context;
+
+    private ToolboxCommandoImpl toolboxCommando;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        workDirectory = Files.createTempDirectory("toolbox-bench");
+        Path remoteDirectory = workDirectory.resolve("remote");
+        SyntheticRepository.generate(remoteDirectory, depth, fanOut, versions, boms);
+        remoteRepository = new RemoteRepository.Builder(
+                        "synthetic", "default", remoteDirectory.toUri().toString())
+                .build();
+        localRepositoryDirectory = workDirectory.resolve("local");
+        copyDirectory = workDirectory.resolve("copy");
+        runtime = Runtimes.INSTANCE.getRuntime();
+        if ("warm".equals(localRepository)) {
+            setupInvocation();
+            toolboxCommando.resolveTransitive(
+                    ResolutionScope.RUNTIME,
+                    roots(),
+                    false,
+                    false,
+                    false,
+                    ArtifactSinks.nullArtifactSink(),
+                    new NullOutput());
+            tearDownInvocation();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        delete(workDirectory);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws IOException {
+        if ("cold".equals(localRepository)) {
+            delete(localRepositoryDirectory);
+        }
+        delete(copyDirectory);
+        context = runtime.create(ContextOverrides.create()
+                .withBasedirOverride(workDirectory)
+                .withMavenUserHomeOverride(workDirectory.resolve("m2"))
+                .withLocalRepositoryOverride(localRepositoryDirectory)
+                .withUserSettings(false)
+                .repositories(Collections.singletonList(remoteRepository))
+                .addRepositoriesOp(ContextOverrides.AddRepositoriesOp.REPLACE)
+                .build());
+        toolboxCommando = new ToolboxCommandoImpl(runtime, context);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean resolveTransitive(Counters counters) throws Exception {
+        ArtifactSinks.CountingArtifactSink sink = ArtifactSinks.countingArtifactSink(new NullOutput());
+        boolean result = toolboxCommando.resolveTransitive(
+                ResolutionScope.RUNTIME, roots(), false, false, false, sink, new NullOutput());
+        counters.artifacts += sink.count();
+        return result;
+    }
+
+    @Benchmark
+    public boolean copyTransitive(Counters counters) throws Exception {
+        ArtifactSinks.CountingArtifactSink count = ArtifactSinks.countingArtifactSink(new NullOutput());
+        boolean result = toolboxCommando.copyTransitive(
+                ResolutionScope.RUNTIME,
+                roots(),
+                ArtifactSinks.teeArtifactSink(DirectorySink.repository(new NullOutput(), copyDirectory), count),
+                new NullOutput());
+        counters.artifacts += count.count();
+        return result;
+    }
+
+    @Benchmark
+    public boolean tree(Counters counters) {
+        LineCountingOutput output = new LineCountingOutput();
+        boolean result =
+                toolboxCommando.tree(ResolutionScope.RUNTIME, root(), false, -1, -1, TreeFormat.TEXT, null, output);
+        counters.artifacts += output.lines;
+        return result;
+    }
+
+    private static ResolutionRoot root() {
+        return ResolutionRoot.ofLoaded(SyntheticRepository.ROOT).build();
+    }
+
+    private static List<ResolutionRoot> roots() {
+        return Collections.singletonList(root());
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (Files.exists(path)) {
+            try (Stream<Path> paths = Files.walk(path)) {
+                for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(p);
+                }
+            }
+        }
+    }
+
+    private static final class LineCountingOutput implements Output {
+        private long lines;
+
+        @Override
+        public boolean isVerbose() {
+            return false;
+        }
+
+        @Override
+        public void verbose(String msg, Object... params) {}
+
+        @Override
+        public void normal(String msg, Object... params) {
+            lines++;
+        }
+
+        @Override
+        public void warn(String msg, Object... params) {}
+
+        @Override
+        public void error(String msg, Object... params) {}
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import eu.maveniverse.maven.toolbox.shared.internal.SpecParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link SpecParser#parse(String)} with specs of growing complexity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecParserBenchmark {
+    @Param({
+        "any()",
+        "artifact(org.group:*:*)",
+        "and(artifact(org.group*:*:*), not(snapshot()), withoutClassifier())",
+        "tee(matching(and(artifact(${groupId}:*:jar:*), not(snapshot())), counting()),"
+                + " mapping(compose(omitClassifier(), baseVersion()), flat(target/out, repository(${fs}))))"
+    })
+    public String spec;
+
+    @Benchmark
+    public SpecParser.Op parse() {
+        return SpecParser.parse(spec);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Generates synthetic (but deterministic) artifact sets for benchmarks: artifacts are spread across groups,
+ * artifact IDs and versions, and mix in classifiers, extensions and (timestamped) snapshots in roughly the same
+ * proportions as they appear in a typical local repository.
+ */
+public final class SyntheticArtifacts {
+    private SyntheticArtifacts() {}
+
+    private static final String[] CLASSIFIERS = {"", "", "", "", "sources", "javadoc", "tests"};
+
+    private static final String[] EXTENSIONS = {"jar", "jar", "jar", "pom", "zip", "tar.gz"};
+
+    public static List<Artifact> generate(int count) {
+        Random random = new Random(count);
+        ArrayList<Artifact> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String groupId = "org.group" + random.nextInt(Math.max(1, count / 1000)) + ".sub" + random.nextInt(10);
+            String artifactId = "artifact" + random.nextInt(100);
+            String version;
+            if (random.nextInt(10) == 0) {
+                version = "1." + random.nextInt(20) + "-20240101.1200" + (10 + random.nextInt(50)) + "-"
+                        + (1 + random.nextInt(9));
+            } else {
+                version = random.nextInt(5) + "." + random.nextInt(20) + "." + random.nextInt(10);
+            }
+            String classifier = CLASSIFIERS[random.nextInt(CLASSIFIERS.length)];
+            String extension = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            result.add(new DefaultArtifact(groupId, artifactId, classifier, extension, version));
+        }
+        return result;
+    }
+}
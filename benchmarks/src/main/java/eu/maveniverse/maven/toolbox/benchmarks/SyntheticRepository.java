@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Generator of deterministic synthetic Maven repositories (in default layout) on disk, to be used as {@code file://}
+ * remote repository. Generated graph has {@link #ROOT} on top, that depends on {@code fanOut} artifacts of the first
+ * level, and each artifact of a level depends on {@code fanOut} artifacts of the next level, down to {@code depth}
+ * levels. Each level has {@code fanOut * 4} artifacts in {@code versions} versions: with more than one version,
+ * dependencies pick differing versions of same artifact, hence the graph has version conflicts. Root imports
+ * {@code boms} BOMs, each managing the versions of one level.
+ */
+public final class SyntheticRepository {
+    public static final String GROUP_ID = "bench";
+
+    public static final Artifact ROOT = new DefaultArtifact(GROUP_ID, "root", "pom", "1.0");
+
+    private static final int JAR_SIZE = 4 * 1024;
+
+    private SyntheticRepository() {}
+
+    /**
+     * Generates repository into given directory, and returns count of generated artifacts (POMs and JARs).
+     */
+    public static int generate(Path directory, int depth, int fanOut, int versions, int boms) throws IOException {
+        if (depth < 1 || fanOut < 1 || versions < 1 || boms < 0) {
+            throw new IllegalArgumentException("invalid repository shape");
+        }
+        int width = fanOut * 4;
+        int count = 0;
+        byte[] jar = new byte[JAR_SIZE];
+        new Random(depth * 31L + fanOut).nextBytes(jar);
+
+        StringBuilder rootManagement = new StringBuilder();
+        for (int b = 0; b < boms; b++) {
+            int level = b % depth + 1;
+            StringBuilder management = new StringBuilder();
+            for (int i = 0; i < width; i++) {
+                management.append(dependency(groupId(level), artifactId(level, i), version(0), null, null));
+            }
+            write(directory, GROUP_ID, "bom" + b, "1.0", "pom", pom(GROUP_ID, "bom" + b, "1.0", "pom", management, ""));
+            count++;
+            rootManagement.append(dependency(GROUP_ID, "bom" + b, "1.0", "pom", "import"));
+        }
+        write(
+                directory,
+                ROOT.getGroupId(),
+                ROOT.getArtifactId(),
+                ROOT.getVersion(),
+                "pom",
+                pom(
+                        ROOT.getGroupId(),
+                        ROOT.getArtifactId(),
+                        ROOT.getVersion(),
+                        "pom",
+                        rootManagement,
+                        dependencies(1, 0, fanOut, versions, width)));
+        count++;
+
+        for (int level = 1; level <= depth; level++) {
+            for (int i = 0; i < width; i++) {
+                for (int v = 0; v < versions; v++) {
+                    String dependencies = level < depth ? dependencies(level + 1, i + v, fanOut, versions, width) : "";
+                    write(
+                            directory,
+                            groupId(level),
+                            artifactId(level, i),
+                            version(v),
+                            "pom",
+                            pom(groupId(level), artifactId(level, i), version(v), "jar", null, dependencies));
+                    write(directory, groupId(level), artifactId(level, i), version(v), "jar", jar);
+                    count += 2;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static String groupId(int level) {
+        return GROUP_ID + ".level" + level;
+    }
+
+    private static String artifactId(int level, int index) {
+        return "artifact-" + level + "-" + index;
+    }
+
+    private static String version(int v) {
+        return "1." + v;
+    }
+
+    private static String dependencies(int level, int seed, int fanOut, int versions, int width) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < fanOut; k++) {
+            sb.append(dependency(
+                    groupId(level),
+                    artifactId(level, (seed * fanOut + k) % width),
+                    version((seed + k) % versions),
+                    null,
+                    null));
+        }
+        return sb.toString();
+    }
+
+    private static String dependency(String groupId, String artifactId, String version, String type, String scope) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                + version + "</version>" + (type != null ? "<type>" + type + "</type>" : "")
+                + (scope != null ? "<scope>" + scope + "</scope>" : "") + "</dependency>\n";
+    }
+
+    private static byte[] pom(
+            String groupId,
+            String artifactId,
+            String version,
+            String packaging,
+            CharSequence management,
+            String dependencies) {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project><modelVersion>4.0.0</modelVersion>"
+                        + "<groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                        + version + "</version><packaging>" + packaging + "</packaging>\n"
+                        + (management != null && management.length() > 0
+                                ? "<dependencyManagement><dependencies>\n" + management
+                                        + "</dependencies></dependencyManagement>\n"
+                                : "")
+                        + (!dependencies.isEmpty() ? "<dependencies>\n" + dependencies + "</dependencies>\n" : "")
+                        + "</project>\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(
+            Path directory, String groupId, String artifactId, String version, String extension, byte[] content)
+            throws IOException {
+        Path dir =
+                directory.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+        Files.createDirectories(dir);
+        Path file = dir.resolve(artifactId + "-" + version + "." + extension);
+        Files.write(file, content);
+        try {
+            Files.write(
+                    dir.resolve(file.getFileName() + ".sha1"),
+                    ChecksumUtils.toHexString(MessageDigest.getInstance("SHA-1").digest(content))
+                            .getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared;
+
+import java.io.IOException;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Construction to produce artifacts, for example like a filesystem directory, the counterpart of
+ * {@link ArtifactSink}. Artifacts are pulled one by one, so a source may produce any count of artifacts with bounded
+ * memory.
+ */
+public interface ArtifactSource extends AutoCloseable {
+    /**
+     * Returns next artifact, or {@code null} if this source is exhausted.
+     */
+    Artifact next() throws IOException;
+
+    default void close() throws Exception {}
+}
@@ -13,6 +13,7 @@ import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.Runtime;
 import eu.maveniverse.maven.toolbox.shared.internal.ToolboxCommandoImpl;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -52,6 +53,16 @@ public interface ToolboxCommando {
 
     boolean dump(boolean verbose, Output output);
 
+    /**
+     * Returns the metrics populated by commando methods.
+     */
+    ToolboxMetrics getMetrics();
+
+    /**
+     * Returns the transfer statistics, gathered for all commando methods.
+     */
+    TransferStatistics getTransferStatistics();
+
     // Parsers
 
     /**
@@ -87,6 +98,11 @@ public interface ToolboxCommando {
      */
     ArtifactSink artifactSink(Output output, String spec) throws IOException;
 
+    /**
+     * Provides {@link ArtifactSource} according to spec.
+     */
+    ArtifactSource artifactSource(Output output, String spec) throws IOException;
+
     /**
      * Shorthand method, creates {@link ResolutionRoot} out of passed in artifact.
      */
@@ -111,8 +127,27 @@ public interface ToolboxCommando {
         return result;
     }
 
+    /**
+     * Garbage collects content addressable store (used by {@code cas} and {@code casRepository} sinks): removes
+     * objects no longer linked from any layout. In dry run mode, only reports what would be removed.
+     */
+    boolean casGc(boolean dryRun, Output output) throws Exception;
+
     boolean classpath(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output) throws Exception;
 
+    /**
+     * Displays classpath of each root (prefixed by root artifact), roots being resolved concurrently.
+     */
+    boolean classpath(ResolutionScope resolutionScope, Collection<ResolutionRoot> resolutionRoots, Output output)
+            throws Exception;
+
+    /**
+     * Displays classpath of root using lockfile: if lockfile exists, the artifacts locked in it are resolved and
+     * verified without collecting dependencies, otherwise root is resolved and lockfile is written.
+     */
+    boolean classpath(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Path lockfile, Output output)
+            throws Exception;
+
     boolean copy(Collection<Artifact> artifacts, ArtifactSink sink, Output output) throws Exception;
 
     boolean copyTransitive(
@@ -124,24 +159,61 @@ public interface ToolboxCommando {
 
     boolean copyAllRecorded(ArtifactSink sink, boolean stopRecording, Output output) throws Exception;
 
+    /**
+     * Deduplicates artifact files across passed in local repositories (if empty, the local repository) by replacing
+     * identical files with hard links. In dry run mode, only reports what would be linked.
+     */
+    boolean dedupe(Collection<Path> repositories, boolean dryRun, Output output) throws Exception;
+
     boolean deploy(RemoteRepository remoteRepository, Supplier<Collection<Artifact>> artifactSupplier, Output output)
             throws Exception;
 
     boolean deployAllRecorded(RemoteRepository remoteRepository, boolean stopRecording, Output output) throws Exception;
 
+    /**
+     * Evicts least recently used GAVs from local repository, until its size meets passed in budget, like {@code 500m}
+     * or {@code 10g}. GAVs are ranked by latest of access log record (see {@code toolbox.accessLog} configuration) and
+     * file last access time. In dry run mode, only reports what would be evicted.
+     */
+    boolean evict(String budget, boolean dryRun, Output output) throws Exception;
+
     boolean install(Supplier<Collection<Artifact>> artifactSupplier, Output output) throws Exception;
 
+    /**
+     * Resolves root and writes its resolved artifact set (coordinates, SHA-1 and origin repository of each artifact)
+     * into lockfile.
+     */
+    boolean lock(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Path lockfile, Output output)
+            throws Exception;
+
     boolean listRepositories(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output)
             throws Exception;
 
     boolean listAvailablePlugins(Collection<String> groupIds, Output output) throws Exception;
 
+    /**
+     * Streams all artifacts produced by source into sink, one by one, and closes both.
+     */
+    boolean pipe(ArtifactSource source, ArtifactSink sink, Output output) throws Exception;
+
     boolean recordStart(Output output);
 
     boolean recordStats(Output output);
 
     boolean recordStop(Output output);
 
+    /**
+     * Prints transfer statistics gathered so far (per remote repository downloads, bytes, latencies, failures and
+     * local repository cache hits vs misses), and optionally clears them.
+     */
+    boolean transferStats(boolean clear, Output output);
+
+    /**
+     * Scans passed in repository directory (laid out as repository, like local repository is), concurrently, and
+     * passes all found artifacts into sink. If repository is {@code null}, the local repository is scanned.
+     */
+    boolean scan(Path repository, ArtifactSink sink, Output output) throws Exception;
+
     boolean resolve(
             Collection<Artifact> artifacts,
             boolean sources,
@@ -161,7 +233,58 @@ public interface ToolboxCommando {
             Output output)
             throws Exception;
 
-    boolean tree(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, boolean verbose, Output output)
+    default boolean tree(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, boolean verbose, Output output)
+            throws Exception {
+        return tree(resolutionScope, resolutionRoot, verbose, -1, -1, output);
+    }
+
+    /**
+     * Displays dependency tree, limited to given depth (root is at depth 0) and count of nodes, elided parts of the
+     * tree being marked. Negative limit means "unlimited".
+     */
+    default boolean tree(
+            ResolutionScope resolutionScope,
+            ResolutionRoot resolutionRoot,
+            boolean verbose,
+            int maxDepth,
+            int maxNodes,
+            Output output)
+            throws Exception {
+        return tree(resolutionScope, resolutionRoot, verbose, maxDepth, maxNodes, TreeFormat.TEXT, null, output);
+    }
+
+    /**
+     * Writes dependency tree in given format to given file, or if file is {@code null}, displays it. Structured
+     * formats are written incrementally, without materializing the document in memory.
+     */
+    boolean tree(
+            ResolutionScope resolutionScope,
+            ResolutionRoot resolutionRoot,
+            boolean verbose,
+            int maxDepth,
+            int maxNodes,
+            TreeFormat format,
+            Path outputFile,
+            Output output)
+            throws Exception;
+
+    /**
+     * Displays dependency tree of each root, roots being collected concurrently.
+     */
+    boolean tree(
+            ResolutionScope resolutionScope,
+            Collection<ResolutionRoot> resolutionRoots,
+            boolean verbose,
+            int maxDepth,
+            int maxNodes,
+            Output output)
+            throws Exception;
+
+    /**
+     * Collects graphs of both roots (in parallel) and reports differences of them: added, removed, version changed
+     * and scope changed artifacts.
+     */
+    boolean treeDiff(ResolutionScope resolutionScope, ResolutionRoot leftRoot, ResolutionRoot rightRoot, Output output)
             throws Exception;
 
     // Search API related commands: they target one single RemoteRepository
@@ -185,6 +308,15 @@ public interface ToolboxCommando {
 
     boolean identify(RemoteRepository remoteRepository, String target, Output output) throws IOException;
 
+    /**
+     * Builds local index of passed in repository directory (laid out as repository, like local repository is) into
+     * passed in index file. The index enables offline use of search API related commands via the {@code "local"}
+     * search remote repository. If repository is {@code null}, the local repository is indexed. If index file is
+     * {@code null}, the default index file location is used (the one {@code "local"} search remote repository
+     * points at).
+     */
+    boolean indexLocal(Path repository, Path indexFile, Output output) throws IOException;
+
     boolean list(RemoteRepository remoteRepository, String gavoid, Output output) throws IOException;
 
     boolean search(RemoteRepository remoteRepository, String expression, Output output) throws IOException;
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared;
+
+import java.util.Map;
+
+/**
+ * Toolbox metrics: per phase timers, artifact counters and byte gauges, populated by {@link ToolboxCommando} methods.
+ * Metrics are cumulative for the lifetime of commando (or until {@link #clear()} is invoked).
+ */
+public interface ToolboxMetrics {
+    /**
+     * Loading of resolution root (reading artifact descriptor).
+     */
+    String LOAD_ROOT = "loadRoot";
+
+    /**
+     * Dependency graph collection.
+     */
+    String COLLECT = "collect";
+
+    /**
+     * Dependency graph resolution (collection and artifact resolution).
+     */
+    String RESOLVE = "resolve";
+
+    /**
+     * Resolution of artifacts (ie. sub-artifacts like sources or javadoc).
+     */
+    String RESOLVE_ARTIFACTS = "resolveArtifacts";
+
+    /**
+     * Artifacts processing by sink.
+     */
+    String SINK_ACCEPT = "sink.accept";
+
+    /**
+     * Closing of sink (ie. deploying or writing out indexes).
+     */
+    String SINK_CLOSE = "sink.close";
+
+    /**
+     * Metrics of one phase.
+     */
+    interface Phase {
+        /**
+         * The name of the phase.
+         */
+        String getName();
+
+        /**
+         * Count of times phase was executed.
+         */
+        long getCount();
+
+        /**
+         * Total time spent in phase, in nanoseconds.
+         */
+        long getTotalNanos();
+
+        /**
+         * Longest single execution of phase, in nanoseconds.
+         */
+        long getMaxNanos();
+
+        /**
+         * Count of artifacts (or nodes) processed by phase.
+         */
+        long getArtifacts();
+
+        /**
+         * Bytes of artifact files processed by phase, if known.
+         */
+        long getBytes();
+    }
+
+    /**
+     * Returns snapshot of metrics of all phases executed so far, ordered by phase name.
+     */
+    Map<String, Phase> getPhases();
+
+    /**
+     * Clears all the metrics.
+     */
+    void clear();
+
+    /**
+     * Returns the metrics as JSON object, keyed by phase name.
+     */
+    String toJson();
+}
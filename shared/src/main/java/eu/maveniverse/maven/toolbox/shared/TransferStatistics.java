@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared;
+
+import java.util.Map;
+
+/**
+ * Transfer statistics: per remote repository downloads, bytes, latencies and failures, and local repository cache
+ * hits vs misses, gathered for the lifetime of commando (or until {@link #clear()} is invoked).
+ */
+public interface TransferStatistics {
+    /**
+     * The key of local repository statistics in {@link #getStatistics()}, as cache hits are not related to any
+     * remote repository.
+     */
+    String LOCAL = "(local)";
+
+    /**
+     * Statistics of one repository.
+     */
+    interface RepositoryStatistics {
+        /**
+         * Repository ID, or {@link #LOCAL}.
+         */
+        String getRepositoryId();
+
+        /**
+         * Repository URL, if known.
+         */
+        String getRepositoryUrl();
+
+        /**
+         * Count of successful downloads.
+         */
+        long getDownloads();
+
+        /**
+         * Total bytes downloaded.
+         */
+        long getBytes();
+
+        /**
+         * Count of downloads that failed as resource was not found.
+         */
+        long getNotFound();
+
+        /**
+         * Count of downloads that failed for any other reason than resource was not found.
+         */
+        long getFailures();
+
+        /**
+         * Count of artifacts that were resolved from local repository, without download (cache hits).
+         */
+        long getCacheHits();
+
+        /**
+         * Count of artifacts that were resolved by downloading them from repository (cache misses).
+         */
+        long getCacheMisses();
+
+        /**
+         * Returns the download latency percentile in milliseconds (ie. {@code 0.5} for median), or {@code -1} if
+         * there were no downloads.
+         */
+        long getLatencyPercentile(double percentile);
+    }
+
+    /**
+     * Returns snapshot of statistics, keyed by repository ID, ordered by repository ID.
+     */
+    Map<String, RepositoryStatistics> getStatistics();
+
+    /**
+     * Clears all the statistics.
+     */
+    void clear();
+}
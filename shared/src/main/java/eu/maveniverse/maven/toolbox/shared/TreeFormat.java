@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Dependency tree output formats.
+ */
+public enum TreeFormat {
+    /**
+     * The indented text, as produced by Maven {@code dependency:tree}.
+     */
+    TEXT,
+    /**
+     * JSON document, with nodes nested as in tree.
+     */
+    JSON,
+    /**
+     * Graphviz DOT digraph.
+     */
+    DOT,
+    /**
+     * GraphML document.
+     */
+    GRAPHML;
+
+    public static TreeFormat parse(String value) throws IllegalArgumentException {
+        requireNonNull(value, "value");
+        try {
+            return TreeFormat.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "No such format; available formats are: " + Arrays.toString(TreeFormat.values()), e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access log of local repository: a repository listener that records when artifacts were resolved, as lines of form
+ * {@code <epoch millis> <GAV directory relative to local repository>}. Each GAV directory is recorded only once per
+ * listener instance, and lines are appended, so multiple processes may share the log. The log is compacted by
+ * eviction. Appends and compaction are done while holding a file lock (on a sibling {@code .lock} file), so records
+ * appended by concurrent processes are not lost by compaction.
+ */
+public final class AccessLog extends AbstractRepositoryListener {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Path basedir;
+    private final Path file;
+    private final Set<String> recorded;
+
+    public AccessLog(Path basedir, Path file) {
+        this.basedir = requireNonNull(basedir, "basedir").toAbsolutePath();
+        this.file = requireNonNull(file, "file");
+        this.recorded = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Returns the default access log file of given local repository.
+     */
+    public static Path defaultFile(Path basedir) {
+        return basedir.resolve(".toolbox").resolve("access.log");
+    }
+
+    @Override
+    public void artifactResolved(RepositoryEvent event) {
+        Artifact artifact = event.getArtifact();
+        if (artifact == null || artifact.getFile() == null) {
+            return;
+        }
+        Path directory = artifact.getFile().toPath().toAbsolutePath().getParent();
+        if (directory == null || !directory.startsWith(basedir)) {
+            return;
+        }
+        String relative = key(basedir.relativize(directory));
+        if (recorded.add(relative)) {
+            try {
+                append(System.currentTimeMillis() + " " + relative + "\n");
+            } catch (IOException e) {
+                logger.debug("Could not record access to {}", relative, e);
+            }
+        }
+    }
+
+    private void append(String line) throws IOException {
+        locked(
+                file,
+                () -> Files.write(
+                        file,
+                        line.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND));
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Runs action holding JVM and file lock of log. File lock is exclusive per JVM, hence same JVM is serialized.
+     */
+    private static void locked(Path file, IOAction action) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        synchronized (AccessLog.class) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    FileLock lock = channel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    /**
+     * Returns the key used in log for given relative directory.
+     */
+    public static String key(Path relative) {
+        return relative.toString().replace('\\', '/');
+    }
+
+    /**
+     * Reads access log into map of GAV directory (relative to local repository) to last access. Missing file results
+     * in empty map, malformed lines are ignored.
+     */
+    public static Map<String, Long> read(Path file) throws IOException {
+        requireNonNull(file, "file");
+        HashMap<String, Long> result = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    try {
+                        long millis = Long.parseLong(line.substring(0, space));
+                        result.merge(line.substring(space + 1), millis, Math::max);
+                    } catch (NumberFormatException e) {
+                        // ignore
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compacts access log: removes records of given GAV directories and of those no longer existing in local
+     * repository, and keeps only last access of others. Log is re-read while holding lock, so records appended
+     * concurrently are retained. Write is atomic, file is replaced only if log was fully written.
+     */
+    public static void compact(Path file, Path basedir, Set<String> removed) throws IOException {
+        requireNonNull(file, "file");
+        requireNonNull(basedir, "basedir");
+        requireNonNull(removed, "removed");
+        locked(file, () -> {
+            Map<String, Long> entries = read(file);
+            entries.keySet().removeIf(k -> removed.contains(k) || !Files.isDirectory(basedir.resolve(k)));
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                        writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+                    }
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        });
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
+import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.parallel.FileBasedScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Construction to accept collection of artifacts and write them into an archive file, without copying them out first.
+ * For zip, entries are deflated in parallel, and are assembled into archive on close. For tar.gz, tar stream is
+ * written as artifacts are accepted, and is gzip compressed in parallel in independent blocks (the result is a
+ * multi-member gzip file, that is valid gzip). Archive is written to a temporary file, that is moved in place on
+ * close, and zip entries are deflated into backing stores in a private scratch directory, so failed sink leaves
+ * nothing behind.
+ */
+public final class ArchiveSink implements ArtifactSink {
+    /**
+     * Creates zip archive sink, that accepts all artifacts and writes them having entry names according to supplied
+     * {@link ArtifactNameMapper}, and prevents overwrite.
+     */
+    public static ArchiveSink zip(Output output, Path file, ArtifactNameMapper artifactNameMapper, int parallelism)
+            throws IOException {
+        return new ArchiveSink(
+                output, file, Format.ZIP, ArtifactMatcher.unique(), a -> a, artifactNameMapper, parallelism);
+    }
+
+    /**
+     * Creates tar.gz archive sink, that accepts all artifacts and writes them having entry names according to
+     * supplied {@link ArtifactNameMapper}, and prevents overwrite.
+     */
+    public static ArchiveSink tgz(Output output, Path file, ArtifactNameMapper artifactNameMapper, int parallelism)
+            throws IOException {
+        return new ArchiveSink(
+                output, file, Format.TGZ, ArtifactMatcher.unique(), a -> a, artifactNameMapper, parallelism);
+    }
+
+    /**
+     * Archive format.
+     */
+    public enum Format {
+        ZIP,
+        TGZ
+    }
+
+    private final Output output;
+    private final Path file;
+    private final Path tmp;
+    private final Path scratch;
+    private final ConcurrentLinkedQueue<ScatterGatherBackingStore> backingStores;
+    private final Format format;
+    private final Predicate<Artifact> artifactMatcher;
+    private final Function<Artifact, Artifact> artifactMapper;
+    private final Function<Artifact, String> artifactNameMapper;
+    private final HashSet<String> writtenEntries;
+    private final ExecutorService executor;
+    private final ParallelScatterZipCreator zipCreator;
+    private final OutputStream tmpOutputStream;
+    private final TarArchiveOutputStream tarOutputStream;
+
+    /**
+     * Creates an archive sink.
+     *
+     * @param output The output.
+     * @param file The archive file, must not exist.
+     * @param format The archive format.
+     * @param artifactMatcher The matcher, that decides is this sink accepting artifact or not.
+     * @param artifactMapper The artifact mapper, that may re-map artifact.
+     * @param artifactNameMapper The artifact name mapper, that decides what entry name will be of the artifact.
+     * @param parallelism The count of threads used for compression.
+     * @throws IOException In case of IO problem.
+     */
+    private ArchiveSink(
+            Output output,
+            Path file,
+            Format format,
+            Predicate<Artifact> artifactMatcher,
+            Function<Artifact, Artifact> artifactMapper,
+            Function<Artifact, String> artifactNameMapper,
+            int parallelism)
+            throws IOException {
+        this.output = requireNonNull(output, "output");
+        this.file = requireNonNull(file, "file").toAbsolutePath();
+        this.format = requireNonNull(format, "format");
+        if (Files.exists(this.file)) {
+            throw new FileAlreadyExistsException(this.file.toString());
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.artifactMatcher = requireNonNull(artifactMatcher, "artifactMatcher");
+        this.artifactMapper = requireNonNull(artifactMapper, "artifactMapper");
+        this.artifactNameMapper = requireNonNull(artifactNameMapper, "artifactNameMapper");
+        this.writtenEntries = new HashSet<>();
+
+        Files.createDirectories(this.file.getParent());
+        this.tmp = Files.createTempFile(
+                this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+        this.backingStores = new ConcurrentLinkedQueue<>();
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        switch (format) {
+            case ZIP:
+                this.scratch = Files.createTempDirectory(
+                        this.file.getParent(), this.file.getFileName().toString() + ".");
+                this.zipCreator = new ParallelScatterZipCreator(
+                        executor,
+                        () -> {
+                            ScatterGatherBackingStore backingStore = new FileBasedScatterGatherBackingStore(
+                                    Files.createTempFile(scratch, "parallelscatter", ".tmp"));
+                            backingStores.add(backingStore);
+                            return backingStore;
+                        },
+                        Deflater.DEFAULT_COMPRESSION);
+                this.tmpOutputStream = null;
+                this.tarOutputStream = null;
+                break;
+            case TGZ:
+                this.scratch = null;
+                this.zipCreator = null;
+                this.tmpOutputStream = new BufferedOutputStream(Files.newOutputStream(tmp));
+                this.tarOutputStream = new TarArchiveOutputStream(
+                        new ParallelGzipOutputStream(tmpOutputStream, executor, parallelism * 2));
+                this.tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                this.tarOutputStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown format");
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void accept(Artifact artifact) throws IOException {
+        requireNonNull(artifact, "artifact");
+        output.verbose("Accept artifact {}", artifact);
+        if (artifactMatcher.test(artifact)) {
+            output.verbose("  matched");
+            String name = artifactNameMapper.apply(artifactMapper.apply(artifact));
+            output.verbose("  mapped to entry {}", name);
+            if (name.startsWith("/") || Arrays.asList(name.split("/")).contains("..")) {
+                throw new IOException("Path escape prevented; check mappings");
+            }
+            if (!writtenEntries.add(name)) {
+                throw new IOException("Overwrite prevented; check mappings");
+            }
+            Path source = artifact.getFile().toPath();
+            switch (format) {
+                case ZIP:
+                    ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
+                    zipEntry.setMethod(ZipEntry.DEFLATED);
+                    zipEntry.setLastModifiedTime(Files.getLastModifiedTime(source));
+                    zipCreator.addArchiveEntry(zipEntry, () -> {
+                        try {
+                            return Files.newInputStream(source);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    break;
+                case TGZ:
+                    TarArchiveEntry tarEntry = new TarArchiveEntry(name);
+                    tarEntry.setSize(Files.size(source));
+                    tarEntry.setModTime(Files.getLastModifiedTime(source));
+                    tarOutputStream.putArchiveEntry(tarEntry);
+                    Files.copy(source, tarOutputStream);
+                    tarOutputStream.closeArchiveEntry();
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown format");
+            }
+        } else {
+            output.verbose("  not matched");
+        }
+    }
+
+    @Override
+    public void cleanup(Exception e) {
+        output.error("Cleaning up: {}", file);
+        writtenEntries.clear();
+        try {
+            shutdown();
+        } catch (IOException ex) {
+            // ignore
+        }
+        try {
+            if (tmpOutputStream != null) {
+                tmpOutputStream.close();
+            }
+        } catch (IOException ex) {
+            // ignore
+        }
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!Files.exists(tmp)) {
+            return; // cleaned up
+        }
+        try {
+            switch (format) {
+                case ZIP:
+                    try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(tmp)) {
+                        zipCreator.writeTo(zipOutputStream);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted", e);
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof UncheckedIOException) {
+                            throw ((UncheckedIOException) e.getCause()).getCause();
+                        }
+                        throw new IOException(e.getCause());
+                    }
+                    break;
+                case TGZ:
+                    tarOutputStream.close();
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown format");
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            output.normal("  Archived {} artifacts into {}", writtenEntries.size(), file);
+        } finally {
+            try {
+                shutdown();
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /**
+     * Stops compression threads, and closes and removes zip backing stores along with their scratch directory.
+     */
+    private void shutdown() throws IOException {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                output.error("Compression threads did not stop");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ScatterGatherBackingStore backingStore;
+        while ((backingStore = backingStores.poll()) != null) {
+            backingStore.close();
+        }
+        if (scratch != null && Files.isDirectory(scratch)) {
+            try (Stream<Path> files = Files.list(scratch)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            Files.deleteIfExists(scratch);
+        }
+    }
+
+    /**
+     * Output stream that gzip compresses blocks of data in parallel, each as an independent gzip member, and writes
+     * them out in order. The count of blocks being compressed is bounded.
+     */
+    private static final class ParallelGzipOutputStream extends OutputStream {
+        private static final int BLOCK_SIZE = 1024 * 1024;
+
+        private final OutputStream out;
+        private final ExecutorService executor;
+        private final int maxInFlight;
+        private final ArrayDeque<Future<byte[]>> inFlight;
+        private byte[] block;
+        private int count;
+
+        private ParallelGzipOutputStream(OutputStream out, ExecutorService executor, int maxInFlight) {
+            this.out = out;
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.inFlight = new ArrayDeque<>();
+            this.block = new byte[BLOCK_SIZE];
+            this.count = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            block[count++] = (byte) b;
+            if (count == block.length) {
+                submit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int chunk = Math.min(len, block.length - count);
+                System.arraycopy(b, off, block, count, chunk);
+                count += chunk;
+                off += chunk;
+                len -= chunk;
+                if (count == block.length) {
+                    submit();
+                }
+            }
+        }
+
+        private void submit() throws IOException {
+            byte[] data = block;
+            int length = count;
+            inFlight.add(executor.submit(() -> {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(data, 0, length);
+                }
+                return compressed.toByteArray();
+            }));
+            block = new byte[BLOCK_SIZE];
+            count = 0;
+            while (inFlight.size() > maxInFlight) {
+                drainOne();
+            }
+        }
+
+        private void drainOne() throws IOException {
+            try {
+                out.write(inFlight.remove().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (count > 0) {
+                submit();
+            }
+            while (!inFlight.isEmpty()) {
+                drainOne();
+            }
+            out.close();
+        }
+    }
+}
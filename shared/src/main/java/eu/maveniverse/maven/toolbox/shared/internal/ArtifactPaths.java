@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Utility to parse paths laid out in "repository layout" (like local repository or a file based remote repository
+ * is) back into {@link Artifact} instances.
+ */
+public final class ArtifactPaths {
+    private ArtifactPaths() {}
+
+    private static final Pattern SNAPSHOT_TIMESTAMP = Pattern.compile("^(\\d{8}\\.\\d{6}-\\d+)");
+
+    /**
+     * Returns {@code true} if file name denotes some repository "housekeeping" file, that is not an artifact, like
+     * checksums, metadata or resolver tracking files are.
+     */
+    public static boolean isHousekeeping(String fileName) {
+        requireNonNull(fileName, "fileName");
+        return fileName.startsWith("_")
+                || fileName.startsWith(".")
+                || fileName.startsWith("maven-metadata")
+                || fileName.equals("resolver-status.properties")
+                || fileName.endsWith(".lastUpdated")
+                || fileName.endsWith(".sha1")
+                || fileName.endsWith(".md5")
+                || fileName.endsWith(".sha256")
+                || fileName.endsWith(".sha512")
+                || fileName.endsWith(".part")
+                || fileName.endsWith(".lock");
+    }
+
+    /**
+     * Parses passed in file (that must reside within passed in basedir) into artifact, if possible. Returns
+     * {@code null} if file does not look like an artifact. The returned artifact has file set.
+     */
+    public static Artifact toArtifact(Path basedir, Path file) {
+        requireNonNull(basedir, "basedir");
+        requireNonNull(file, "file");
+        Path relative = basedir.relativize(file);
+        int count = relative.getNameCount();
+        if (count < 4) {
+            return null;
+        }
+        String fileName = relative.getName(count - 1).toString();
+        if (isHousekeeping(fileName)) {
+            return null;
+        }
+        String version = relative.getName(count - 2).toString();
+        String artifactId = relative.getName(count - 3).toString();
+        StringBuilder groupId = new StringBuilder();
+        for (int i = 0; i < count - 3; i++) {
+            if (i > 0) {
+                groupId.append('.');
+            }
+            groupId.append(relative.getName(i).toString());
+        }
+
+        String prefix = artifactId + "-";
+        if (!fileName.startsWith(prefix)) {
+            return null;
+        }
+        String rest = fileName.substring(prefix.length());
+        String fileVersion;
+        if (rest.startsWith(version)) {
+            fileVersion = version;
+        } else if (version.endsWith("-SNAPSHOT")) {
+            String base = version.substring(0, version.length() - "SNAPSHOT".length());
+            if (!rest.startsWith(base)) {
+                return null;
+            }
+            Matcher matcher = SNAPSHOT_TIMESTAMP.matcher(rest.substring(base.length()));
+            if (!matcher.find()) {
+                return null;
+            }
+            fileVersion = base + matcher.group(1);
+        } else {
+            return null;
+        }
+
+        String tail = rest.substring(fileVersion.length());
+        String classifier;
+        String extension;
+        if (tail.startsWith("-")) {
+            int dot = tail.indexOf('.');
+            if (dot < 2 || dot == tail.length() - 1) {
+                return null;
+            }
+            classifier = tail.substring(1, dot);
+            extension = tail.substring(dot + 1);
+        } else if (tail.startsWith(".") && tail.length() > 1) {
+            classifier = "";
+            extension = tail.substring(1);
+        } else {
+            return null;
+        }
+        return new DefaultArtifact(groupId.toString(), artifactId, classifier, extension, fileVersion)
+                .setFile(file.toFile());
+    }
+}
@@ -15,6 +15,9 @@ import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
 import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
 import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
 import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxMetrics;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.SinkAcceptEvent;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.SinkCloseEvent;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
@@ -64,6 +67,9 @@ public final class ArtifactSinks {
         public boolean visitEnter(SpecParser.Node node) {
             return super.visitEnter(node)
                     && !"flat".equals(node.getValue())
+                    && !"cas".equals(node.getValue())
+                    && !"zip".equals(node.getValue())
+                    && !"tgz".equals(node.getValue())
                     && !"matching".equals(node.getValue())
                     && !"mapping".equals(node.getValue())
                     && !"unpack".equals(node.getValue());
@@ -119,6 +125,75 @@ public final class ArtifactSinks {
                     }
                     break;
                 }
+                case "cas": {
+                    try {
+                        ArtifactNameMapper p1;
+                        Path p0;
+                        if (node.getChildren().size() == 2) {
+                            ArtifactNameMapper.ArtifactNameMapperBuilder mapperBuilder =
+                                    new ArtifactNameMapper.ArtifactNameMapperBuilder(properties);
+                            node.getChildren().get(1).accept(mapperBuilder);
+                            p1 = mapperBuilder.build();
+                            p0 = tc.getContext()
+                                    .basedir()
+                                    .resolve(node.getChildren().get(0).getValue());
+                        } else if (node.getChildren().size() == 1) {
+                            p1 = ArtifactNameMapper.AbVCE();
+                            p0 = tc.getContext()
+                                    .basedir()
+                                    .resolve(node.getChildren().get(0).getValue());
+                        } else {
+                            throw new IllegalArgumentException("op cas accepts only 1..2 argument");
+                        }
+                        params.add(DirectorySink.casFlat(output, p0, p1, tc.getContentAddressableStore()));
+                        node.getChildren().clear();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "casRepository": {
+                    try {
+                        Path p0 = tc.getContext().basedir().resolve(stringParam(node.getValue()));
+                        params.add(DirectorySink.casRepository(output, p0, tc.getContentAddressableStore()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "zip":
+                case "tgz": {
+                    try {
+                        ArtifactNameMapper p1;
+                        Path p0;
+                        if (node.getChildren().size() == 2) {
+                            ArtifactNameMapper.ArtifactNameMapperBuilder mapperBuilder =
+                                    new ArtifactNameMapper.ArtifactNameMapperBuilder(properties);
+                            node.getChildren().get(1).accept(mapperBuilder);
+                            p1 = mapperBuilder.build();
+                            p0 = tc.getContext()
+                                    .basedir()
+                                    .resolve(node.getChildren().get(0).getValue());
+                        } else if (node.getChildren().size() == 1) {
+                            p1 = ArtifactNameMapper.AbVCE();
+                            p0 = tc.getContext()
+                                    .basedir()
+                                    .resolve(node.getChildren().get(0).getValue());
+                        } else {
+                            throw new IllegalArgumentException("op " + node.getValue() + " accepts only 1..2 argument");
+                        }
+                        int parallelism = ToolboxCommandoImpl.parallelism(
+                                tc.getToolboxResolver().getSession());
+                        params.add(
+                                "zip".equals(node.getValue())
+                                        ? ArchiveSink.zip(output, p0, p1, parallelism)
+                                        : ArchiveSink.tgz(output, p0, p1, parallelism));
+                        node.getChildren().clear();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
                 case "repository": {
                     try {
                         Path p0 = tc.getContext().basedir().resolve(stringParam(node.getValue()));
@@ -225,6 +300,13 @@ public final class ArtifactSinks {
                     node.getChildren().clear();
                     break;
                 }
+                case "verify": {
+                    params.add(VerifyingSink.verifying(
+                            output,
+                            ToolboxCommandoImpl.parallelism(
+                                    tc.getToolboxResolver().getSession())));
+                    break;
+                }
                 case "moduleDescriptor": {
                     params.add(new ModuleDescriptorExtractingSink(output));
                     break;
@@ -383,6 +465,84 @@ public final class ArtifactSinks {
         }
     }
 
+    /**
+     * Creates a delegating sink that records {@link ToolboxMetrics#SINK_ACCEPT} and {@link ToolboxMetrics#SINK_CLOSE}
+     * metrics of delegate, and emits corresponding JFR events.
+     */
+    public static MeteringArtifactSink meteringArtifactSink(ToolboxMetricsImpl metrics, ArtifactSink delegate) {
+        requireNonNull(metrics, "metrics");
+        requireNonNull(delegate, "delegate");
+        return new MeteringArtifactSink(metrics, delegate);
+    }
+
+    public static class MeteringArtifactSink extends DelegatingArtifactSink {
+        private final ToolboxMetricsImpl metrics;
+        private final String sink;
+
+        private MeteringArtifactSink(ToolboxMetricsImpl metrics, ArtifactSink delegate) {
+            super(delegate);
+            this.metrics = metrics;
+            this.sink = delegate.getClass().getName();
+        }
+
+        /**
+         * Accepts artifacts one by one, emitting event per artifact, while metric is recorded for whole collection. On
+         * failure, sink is cleaned up, as {@link ArtifactSink#accept(Collection)} does.
+         */
+        @Override
+        public void accept(Collection<Artifact> artifacts) throws IOException {
+            requireNonNull(artifacts, "artifacts");
+            long start = System.nanoTime();
+            long bytes = 0;
+            try {
+                for (Artifact artifact : artifacts) {
+                    bytes += acceptAndEmit(artifact);
+                }
+            } catch (Exception e) {
+                cleanup(e);
+                throw e;
+            }
+            metrics.record(ToolboxMetrics.SINK_ACCEPT, start, artifacts.size(), bytes);
+        }
+
+        @Override
+        public void accept(Artifact artifact) throws IOException {
+            long start = System.nanoTime();
+            long bytes = acceptAndEmit(artifact);
+            metrics.record(ToolboxMetrics.SINK_ACCEPT, start, 1, bytes);
+        }
+
+        private long acceptAndEmit(Artifact artifact) throws IOException {
+            SinkAcceptEvent event = new SinkAcceptEvent();
+            event.begin();
+            super.accept(artifact);
+            event.end();
+            long bytes = ToolboxMetricsImpl.bytes(artifact);
+            if (event.shouldCommit()) {
+                event.sink = sink;
+                event.artifact = artifact.toString();
+                event.artifacts = 1;
+                event.bytes = bytes;
+                event.commit();
+            }
+            return bytes;
+        }
+
+        @Override
+        public void close() throws Exception {
+            long start = System.nanoTime();
+            SinkCloseEvent event = new SinkCloseEvent();
+            event.begin();
+            super.close();
+            event.end();
+            metrics.record(ToolboxMetrics.SINK_CLOSE, start, 0, 0);
+            if (event.shouldCommit()) {
+                event.sink = sink;
+                event.commit();
+            }
+        }
+    }
+
     /**
      * Creates a counting sink, that simply counts all the accepted artifacts.
      */
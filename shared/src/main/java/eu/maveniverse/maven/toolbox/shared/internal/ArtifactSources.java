@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.toolbox.shared.ArtifactMapper;
+import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSource;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.search.api.Record;
+import org.apache.maven.search.api.SearchBackend;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * Various utility source implementations.
+ */
+public final class ArtifactSources {
+    private ArtifactSources() {}
+
+    public static ArtifactSource build(Map<String, ?> properties, Output output, ToolboxCommandoImpl tc, String spec) {
+        requireNonNull(properties, "properties");
+        requireNonNull(output, "output");
+        requireNonNull(tc, "tc");
+        requireNonNull(spec, "spec");
+        ArtifactSourceBuilder builder = new ArtifactSourceBuilder(properties, output, tc);
+        SpecParser.parse(spec).accept(builder);
+        return builder.build();
+    }
+
+    static class ArtifactSourceBuilder extends SpecParser.Builder {
+        private final Output output;
+        private final ToolboxCommandoImpl tc;
+
+        public ArtifactSourceBuilder(Map<String, ?> properties, Output output, ToolboxCommandoImpl tc) {
+            super(properties);
+            this.output = output;
+            this.tc = tc;
+        }
+
+        @Override
+        public boolean visitEnter(SpecParser.Node node) {
+            return super.visitEnter(node) && !"matching".equals(node.getValue()) && !"mapping".equals(node.getValue());
+        }
+
+        @Override
+        protected void processOp(SpecParser.Node node) {
+            switch (node.getValue()) {
+                case "index": {
+                    try {
+                        Path p0 = tc.getContext().basedir().resolve(stringParam(node.getValue()));
+                        params.add(indexFileArtifactSource(p0));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "repository": {
+                    Path p0;
+                    if (node.getChildren().isEmpty()) {
+                        p0 = tc.getContext()
+                                .repositorySystemSession()
+                                .getLocalRepository()
+                                .getBasedir()
+                                .toPath();
+                    } else if (node.getChildren().size() == 1) {
+                        p0 = tc.getContext().basedir().resolve(stringParam(node.getValue()));
+                    } else {
+                        throw new IllegalArgumentException("op repository accepts only 0..1 argument");
+                    }
+                    try {
+                        params.add(directoryArtifactSource(p0));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "recorded": {
+                    params.add(iterableArtifactSource(tc.getArtifactRecorder().getAllArtifacts()));
+                    break;
+                }
+                case "lockfile": {
+                    try {
+                        Path p0 = tc.getContext().basedir().resolve(stringParam(node.getValue()));
+                        params.add(iterableArtifactSource(Lockfile.read(p0).getEntries().stream()
+                                .map(Lockfile.Entry::getArtifact)
+                                .collect(Collectors.toList())));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "search": {
+                    String expression;
+                    String repositoryId;
+                    if (node.getChildren().size() == 1) {
+                        expression = stringParam(node.getValue());
+                        repositoryId = ContextOverrides.CENTRAL.getId();
+                    } else if (node.getChildren().size() == 2) {
+                        repositoryId = stringParam(node.getValue());
+                        expression = stringParam(node.getValue());
+                    } else {
+                        throw new IllegalArgumentException("op search accepts only 1..2 argument");
+                    }
+                    RemoteRepository remoteRepository =
+                            tc.getKnownSearchRemoteRepositories().get(repositoryId);
+                    if (remoteRepository == null) {
+                        throw new IllegalArgumentException("unknown search repository " + repositoryId);
+                    }
+                    try {
+                        params.add(searchArtifactSource(
+                                tc.getToolboxSearchApi(),
+                                tc.getToolboxSearchApi().getSmoBackend(remoteRepository),
+                                expression));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    break;
+                }
+                case "resolving": {
+                    params.add(resolvingArtifactSource(
+                            output, tc.getToolboxResolver(), artifactSourceParam(node.getValue())));
+                    break;
+                }
+                case "concat": {
+                    List<ArtifactSource> sources = artifactSourceParams(node.getValue());
+                    Collections.reverse(sources);
+                    params.add(concatArtifactSource(sources));
+                    break;
+                }
+                case "matching": {
+                    if (node.getChildren().size() != 2) {
+                        throw new IllegalArgumentException("op matching accepts only 2 argument");
+                    }
+                    ArtifactMatcher.ArtifactMatcherBuilder matcherBuilder =
+                            new ArtifactMatcher.ArtifactMatcherBuilder(properties);
+                    node.getChildren().get(0).accept(matcherBuilder);
+                    ArtifactMatcher matcher = matcherBuilder.build();
+                    ArtifactSourceBuilder sourceBuilder = new ArtifactSourceBuilder(properties, output, tc);
+                    node.getChildren().get(1).accept(sourceBuilder);
+                    ArtifactSource delegate = sourceBuilder.build();
+                    params.add(matchingArtifactSource(matcher, delegate));
+                    node.getChildren().clear();
+                    break;
+                }
+                case "mapping": {
+                    if (node.getChildren().size() != 2) {
+                        throw new IllegalArgumentException("op mapping accepts only 2 argument");
+                    }
+                    ArtifactMapper.ArtifactMapperBuilder mapperBuilder =
+                            new ArtifactMapper.ArtifactMapperBuilder(properties);
+                    node.getChildren().get(0).accept(mapperBuilder);
+                    ArtifactMapper mapper = mapperBuilder.build();
+                    ArtifactSourceBuilder sourceBuilder = new ArtifactSourceBuilder(properties, output, tc);
+                    node.getChildren().get(1).accept(sourceBuilder);
+                    ArtifactSource delegate = sourceBuilder.build();
+                    params.add(mappingArtifactSource(mapper, delegate));
+                    node.getChildren().clear();
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("unknown op " + node.getValue());
+            }
+        }
+
+        private ArtifactSource artifactSourceParam(String op) {
+            if (params.isEmpty()) {
+                throw new IllegalArgumentException("bad parameter count for " + op);
+            }
+            return (ArtifactSource) params.remove(params.size() - 1);
+        }
+
+        private List<ArtifactSource> artifactSourceParams(String op) {
+            ArrayList<ArtifactSource> result = new ArrayList<>();
+            while (!params.isEmpty()) {
+                if (params.get(params.size() - 1) instanceof ArtifactSource) {
+                    result.add(artifactSourceParam(op));
+                } else {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        public ArtifactSource build() {
+            if (params.size() != 1) {
+                throw new IllegalArgumentException("bad spec");
+            }
+            return (ArtifactSource) params.get(0);
+        }
+    }
+
+    /**
+     * Creates a source out of given artifacts, usable when artifacts are already in memory.
+     */
+    public static IterableArtifactSource iterableArtifactSource(Iterable<Artifact> artifacts) {
+        requireNonNull(artifacts, "artifacts");
+        return new IterableArtifactSource(artifacts.iterator());
+    }
+
+    public static class IterableArtifactSource implements ArtifactSource {
+        private final Iterator<Artifact> artifacts;
+
+        private IterableArtifactSource(Iterator<Artifact> artifacts) {
+            this.artifacts = artifacts;
+        }
+
+        @Override
+        public Artifact next() {
+            return artifacts.hasNext() ? artifacts.next() : null;
+        }
+    }
+
+    /**
+     * Creates a source reading "index file", that is a file having GAV per line, like {@link IndexFileSink} writes.
+     * Empty lines and lines starting with {@code #} are skipped. File is read lazily.
+     */
+    public static IndexFileArtifactSource indexFileArtifactSource(Path file) throws IOException {
+        requireNonNull(file, "file");
+        return new IndexFileArtifactSource(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    public static class IndexFileArtifactSource implements ArtifactSource {
+        private final BufferedReader reader;
+
+        private IndexFileArtifactSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    return new DefaultArtifact(line);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Creates a source walking a directory laid out as repository (like local repository is), producing artifacts
+     * with files set. Directory is walked lazily, depth first, so only the currently walked path is held in memory.
+     */
+    public static DirectoryArtifactSource directoryArtifactSource(Path basedir) throws IOException {
+        requireNonNull(basedir, "basedir");
+        if (!Files.isDirectory(basedir)) {
+            throw new IllegalArgumentException("not a directory: " + basedir);
+        }
+        return new DirectoryArtifactSource(basedir, Files.walk(basedir));
+    }
+
+    public static class DirectoryArtifactSource implements ArtifactSource {
+        private final Stream<Path> stream;
+        private final Iterator<Artifact> artifacts;
+
+        private DirectoryArtifactSource(Path basedir, Stream<Path> stream) {
+            this.stream = stream;
+            this.artifacts = stream.filter(Files::isRegularFile)
+                    .map(f -> ArtifactPaths.toArtifact(basedir, f))
+                    .filter(Objects::nonNull)
+                    .iterator();
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            try {
+                return artifacts.hasNext() ? artifacts.next() : null;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+
+    /**
+     * Creates a source producing results of search expression (see {@link ToolboxSearchApiImpl#toSmoQuery(String)})
+     * against given backend. Only one page of results is held in memory, next page is fetched when needed. Backend
+     * is closed when this source is closed.
+     */
+    public static SearchArtifactSource searchArtifactSource(
+            ToolboxSearchApiImpl toolboxSearchApi, SearchBackend backend, String expression) {
+        requireNonNull(toolboxSearchApi, "toolboxSearchApi");
+        requireNonNull(backend, "backend");
+        requireNonNull(expression, "expression");
+        return new SearchArtifactSource(toolboxSearchApi, backend, expression);
+    }
+
+    public static class SearchArtifactSource implements ArtifactSource {
+        private final ToolboxSearchApiImpl toolboxSearchApi;
+        private final SearchBackend backend;
+        private final String expression;
+        private SearchResponse response;
+        private Iterator<Record> page;
+
+        private SearchArtifactSource(ToolboxSearchApiImpl toolboxSearchApi, SearchBackend backend, String expression) {
+            this.toolboxSearchApi = toolboxSearchApi;
+            this.backend = backend;
+            this.expression = expression;
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            while (true) {
+                if (page != null && page.hasNext()) {
+                    Artifact artifact = toolboxSearchApi.toArtifact(page.next());
+                    if (artifact != null) {
+                        return artifact;
+                    }
+                    continue;
+                }
+                if (response == null) {
+                    response = backend.search(new SearchRequest(toolboxSearchApi.toSmoQuery(expression)));
+                } else if (response.getCurrentHits() > 0) {
+                    response = backend.search(response.getSearchRequest().nextPage());
+                } else {
+                    return null;
+                }
+                if (response.getCurrentHits() == 0) {
+                    return null;
+                }
+                page = response.getPage().iterator();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            backend.close();
+        }
+    }
+
+    /**
+     * Creates a source that resolves artifacts of delegate, in batches of {@link ResolvingArtifactSource#BATCH_SIZE}
+     * artifacts. Artifacts that cannot be resolved are reported and skipped.
+     */
+    public static ResolvingArtifactSource resolvingArtifactSource(
+            Output output, ToolboxResolverImpl toolboxResolver, ArtifactSource delegate) {
+        requireNonNull(output, "output");
+        requireNonNull(toolboxResolver, "toolboxResolver");
+        requireNonNull(delegate, "delegate");
+        return new ResolvingArtifactSource(output, toolboxResolver, delegate);
+    }
+
+    public static class ResolvingArtifactSource extends DelegatingArtifactSource {
+        /**
+         * The count of artifacts resolved in one batch.
+         */
+        public static final int BATCH_SIZE = 100;
+
+        private final Output output;
+        private final ToolboxResolverImpl toolboxResolver;
+        private Iterator<Artifact> batch = Collections.emptyIterator();
+
+        private ResolvingArtifactSource(Output output, ToolboxResolverImpl toolboxResolver, ArtifactSource delegate) {
+            super(delegate);
+            this.output = output;
+            this.toolboxResolver = toolboxResolver;
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            while (!batch.hasNext()) {
+                ArrayList<Artifact> artifacts = new ArrayList<>(BATCH_SIZE);
+                Artifact artifact;
+                while (artifacts.size() < BATCH_SIZE && (artifact = super.next()) != null) {
+                    artifacts.add(artifact);
+                }
+                if (artifacts.isEmpty()) {
+                    return null;
+                }
+                List<ArtifactResult> results;
+                try {
+                    results = toolboxResolver.resolveArtifacts(artifacts);
+                } catch (ArtifactResolutionException e) {
+                    results = e.getResults();
+                }
+                ArrayList<Artifact> resolved = new ArrayList<>(results.size());
+                for (ArtifactResult result : results) {
+                    if (result.isResolved()) {
+                        resolved.add(result.getArtifact());
+                    } else {
+                        output.warn("Could not resolve {}", result.getRequest().getArtifact());
+                    }
+                }
+                batch = resolved.iterator();
+            }
+            return batch.next();
+        }
+    }
+
+    public abstract static class DelegatingArtifactSource implements ArtifactSource {
+        private final ArtifactSource delegate;
+
+        public DelegatingArtifactSource(final ArtifactSource delegate) {
+            this.delegate = requireNonNull(delegate, "delegate");
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            return delegate.next();
+        }
+
+        @Override
+        public void close() throws Exception {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Creates a delegating source that produces only matched artifacts of delegate.
+     */
+    public static MatchingArtifactSource matchingArtifactSource(
+            Predicate<Artifact> artifactMatcher, ArtifactSource delegate) {
+        requireNonNull(artifactMatcher, "artifactMatcher");
+        requireNonNull(delegate, "delegate");
+        return new MatchingArtifactSource(artifactMatcher, delegate);
+    }
+
+    public static class MatchingArtifactSource extends DelegatingArtifactSource {
+        private final Predicate<Artifact> artifactMatcher;
+
+        private MatchingArtifactSource(Predicate<Artifact> artifactMatcher, ArtifactSource delegate) {
+            super(delegate);
+            this.artifactMatcher = artifactMatcher;
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            Artifact artifact;
+            while ((artifact = super.next()) != null) {
+                if (artifactMatcher.test(artifact)) {
+                    return artifact;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates a delegating source that produces mapped artifacts of delegate.
+     */
+    public static MappingArtifactSource mappingArtifactSource(
+            Function<Artifact, Artifact> artifactMapper, ArtifactSource delegate) {
+        requireNonNull(artifactMapper, "artifactMapper");
+        requireNonNull(delegate, "delegate");
+        return new MappingArtifactSource(artifactMapper, delegate);
+    }
+
+    public static class MappingArtifactSource extends DelegatingArtifactSource {
+        private final Function<Artifact, Artifact> artifactMapper;
+
+        private MappingArtifactSource(Function<Artifact, Artifact> artifactMapper, ArtifactSource delegate) {
+            super(delegate);
+            this.artifactMapper = artifactMapper;
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            Artifact artifact = super.next();
+            return artifact != null ? artifactMapper.apply(artifact) : null;
+        }
+    }
+
+    /**
+     * Creates a source that produces artifacts of supplied sources, one after another.
+     */
+    public static ConcatArtifactSource concatArtifactSource(ArtifactSource... artifactSources) {
+        return concatArtifactSource(Arrays.asList(artifactSources));
+    }
+
+    /**
+     * Creates a source that produces artifacts of supplied sources, one after another.
+     */
+    public static ConcatArtifactSource concatArtifactSource(Collection<? extends ArtifactSource> artifactSources) {
+        requireNonNull(artifactSources, "artifactSources");
+        return new ConcatArtifactSource(artifactSources);
+    }
+
+    public static class ConcatArtifactSource implements ArtifactSource {
+        private final List<ArtifactSource> artifactSources;
+        private int current;
+
+        private ConcatArtifactSource(Collection<? extends ArtifactSource> artifactSources) {
+            this.artifactSources = Collections.unmodifiableList(new ArrayList<>(artifactSources));
+        }
+
+        @Override
+        public Artifact next() throws IOException {
+            while (current < artifactSources.size()) {
+                Artifact artifact = artifactSources.get(current).next();
+                if (artifact != null) {
+                    return artifact;
+                }
+                current++;
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws Exception {
+            for (ArtifactSource source : artifactSources) {
+                source.close();
+            }
+        }
+    }
+}
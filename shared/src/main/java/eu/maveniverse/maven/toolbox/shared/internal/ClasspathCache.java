@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
+import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.version.VersionConstraint;
+
+/**
+ * On-disk cache of resolved classpath, keyed by resolution root (artifact, dependencies, dependency management),
+ * resolution scope and remote repositories. Only immutable inputs are cached: roots that are snapshots or have
+ * dependencies with version ranges or meta versions are not. Cached entries are considered valid as long as all
+ * the files they list exist.
+ */
+public final class ClasspathCache {
+    private final Path directory;
+
+    public ClasspathCache(Path directory) {
+        this.directory = requireNonNull(directory, "directory");
+    }
+
+    /**
+     * Returns the cache key for given inputs, or {@code null} if inputs are not cacheable.
+     */
+    public String key(
+            ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, List<RemoteRepository> remoteRepositories) {
+        requireNonNull(resolutionScope, "resolutionScope");
+        requireNonNull(resolutionRoot, "resolutionRoot");
+        requireNonNull(remoteRepositories, "remoteRepositories");
+        if (!isImmutable(resolutionRoot.getArtifact())) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("scope=").append(resolutionScope.name()).append('\n');
+        sb.append("root=")
+                .append(resolutionRoot.getArtifact())
+                .append(resolutionRoot.isLoad() ? " load" : "")
+                .append('\n');
+        if (!appendDependencies(sb, "dependency=", resolutionRoot.getDependencies())
+                || !appendDependencies(sb, "managed=", resolutionRoot.getManagedDependencies())) {
+            return null;
+        }
+        for (RemoteRepository repository : remoteRepositories) {
+            sb.append("repository=")
+                    .append(repository.getId())
+                    .append(' ')
+                    .append(repository.getContentType())
+                    .append(' ')
+                    .append(repository.getUrl())
+                    .append('\n');
+        }
+        try {
+            return ChecksumUtils.toHexString(
+                    MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns {@code true} if resolved graph is cacheable, that is, no snapshot, version range or meta version
+     * ({@code LATEST} or {@code RELEASE}) was used anywhere in it.
+     */
+    public boolean isCacheable(DependencyNode root) {
+        requireNonNull(root, "root");
+        boolean[] cacheable = {true};
+        root.accept(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                if (node.getArtifact() != null && node.getArtifact().isSnapshot()) {
+                    cacheable[0] = false;
+                }
+                VersionConstraint constraint = node.getVersionConstraint();
+                if (constraint != null) {
+                    if (constraint.getRange() != null) {
+                        cacheable[0] = false;
+                    } else if (constraint.getVersion() != null) {
+                        String version = constraint.getVersion().toString();
+                        if ("LATEST".equals(version) || "RELEASE".equals(version)) {
+                            cacheable[0] = false;
+                        }
+                    }
+                }
+                return cacheable[0];
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return cacheable[0];
+            }
+        });
+        return cacheable[0];
+    }
+
+    /**
+     * Returns cached classpath for given key, or {@code null} if not cached or any of the files does not exist.
+     */
+    public List<File> get(String key) throws IOException {
+        requireNonNull(key, "key");
+        Path entry = directory.resolve(key);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        ArrayList<File> files = new ArrayList<>();
+        for (String line : Files.readAllLines(entry, StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            File file = new File(line);
+            if (!file.isFile()) {
+                Files.deleteIfExists(entry);
+                return null;
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Stores classpath for given key.
+     */
+    public void put(String key, List<File> files) throws IOException {
+        requireNonNull(key, "key");
+        requireNonNull(files, "files");
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.write(
+                    tmp,
+                    files.stream().map(File::getAbsolutePath).collect(Collectors.toList()),
+                    StandardCharsets.UTF_8);
+            Files.move(
+                    tmp, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static boolean appendDependencies(StringBuilder sb, String prefix, List<Dependency> dependencies) {
+        if (dependencies == null) {
+            return true;
+        }
+        for (Dependency dependency : dependencies) {
+            if (!isImmutable(dependency.getArtifact())) {
+                return false;
+            }
+            sb.append(prefix)
+                    .append(dependency.getArtifact())
+                    .append(' ')
+                    .append(dependency.getScope())
+                    .append(' ')
+                    .append(dependency.getOptional());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                sb.append(' ').append(exclusion);
+            }
+            sb.append('\n');
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Artifact artifact) {
+        String version = artifact.getVersion();
+        return !artifact.isSnapshot()
+                && !version.isEmpty()
+                && !version.startsWith("[")
+                && !version.startsWith("(")
+                && !"LATEST".equals(version)
+                && !"RELEASE".equals(version);
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Content addressable store of files: each unique file content is stored once, under its SHA-256, in
+ * {@code objects/<first two hex digits>/<rest of hex digits>}. Users of store (like {@link DirectorySink} in
+ * {@link DirectorySink.Mode#CAS} mode) materialize layouts out of stored objects by hard links, and record references
+ * in {@code refs}: one file per layout root, having the root path on first line, followed by lines of form
+ * {@code <sha256> <path relative to root>}. Objects no longer
+ * referenced by any layout (root is gone, file is gone or is not a link of object anymore) are removed by
+ * {@link #gc(boolean)}. As objects share content with linked files, linked files must not be modified in place: objects
+ * are made read-only when stored, and garbage collection verifies referenced objects and removes those whose content
+ * no longer matches their SHA-256. Garbage collection must not run concurrently with layouts being materialized.
+ */
+public final class ContentAddressableStore {
+    /**
+     * Result of garbage collection.
+     */
+    public static final class GcResult {
+        private final long objects;
+        private final long removedObjects;
+        private final long removedBytes;
+        private final long removedRefs;
+        private final long corruptedObjects;
+
+        private GcResult(
+                long objects, long removedObjects, long removedBytes, long removedRefs, long corruptedObjects) {
+            this.objects = objects;
+            this.removedObjects = removedObjects;
+            this.removedBytes = removedBytes;
+            this.removedRefs = removedRefs;
+            this.corruptedObjects = corruptedObjects;
+        }
+
+        /**
+         * The count of objects in store, before collection.
+         */
+        public long getObjects() {
+            return objects;
+        }
+
+        /**
+         * The count of unreferenced and corrupted objects removed (or would be removed in dry run).
+         */
+        public long getRemovedObjects() {
+            return removedObjects;
+        }
+
+        /**
+         * The size of unreferenced and corrupted objects removed (or would be removed in dry run).
+         */
+        public long getRemovedBytes() {
+            return removedBytes;
+        }
+
+        /**
+         * The count of references of layouts no longer existing removed (or would be removed in dry run).
+         */
+        public long getRemovedRefs() {
+            return removedRefs;
+        }
+
+        /**
+         * The count of referenced objects whose content no longer matches their SHA-256, removed (or would be removed
+         * in dry run). Layout files linked to them have the same corrupted content.
+         */
+        public long getCorruptedObjects() {
+            return corruptedObjects;
+        }
+    }
+
+    private final Path basedir;
+    private final Path objects;
+    private final Path refs;
+
+    public ContentAddressableStore(Path basedir) {
+        this.basedir = requireNonNull(basedir, "basedir").toAbsolutePath();
+        this.objects = this.basedir.resolve("objects");
+        this.refs = this.basedir.resolve("refs");
+    }
+
+    public Path getBasedir() {
+        return basedir;
+    }
+
+    /**
+     * Returns path of object having given SHA-256.
+     */
+    public Path object(String sha256) {
+        requireNonNull(sha256, "sha256");
+        return objects.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2));
+    }
+
+    /**
+     * Stores content of given file, if not stored already, and returns its SHA-256. The file is hashed first, and is
+     * copied into store only if object does not exist yet; the copy is hashed again while copied, so the object
+     * always matches its SHA-256. Stored objects are read-only.
+     */
+    public String store(Path file) throws IOException {
+        requireNonNull(file, "file");
+        String existing = hash(file);
+        if (Files.isRegularFile(object(existing))) {
+            return existing;
+        }
+
+        Files.createDirectories(objects);
+        byte[] buf = new byte[64 * 1024];
+        MessageDigest sha256 = sha256();
+        Path tmp = Files.createTempFile(objects, "object", ".tmp");
+        try {
+            try (InputStream is = Files.newInputStream(file);
+                    OutputStream os = Files.newOutputStream(tmp)) {
+                int read;
+                while ((read = is.read(buf)) != -1) {
+                    sha256.update(buf, 0, read);
+                    os.write(buf, 0, read);
+                }
+            }
+            String hash = ChecksumUtils.toHexString(sha256.digest());
+            Path object = object(hash);
+            if (!Files.isRegularFile(object)) {
+                Files.createDirectories(object.getParent());
+                try {
+                    Files.move(tmp, object);
+                    if (!object.toFile().setReadOnly()) {
+                        throw new IOException("Could not make object read-only: " + object);
+                    }
+                } catch (FileAlreadyExistsException e) {
+                    // stored concurrently
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Records references of layout having given root, merging them with already recorded ones.
+     *
+     * @param root The root of layout.
+     * @param references The map of paths relative to root to SHA-256 of linked object.
+     */
+    public synchronized void addReferences(Path root, Map<String, String> references) throws IOException {
+        requireNonNull(root, "root");
+        requireNonNull(references, "references");
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        Path refFile = refFile(absoluteRoot);
+        TreeMap<String, String> merged = new TreeMap<>();
+        if (Files.isRegularFile(refFile)) {
+            merged.putAll(readRefFile(refFile).references);
+        }
+        merged.putAll(references);
+        Files.createDirectories(refs);
+        Path tmp = Files.createTempFile(refs, refFile.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(absoluteRoot + "\n");
+                for (Map.Entry<String, String> entry : merged.entrySet()) {
+                    writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+                }
+            }
+            Files.move(tmp, refFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Removes unreferenced objects, referenced objects whose content no longer matches their SHA-256, and references
+     * of layouts that no longer exist. Referenced objects are hashed, so collection reads whole live store.
+     *
+     * @param dryRun If {@code true}, only reports what would be removed.
+     */
+    public synchronized GcResult gc(boolean dryRun) throws IOException {
+        HashSet<String> live = new HashSet<>();
+        long removedRefs = 0;
+        if (Files.isDirectory(refs)) {
+            List<Path> refFiles;
+            try (Stream<Path> stream = Files.list(refs)) {
+                refFiles = stream.filter(p -> p.getFileName().toString().endsWith(".ref"))
+                        .collect(Collectors.toList());
+            }
+            for (Path refFile : refFiles) {
+                RefFile ref = readRefFile(refFile);
+                if (!Files.isDirectory(ref.root)) {
+                    removedRefs++;
+                    if (!dryRun) {
+                        Files.deleteIfExists(refFile);
+                    }
+                    continue;
+                }
+                for (Map.Entry<String, String> entry : ref.references.entrySet()) {
+                    Path linked = ref.root.resolve(entry.getKey());
+                    Path object = object(entry.getValue());
+                    try {
+                        if (Files.isSameFile(linked, object)) {
+                            live.add(entry.getValue());
+                        }
+                    } catch (NoSuchFileException e) {
+                        // link or object gone
+                    }
+                }
+            }
+        }
+
+        long count = 0;
+        long removedObjects = 0;
+        long removedBytes = 0;
+        long corruptedObjects = 0;
+        if (Files.isDirectory(objects)) {
+            List<Path> objectFiles;
+            try (Stream<Path> stream = Files.walk(objects)) {
+                objectFiles = stream.filter(Files::isRegularFile)
+                        .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                        .collect(Collectors.toList());
+            }
+            for (Path objectFile : objectFiles) {
+                count++;
+                String hash = objectFile.getParent().getFileName().toString()
+                        + objectFile.getFileName().toString();
+                boolean remove = !live.contains(hash);
+                if (!remove && !hash.equals(hash(objectFile))) {
+                    corruptedObjects++;
+                    remove = true;
+                }
+                if (remove) {
+                    removedObjects++;
+                    removedBytes += Files.size(objectFile);
+                    if (!dryRun) {
+                        objectFile.toFile().setWritable(true);
+                        Files.deleteIfExists(objectFile);
+                    }
+                }
+            }
+        }
+        return new GcResult(count, removedObjects, removedBytes, removedRefs, corruptedObjects);
+    }
+
+    /**
+     * Returns the key used in references for given relative path.
+     */
+    public static String key(Path relative) {
+        return relative.toString().replace('\\', '/');
+    }
+
+    private Path refFile(Path absoluteRoot) {
+        byte[] digest = sha256().digest(absoluteRoot.toString().getBytes(StandardCharsets.UTF_8));
+        return refs.resolve(ChecksumUtils.toHexString(digest) + ".ref");
+    }
+
+    private static String hash(Path file) throws IOException {
+        byte[] buf = new byte[64 * 1024];
+        MessageDigest sha256 = sha256();
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buf)) != -1) {
+                sha256.update(buf, 0, read);
+            }
+        }
+        return ChecksumUtils.toHexString(sha256.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class RefFile {
+        private final Path root;
+        private final Map<String, String> references;
+
+        private RefFile(Path root, Map<String, String> references) {
+            this.root = root;
+            this.references = references;
+        }
+    }
+
+    private static RefFile readRefFile(Path refFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(refFile, StandardCharsets.UTF_8)) {
+            String rootLine = reader.readLine();
+            if (rootLine == null) {
+                throw new IOException("Invalid reference file " + refFile);
+            }
+            TreeMap<String, String> references = new TreeMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    references.put(line.substring(space + 1), line.substring(0, space));
+                }
+            }
+            return new RefFile(Paths.get(rootLine), references);
+        }
+    }
+}
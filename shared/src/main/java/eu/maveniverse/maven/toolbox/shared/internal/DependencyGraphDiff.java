@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+/**
+ * Diff of two dependency graphs: nodes of both graphs are indexed by versionless artifact ID (roots excluded, as are
+ * nodes that lost conflict resolution), and then indexes are compared, in linear time. Changes are sorted by
+ * versionless artifact ID.
+ */
+public final class DependencyGraphDiff {
+    /**
+     * Kind of change.
+     */
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        VERSION_CHANGED,
+        SCOPE_CHANGED
+    }
+
+    /**
+     * One change: for added artifacts {@code left} is {@code null}, for removed artifacts {@code right} is
+     * {@code null}. Changed artifact, that has changed both, version and scope, is reported as two changes.
+     */
+    public static final class Change {
+        private final Kind kind;
+        private final String key;
+        private final Entry left;
+        private final Entry right;
+
+        private Change(Kind kind, String key, Entry left, Entry right) {
+            this.kind = kind;
+            this.key = key;
+            this.left = left;
+            this.right = right;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Entry getLeft() {
+            return left;
+        }
+
+        public Entry getRight() {
+            return right;
+        }
+    }
+
+    /**
+     * Indexed node: artifact and scope.
+     */
+    public static final class Entry {
+        private final Artifact artifact;
+        private final String scope;
+
+        private Entry(Artifact artifact, String scope) {
+            this.artifact = artifact;
+            this.scope = scope;
+        }
+
+        public Artifact getArtifact() {
+            return artifact;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        @Override
+        public String toString() {
+            return scope.isEmpty() ? artifact.toString() : artifact + " [" + scope + "]";
+        }
+    }
+
+    private DependencyGraphDiff() {}
+
+    /**
+     * Indexes the graph rooted at given node by versionless artifact ID, walking it iteratively. First (nearest)
+     * occurrence wins.
+     */
+    public static Map<String, Entry> index(DependencyNode root) {
+        requireNonNull(root, "root");
+        HashMap<String, Entry> result = new HashMap<>();
+        ArrayDeque<DependencyNode> queue = new ArrayDeque<>(root.getChildren());
+        while (!queue.isEmpty()) {
+            DependencyNode node = queue.poll();
+            if (node.getArtifact() == null || node.getData().get(ConflictResolver.NODE_DATA_WINNER) != null) {
+                continue;
+            }
+            result.putIfAbsent(
+                    ArtifactIdUtils.toVersionlessId(node.getArtifact()),
+                    new Entry(
+                            node.getArtifact(),
+                            node.getDependency() != null ? node.getDependency().getScope() : ""));
+            queue.addAll(node.getChildren());
+        }
+        return result;
+    }
+
+    /**
+     * Diffs two graphs.
+     */
+    public static List<Change> diff(DependencyNode left, DependencyNode right) {
+        return diff(index(left), index(right));
+    }
+
+    /**
+     * Diffs two indexes.
+     */
+    public static List<Change> diff(Map<String, Entry> left, Map<String, Entry> right) {
+        requireNonNull(left, "left");
+        requireNonNull(right, "right");
+        ArrayList<Change> result = new ArrayList<>();
+        for (Map.Entry<String, Entry> l : left.entrySet()) {
+            Entry r = right.get(l.getKey());
+            if (r == null) {
+                result.add(new Change(Kind.REMOVED, l.getKey(), l.getValue(), null));
+            } else {
+                if (!Objects.equals(
+                        l.getValue().getArtifact().getVersion(), r.getArtifact().getVersion())) {
+                    result.add(new Change(Kind.VERSION_CHANGED, l.getKey(), l.getValue(), r));
+                }
+                if (!Objects.equals(l.getValue().getScope(), r.getScope())) {
+                    result.add(new Change(Kind.SCOPE_CHANGED, l.getKey(), l.getValue(), r));
+                }
+            }
+        }
+        for (Map.Entry<String, Entry> r : right.entrySet()) {
+            if (!left.containsKey(r.getKey())) {
+                result.add(new Change(Kind.ADDED, r.getKey(), null, r.getValue()));
+            }
+        }
+        result.sort((c1, c2) -> {
+            int c = c1.getKey().compareTo(c2.getKey());
+            return c != 0 ? c : c1.getKind().compareTo(c2.getKind());
+        });
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+/**
+ * Streaming writer of structured dependency graph documents. Walks the graph iteratively (like
+ * {@link StreamingDependencyGraphDumper}) and writes the document incrementally, never materializing it in memory.
+ * Each visited node gets an unique ID (in visit order, root is {@code 0}), so same artifact present in multiple places
+ * of the tree appears multiple times.
+ */
+public abstract class DependencyGraphWriter {
+    /**
+     * Creates writer for given structured format.
+     */
+    public static DependencyGraphWriter of(TreeFormat format, Writer writer, int maxDepth, int maxNodes) {
+        requireNonNull(format, "format");
+        switch (format) {
+            case JSON:
+                return new JsonDependencyGraphWriter(writer, maxDepth, maxNodes);
+            case DOT:
+                return new DotDependencyGraphWriter(writer, maxDepth, maxNodes);
+            case GRAPHML:
+                return new GraphMlDependencyGraphWriter(writer, maxDepth, maxNodes);
+            default:
+                throw new IllegalArgumentException("Not a structured format: " + format);
+        }
+    }
+
+    protected final Writer writer;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    protected DependencyGraphWriter(Writer writer, int maxDepth, int maxNodes) {
+        this.writer = requireNonNull(writer, "writer");
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Writes the graph rooted at given node, and returns the count of written nodes. The writer is flushed, but not
+     * closed.
+     */
+    public int write(DependencyNode root) throws IOException {
+        requireNonNull(root, "root");
+        DependencyNode[] nodes = new DependencyNode[16];
+        int[] ids = new int[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        int count = 1;
+        boolean truncated = false;
+        nodes[0] = root;
+
+        begin(root);
+        enter(null, -1, root, 0, 0, elided(root, 0));
+        while (depth >= 0) {
+            DependencyNode node = nodes[depth];
+            List<DependencyNode> children = node.getChildren();
+            int index = nextChild[depth];
+            if (!truncated && index < children.size() && (maxDepth < 0 || depth < maxDepth)) {
+                if (maxNodes >= 0 && count >= maxNodes) {
+                    truncated = true;
+                    continue;
+                }
+                nextChild[depth] = index + 1;
+                DependencyNode child = children.get(index);
+                int id = count++;
+                enter(node, ids[depth], child, id, index, elided(child, depth + 1));
+
+                depth++;
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    ids = Arrays.copyOf(ids, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                nodes[depth] = child;
+                ids[depth] = id;
+                nextChild[depth] = 0;
+            } else {
+                leave(node, ids[depth]);
+                nodes[depth] = null;
+                depth--;
+            }
+        }
+        end(count, truncated);
+        writer.flush();
+        return count;
+    }
+
+    private int elided(DependencyNode node, int depth) {
+        return maxDepth >= 0 && depth >= maxDepth ? node.getChildren().size() : 0;
+    }
+
+    /**
+     * Invoked once, before any other method.
+     */
+    protected abstract void begin(DependencyNode root) throws IOException;
+
+    /**
+     * Invoked when entering node.
+     *
+     * @param parent The parent node, {@code null} for root.
+     * @param parentId The parent node ID, {@code -1} for root.
+     * @param node The node.
+     * @param id The node ID.
+     * @param index The index of node among children of parent.
+     * @param elided The count of children of node that are elided due depth limit.
+     */
+    protected abstract void enter(
+            DependencyNode parent, int parentId, DependencyNode node, int id, int index, int elided) throws IOException;
+
+    /**
+     * Invoked when leaving node.
+     */
+    protected abstract void leave(DependencyNode node, int id) throws IOException;
+
+    /**
+     * Invoked once, after all other methods.
+     *
+     * @param count The count of nodes written.
+     * @param truncated Whether output was truncated due node count limit.
+     */
+    protected abstract void end(int count, boolean truncated) throws IOException;
+
+    /**
+     * Returns the winner artifact, if this node lost a conflict, or {@code null}.
+     */
+    protected static Artifact winner(DependencyNode node) {
+        DependencyNode winner = (DependencyNode) node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+        return winner != null ? winner.getArtifact() : null;
+    }
+}
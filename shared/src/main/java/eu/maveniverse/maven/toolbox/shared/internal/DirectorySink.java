@@ -13,19 +13,62 @@ import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
 import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
 import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
 import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
 
 /**
  * Construction to accept collection of artifacts, for example like a filesystem directory.
  */
 public final class DirectorySink implements ArtifactSink {
+    /**
+     * The checksums written by "repository" sink, as map of checksum file extension to JCA digest algorithm name.
+     */
+    public static final Map<String, String> REPOSITORY_CHECKSUMS;
+
+    static {
+        LinkedHashMap<String, String> checksums = new LinkedHashMap<>();
+        checksums.put("sha1", "SHA-1");
+        checksums.put("md5", "MD5");
+        checksums.put("sha256", "SHA-256");
+        checksums.put("sha512", "SHA-512");
+        REPOSITORY_CHECKSUMS = Collections.unmodifiableMap(checksums);
+    }
+
     /**
      * Creates plain "flat" directory sink, that accepts all artifacts and copies them out having filenames according
      * to supplied {@link ArtifactNameMapper} and prevents overwrite (what you usually want).
@@ -33,7 +76,38 @@ public final class DirectorySink implements ArtifactSink {
     public static DirectorySink flat(Output output, Path path, ArtifactNameMapper artifactNameMapper)
             throws IOException {
         return new DirectorySink(
-                output, path, Mode.COPY, ArtifactMatcher.unique(), false, a -> a, artifactNameMapper, false);
+                output,
+                path,
+                Mode.COPY,
+                ArtifactMatcher.unique(),
+                false,
+                a -> a,
+                artifactNameMapper,
+                false,
+                Collections.emptyMap(),
+                false,
+                null);
+    }
+
+    /**
+     * Creates "flat" directory sink like {@link #flat(Output, Path, ArtifactNameMapper)} is, but files are stored in
+     * given content addressable store, and are hard linked from there (see {@link Mode#CAS}).
+     */
+    public static DirectorySink casFlat(
+            Output output, Path path, ArtifactNameMapper artifactNameMapper, ContentAddressableStore store)
+            throws IOException {
+        return new DirectorySink(
+                output,
+                path,
+                Mode.CAS,
+                ArtifactMatcher.unique(),
+                false,
+                a -> a,
+                artifactNameMapper,
+                false,
+                Collections.emptyMap(),
+                false,
+                requireNonNull(store, "store"));
     }
 
     /**
@@ -42,7 +116,10 @@ public final class DirectorySink implements ArtifactSink {
      * also prevents overwrite (what you usually want). This repository may be handy for testing, but does not serve
      * as interchangeable solution of installing or deploying artifacts for real. This sink accepts release artifacts
      * only, and fails with snapshot ones, as this is not equivalent to deploy them (no timestamped version is
-     * created).
+     * created). Artifacts are accompanied by checksum files (see {@link #REPOSITORY_CHECKSUMS}), that are reused
+     * from source, if present and not older than artifact file itself (like local repository has SHA-1 and MD5 ones),
+     * and missing ones are calculated while copying. On close, GA level {@code maven-metadata.xml} is written (or
+     * merged with existing one) for all GAs this sink accepted artifacts of.
      */
     public static DirectorySink repository(Output output, Path path) throws IOException {
         return new DirectorySink(
@@ -53,7 +130,30 @@ public final class DirectorySink implements ArtifactSink {
                 true,
                 a -> a,
                 ArtifactNameMapper.repositoryDefault(),
-                false);
+                false,
+                REPOSITORY_CHECKSUMS,
+                true,
+                null);
+    }
+
+    /**
+     * Creates "repository" directory sink like {@link #repository(Output, Path)} is, but files are stored in given
+     * content addressable store, and are hard linked from there (see {@link Mode#CAS}).
+     */
+    public static DirectorySink casRepository(Output output, Path path, ContentAddressableStore store)
+            throws IOException {
+        return new DirectorySink(
+                output,
+                path,
+                Mode.CAS,
+                ArtifactMatcher.and(ArtifactMatcher.not(ArtifactMatcher.snapshot()), ArtifactMatcher.unique()),
+                true,
+                a -> a,
+                ArtifactNameMapper.repositoryDefault(),
+                false,
+                REPOSITORY_CHECKSUMS,
+                true,
+                requireNonNull(store, "store"));
     }
 
     /**
@@ -62,7 +162,13 @@ public final class DirectorySink implements ArtifactSink {
     public enum Mode {
         COPY,
         LINK,
-        SYMLINK
+        SYMLINK,
+        /**
+         * Files are stored once in a {@link ContentAddressableStore}, and are hard linked from there, while links are
+         * recorded as references in store on close. Falls back to copy, if link is not possible (like when store is
+         * on another file system).
+         */
+        CAS
     }
 
     private final Output output;
@@ -76,6 +182,11 @@ public final class DirectorySink implements ArtifactSink {
     private final boolean allowOverwrite;
     private final HashSet<Path> writtenPaths;
     private final StandardCopyOption[] copyFlags;
+    private final Map<String, String> checksums;
+    private final boolean generateMetadata;
+    private final HashMap<Path, Metadata> metadata;
+    private final ContentAddressableStore store;
+    private final TreeMap<String, String> references;
 
     /**
      * Creates a directory sink.
@@ -88,6 +199,10 @@ public final class DirectorySink implements ArtifactSink {
      * @param artifactNameMapper The artifact name mapper, that decides what file name will be of the artifact.
      * @param allowOverwrite Does sink allow overwrites. Tip: you usually do not want to allow, as that means you have
      *                       some mismatch in name mapping or alike.
+     * @param checksums The checksums to write alongside of copied artifacts, as map of checksum file extension to
+     *                  JCA digest algorithm name. Checksums are written in {@link Mode#COPY} mode only.
+     * @param generateMetadata Whether to write GA level metadata on close. Makes sense only with repository layout.
+     * @param store The content addressable store, required in {@link Mode#CAS} mode only.
      * @throws IOException In case of IO problem.
      */
     private DirectorySink(
@@ -98,7 +213,10 @@ public final class DirectorySink implements ArtifactSink {
             boolean failIfUnmatched,
             Function<Artifact, Artifact> artifactMapper,
             Function<Artifact, String> artifactNameMapper,
-            boolean allowOverwrite)
+            boolean allowOverwrite,
+            Map<String, String> checksums,
+            boolean generateMetadata,
+            ContentAddressableStore store)
             throws IOException {
         this.output = requireNonNull(output, "output");
         this.directory = requireNonNull(directory, "directory").toAbsolutePath();
@@ -122,6 +240,14 @@ public final class DirectorySink implements ArtifactSink {
         this.copyFlags = allowOverwrite
                 ? new StandardCopyOption[] {StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES}
                 : new StandardCopyOption[] {StandardCopyOption.COPY_ATTRIBUTES};
+        this.checksums = requireNonNull(checksums, "checksums");
+        this.generateMetadata = generateMetadata;
+        this.metadata = new HashMap<>();
+        if (mode == Mode.CAS && store == null) {
+            throw new IllegalArgumentException("store is required in CAS mode");
+        }
+        this.store = store;
+        this.references = new TreeMap<>();
     }
 
     public Path getDirectory() {
@@ -134,7 +260,8 @@ public final class DirectorySink implements ArtifactSink {
         output.verbose("Accept artifact {}", artifact);
         if (artifactMatcher.test(artifact)) {
             output.verbose("  matched");
-            String name = artifactNameMapper.apply(artifactMapper.apply(artifact));
+            Artifact mapped = artifactMapper.apply(artifact);
+            String name = artifactNameMapper.apply(mapped);
             output.verbose("  mapped to name {}", name);
             Path target = directory.resolve(name).toAbsolutePath();
             if (!target.startsWith(directory)) {
@@ -147,7 +274,11 @@ public final class DirectorySink implements ArtifactSink {
             switch (mode) {
                 case COPY:
                     output.verbose("  copied to file {}", target);
-                    Files.copy(artifact.getFile().toPath(), target, copyFlags);
+                    if (checksums.isEmpty()) {
+                        Files.copy(artifact.getFile().toPath(), target, copyFlags);
+                    } else {
+                        copyWithChecksums(artifact.getFile().toPath(), target);
+                    }
                     break;
                 case LINK:
                     output.verbose("  linked to file {}", target);
@@ -157,9 +288,26 @@ public final class DirectorySink implements ArtifactSink {
                     output.verbose("  symlinked to file {}", target);
                     Files.createSymbolicLink(target, artifact.getFile().toPath());
                     break;
+                case CAS:
+                    linkFromStore(artifact.getFile().toPath(), target);
+                    break;
                 default:
                     throw new IllegalArgumentException("unknown mode");
             }
+            if (generateMetadata) {
+                Versioning versioning = metadata.computeIfAbsent(
+                                target.getParent().getParent(), k -> {
+                                    Metadata m = new Metadata();
+                                    m.setGroupId(mapped.getGroupId());
+                                    m.setArtifactId(mapped.getArtifactId());
+                                    m.setVersioning(new Versioning());
+                                    return m;
+                                })
+                        .getVersioning();
+                if (!versioning.getVersions().contains(mapped.getBaseVersion())) {
+                    versioning.addVersion(mapped.getBaseVersion());
+                }
+            }
         } else {
             if (failIfUnmatched) {
                 throw new IllegalArgumentException("not matched");
@@ -169,6 +317,178 @@ public final class DirectorySink implements ArtifactSink {
         }
     }
 
+    /**
+     * Copies source to target and writes checksum files of target. Trusted checksum files of source are reused, and
+     * only missing checksums are calculated, in same pass as copy is done.
+     */
+    private void copyWithChecksums(Path source, Path target) throws IOException {
+        Map<String, String> values = trustedChecksums(source);
+        if (values.size() == checksums.size()) {
+            output.verbose("  reused checksums of {}", source);
+            Files.copy(source, target, copyFlags);
+        } else {
+            if (!allowOverwrite && Files.exists(target)) {
+                throw new FileAlreadyExistsException(target.toString());
+            }
+            LinkedHashMap<String, MessageDigest> digests = missingDigests(values);
+            Path tmp = Files.createTempFile(
+                    target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                byte[] buf = new byte[64 * 1024];
+                try (InputStream is = Files.newInputStream(source);
+                        OutputStream os = Files.newOutputStream(tmp)) {
+                    int read;
+                    while ((read = is.read(buf)) != -1) {
+                        for (MessageDigest digest : digests.values()) {
+                            digest.update(buf, 0, read);
+                        }
+                        os.write(buf, 0, read);
+                    }
+                }
+                Files.setLastModifiedTime(tmp, Files.getLastModifiedTime(source));
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            for (Map.Entry<String, MessageDigest> digest : digests.entrySet()) {
+                values.put(
+                        digest.getKey(),
+                        ChecksumUtils.toHexString(digest.getValue().digest()));
+            }
+        }
+        for (String extension : values.keySet()) {
+            writtenPaths.add(checksumFile(target, extension));
+        }
+        writeChecksums(target, values);
+    }
+
+    /**
+     * Stores source into content addressable store and links target to stored object. Checksums missing from trusted
+     * checksum files of source are calculated from stored object.
+     */
+    private void linkFromStore(Path source, Path target) throws IOException {
+        String sha256 = store.store(source);
+        Path object = store.object(sha256);
+        try {
+            Files.createLink(target, object);
+            references.put(ContentAddressableStore.key(directory.relativize(target)), sha256);
+            output.verbose("  linked to file {} from store object {}", target, sha256);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            output.verbose("  copied to file {} (could not link store object: {})", target, e.getMessage());
+            Files.copy(object, target, copyFlags);
+        }
+        if (!checksums.isEmpty()) {
+            Map<String, String> values = trustedChecksums(source);
+            if (values.size() != checksums.size()) {
+                values.putAll(calculateChecksums(object, missingDigests(values)));
+            }
+            for (String extension : values.keySet()) {
+                writtenPaths.add(checksumFile(target, extension));
+            }
+            writeChecksums(target, values);
+        }
+    }
+
+    /**
+     * Returns digests of checksums not present in given values.
+     */
+    private LinkedHashMap<String, MessageDigest> missingDigests(Map<String, String> values) {
+        LinkedHashMap<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (Map.Entry<String, String> checksum : checksums.entrySet()) {
+            if (!values.containsKey(checksum.getKey())) {
+                digests.put(checksum.getKey(), digest(checksum.getValue()));
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Calculates given checksums of given file in one pass.
+     */
+    private static Map<String, String> calculateChecksums(Path file, Map<String, MessageDigest> digests)
+            throws IOException {
+        byte[] buf = new byte[64 * 1024];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buf)) != -1) {
+                for (MessageDigest digest : digests.values()) {
+                    digest.update(buf, 0, read);
+                }
+            }
+        }
+        LinkedHashMap<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, MessageDigest> digest : digests.entrySet()) {
+            values.put(
+                    digest.getKey(), ChecksumUtils.toHexString(digest.getValue().digest()));
+        }
+        return values;
+    }
+
+    /**
+     * Writes checksum files of given file, each atomically.
+     */
+    private void writeChecksums(Path file, Map<String, String> values) throws IOException {
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            Path checksumFile = checksumFile(file, value.getKey());
+            writeAtomically(checksumFile, value.getValue().getBytes(StandardCharsets.US_ASCII));
+            output.verbose("  written checksum file {}", checksumFile);
+        }
+    }
+
+    private static Path checksumFile(Path file, String extension) {
+        return file.getParent().resolve(file.getFileName() + "." + extension);
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Returns checksums of source read from those of its checksum files that are present, are not older than source
+     * and are well-formed. Returned map is mutable, and may be empty.
+     */
+    private Map<String, String> trustedChecksums(Path source) throws IOException {
+        FileTime sourceModified = Files.getLastModifiedTime(source);
+        LinkedHashMap<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> checksum : checksums.entrySet()) {
+            Path checksumFile = checksumFile(source, checksum.getKey());
+            if (!Files.isRegularFile(checksumFile)
+                    || Files.getLastModifiedTime(checksumFile).compareTo(sourceModified) < 0) {
+                continue;
+            }
+            String value = readChecksum(checksumFile);
+            if (value.length() == digest(checksum.getValue()).getDigestLength() * 2
+                    && value.chars().allMatch(c -> Character.digit(c, 16) != -1)) {
+                result.put(checksum.getKey(), value.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads checksum file: the checksum is the first token of it, optionally followed by file name.
+     */
+    private static String readChecksum(Path checksumFile) throws IOException {
+        String value = new String(Files.readAllBytes(checksumFile), StandardCharsets.US_ASCII).trim();
+        return value.split("\\s+", 2)[0];
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported checksum algorithm: " + algorithm, e);
+        }
+    }
+
     @Override
     public void cleanup(Exception e) {
         output.error("Cleaning up: {}", directory);
@@ -179,6 +499,8 @@ public final class DirectorySink implements ArtifactSink {
                 // ignore
             }
         });
+        metadata.clear();
+        references.clear();
         if (directoryCreated) {
             try {
                 Files.deleteIfExists(directory);
@@ -189,5 +511,80 @@ public final class DirectorySink implements ArtifactSink {
     }
 
     @Override
-    public void close() {}
+    public void close() throws IOException {
+        if (!references.isEmpty()) {
+            store.addReferences(directory, references);
+            output.verbose("Recorded {} references in store {}", references.size(), store.getBasedir());
+            references.clear();
+        }
+        if (!metadata.isEmpty()) {
+            try {
+                metadata.entrySet().parallelStream().forEach(e -> {
+                    try {
+                        writeMetadata(e.getKey(), e.getValue());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            output.verbose("Written metadata of {} GAs", metadata.size());
+            metadata.clear();
+        }
+    }
+
+    /**
+     * Writes GA level metadata into given directory, merged with existing metadata (if any), along with checksums.
+     */
+    private void writeMetadata(Path gaDirectory, Metadata metadata) throws IOException {
+        Path file = gaDirectory.resolve("maven-metadata.xml");
+        Versioning versioning = metadata.getVersioning();
+        if (Files.isRegularFile(file)) {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                Metadata existing = new MetadataXpp3Reader().read(inputStream, false);
+                if (existing.getVersioning() != null) {
+                    for (String version : existing.getVersioning().getVersions()) {
+                        if (!versioning.getVersions().contains(version)) {
+                            versioning.addVersion(version);
+                        }
+                    }
+                }
+            } catch (XmlPullParserException e) {
+                throw new IOException("Invalid metadata " + file, e);
+            }
+        }
+        VersionScheme versionScheme = new GenericVersionScheme();
+        HashMap<String, Version> parsed = new HashMap<>();
+        try {
+            for (String version : versioning.getVersions()) {
+                parsed.put(version, versionScheme.parseVersion(version));
+            }
+        } catch (InvalidVersionSpecificationException e) {
+            throw new IOException("Invalid version in " + file, e);
+        }
+        List<String> versions = new ArrayList<>(versioning.getVersions());
+        versions.sort(Comparator.comparing(parsed::get));
+        versioning.setVersions(versions);
+        versioning.setLatest(versions.get(versions.size() - 1));
+        versioning.setRelease(null);
+        for (String version : versions) {
+            if (!version.endsWith("SNAPSHOT")) {
+                versioning.setRelease(version);
+            }
+        }
+        versioning.setLastUpdatedTimestamp(new Date());
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        new MetadataXpp3Writer().write(content, metadata);
+        byte[] bytes = content.toByteArray();
+        LinkedHashMap<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, String> checksum : checksums.entrySet()) {
+            values.put(
+                    checksum.getKey(),
+                    ChecksumUtils.toHexString(digest(checksum.getValue()).digest(bytes)));
+        }
+        writeAtomically(file, bytes);
+        writeChecksums(file, values);
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Writes graph as Graphviz DOT digraph: nodes are labeled with artifact, edges with scope. Nodes that lost conflict
+ * are dashed, while elided children are represented by single plain text node.
+ */
+public class DotDependencyGraphWriter extends DependencyGraphWriter {
+    public DotDependencyGraphWriter(Writer writer, int maxDepth, int maxNodes) {
+        super(writer, maxDepth, maxNodes);
+    }
+
+    @Override
+    protected void begin(DependencyNode root) throws IOException {
+        writer.write("digraph ");
+        quoted(String.valueOf(root.getArtifact()));
+        writer.write(" {\n");
+    }
+
+    @Override
+    protected void enter(DependencyNode parent, int parentId, DependencyNode node, int id, int index, int elided)
+            throws IOException {
+        writer.write("  n");
+        writer.write(Integer.toString(id));
+        writer.write(" [label=");
+        Artifact winner = winner(node);
+        quoted(
+                winner != null
+                        ? node.getArtifact() + "\n(conflicts with " + winner.getVersion() + ")"
+                        : String.valueOf(node.getArtifact()));
+        if (winner != null) {
+            writer.write(", style=dashed");
+        }
+        writer.write("];\n");
+        if (parent != null) {
+            writer.write("  n");
+            writer.write(Integer.toString(parentId));
+            writer.write(" -> n");
+            writer.write(Integer.toString(id));
+            Dependency dependency = node.getDependency();
+            if (dependency != null) {
+                writer.write(" [label=");
+                quoted(dependency.isOptional() ? dependency.getScope() + ", optional" : dependency.getScope());
+                writer.write(']');
+            }
+            writer.write(";\n");
+        }
+        if (elided > 0) {
+            writer.write("  e");
+            writer.write(Integer.toString(id));
+            writer.write(" [label=");
+            quoted("... (" + elided + " children elided)");
+            writer.write(", shape=plaintext];\n  n");
+            writer.write(Integer.toString(id));
+            writer.write(" -> e");
+            writer.write(Integer.toString(id));
+            writer.write(";\n");
+        }
+    }
+
+    @Override
+    protected void leave(DependencyNode node, int id) {}
+
+    @Override
+    protected void end(int count, boolean truncated) throws IOException {
+        if (truncated) {
+            writer.write("  truncated [label=");
+            quoted("... (truncated after " + count + " nodes)");
+            writer.write(", shape=plaintext];\n");
+        }
+        writer.write("}\n");
+    }
+
+    private void quoted(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c == '\n') {
+                writer.write("\\n");
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Writes graph as GraphML document: nodes carry artifact (and winner, elided count if applicable), edges carry scope
+ * and optionality.
+ */
+public class GraphMlDependencyGraphWriter extends DependencyGraphWriter {
+    public GraphMlDependencyGraphWriter(Writer writer, int maxDepth, int maxNodes) {
+        super(writer, maxDepth, maxNodes);
+    }
+
+    @Override
+    protected void begin(DependencyNode root) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        writer.write("  <key id=\"artifact\" for=\"node\" attr.name=\"artifact\" attr.type=\"string\"/>\n");
+        writer.write("  <key id=\"winner\" for=\"node\" attr.name=\"winner\" attr.type=\"string\"/>\n");
+        writer.write("  <key id=\"elided\" for=\"node\" attr.name=\"elided\" attr.type=\"int\"/>\n");
+        writer.write("  <key id=\"scope\" for=\"edge\" attr.name=\"scope\" attr.type=\"string\"/>\n");
+        writer.write("  <key id=\"optional\" for=\"edge\" attr.name=\"optional\" attr.type=\"boolean\"/>\n");
+        writer.write("  <graph id=\"G\" edgedefault=\"directed\">\n");
+    }
+
+    @Override
+    protected void enter(DependencyNode parent, int parentId, DependencyNode node, int id, int index, int elided)
+            throws IOException {
+        writer.write("    <node id=\"n");
+        writer.write(Integer.toString(id));
+        writer.write("\">");
+        data("artifact", String.valueOf(node.getArtifact()));
+        Artifact winner = winner(node);
+        if (winner != null) {
+            data("winner", winner.toString());
+        }
+        if (elided > 0) {
+            data("elided", Integer.toString(elided));
+        }
+        writer.write("</node>\n");
+        if (parent != null) {
+            writer.write("    <edge source=\"n");
+            writer.write(Integer.toString(parentId));
+            writer.write("\" target=\"n");
+            writer.write(Integer.toString(id));
+            writer.write("\">");
+            Dependency dependency = node.getDependency();
+            if (dependency != null) {
+                data("scope", dependency.getScope());
+                data("optional", Boolean.toString(dependency.isOptional()));
+            }
+            writer.write("</edge>\n");
+        }
+    }
+
+    @Override
+    protected void leave(DependencyNode node, int id) {}
+
+    @Override
+    protected void end(int count, boolean truncated) throws IOException {
+        writer.write("  </graph>\n");
+        if (truncated) {
+            writer.write("  <!-- truncated after ");
+            writer.write(Integer.toString(count));
+            writer.write(" nodes -->\n");
+        }
+        writer.write("</graphml>\n");
+    }
+
+    private void data(String key, String value) throws IOException {
+        writer.write("<data key=\"");
+        writer.write(key);
+        writer.write("\">");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+        writer.write("</data>");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Writes graph as JSON document {@code {"root": node, "count": n, "truncated": bool}}, where nodes are nested in
+ * {@code children} array of their parent, one node per line.
+ */
+public class JsonDependencyGraphWriter extends DependencyGraphWriter {
+    public JsonDependencyGraphWriter(Writer writer, int maxDepth, int maxNodes) {
+        super(writer, maxDepth, maxNodes);
+    }
+
+    @Override
+    protected void begin(DependencyNode root) throws IOException {
+        writer.write("{\"root\":");
+    }
+
+    @Override
+    protected void enter(DependencyNode parent, int parentId, DependencyNode node, int id, int index, int elided)
+            throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        writer.write("\n{\"id\":");
+        writer.write(Integer.toString(id));
+        Artifact artifact = node.getArtifact();
+        if (artifact != null) {
+            field("groupId", artifact.getGroupId());
+            field("artifactId", artifact.getArtifactId());
+            field("version", artifact.getVersion());
+            field("classifier", artifact.getClassifier());
+            field("extension", artifact.getExtension());
+        }
+        Dependency dependency = node.getDependency();
+        if (dependency != null) {
+            field("scope", dependency.getScope());
+            writer.write(",\"optional\":");
+            writer.write(Boolean.toString(dependency.isOptional()));
+        }
+        Artifact winner = winner(node);
+        if (winner != null) {
+            field("winner", winner.toString());
+        }
+        if (elided > 0) {
+            writer.write(",\"elided\":");
+            writer.write(Integer.toString(elided));
+        }
+        writer.write(",\"children\":[");
+    }
+
+    @Override
+    protected void leave(DependencyNode node, int id) throws IOException {
+        writer.write("]}");
+    }
+
+    @Override
+    protected void end(int count, boolean truncated) throws IOException {
+        writer.write(",\n\"count\":");
+        writer.write(Integer.toString(count));
+        writer.write(",\"truncated\":");
+        writer.write(Boolean.toString(truncated));
+        writer.write("}\n");
+    }
+
+    private void field(String name, String value) throws IOException {
+        writer.write(",\"");
+        writer.write(name);
+        writer.write("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Writer} that splits written characters into lines, and passes them to {@link Consumer}, like
+ * {@link eu.maveniverse.maven.toolbox.shared.Output} is.
+ */
+public class LineConsumerWriter extends Writer {
+    private final Consumer<String> consumer;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    public LineConsumerWriter(Consumer<String> consumer) {
+        this.consumer = requireNonNull(consumer, "consumer");
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            if (c == '\n') {
+                consumer.accept(line.toString());
+                line.setLength(0);
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {
+        if (line.length() > 0) {
+            consumer.accept(line.toString());
+            line.setLength(0);
+        }
+    }
+}
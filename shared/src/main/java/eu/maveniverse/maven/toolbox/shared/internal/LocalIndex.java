@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Compact on-disk index of artifacts present in some directory laid out as repository (like a local repository or
+ * output of {@link DirectorySink#repository(eu.maveniverse.maven.toolbox.shared.Output, Path)} is). Each entry
+ * carries GAV, extension, classifier, SHA-1 and size of the artifact.
+ * <p>
+ * Index is loaded fully into memory (as primitive arrays, with strings pooled), and supports hash-lookup by SHA-1 and
+ * prefix-lookup by groupId, both using binary search.
+ */
+public final class LocalIndex {
+    private static final int MAGIC = 0x54424958; // "TBIX"
+    private static final int VERSION = 1;
+    private static final int SHA1_LENGTH = 20;
+
+    /**
+     * Index entry.
+     */
+    public static final class Entry {
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String classifier;
+        private final String extension;
+        private final String sha1;
+        private final long size;
+
+        public Entry(
+                String groupId,
+                String artifactId,
+                String version,
+                String classifier,
+                String extension,
+                String sha1,
+                long size) {
+            this.groupId = requireNonNull(groupId, "groupId");
+            this.artifactId = requireNonNull(artifactId, "artifactId");
+            this.version = requireNonNull(version, "version");
+            this.classifier = requireNonNull(classifier, "classifier");
+            this.extension = requireNonNull(extension, "extension");
+            this.sha1 = requireNonNull(sha1, "sha1");
+            this.size = size;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getClassifier() {
+            return classifier;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Artifact toArtifact() {
+            return new DefaultArtifact(groupId, artifactId, classifier, extension, version);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return size == entry.size
+                    && groupId.equals(entry.groupId)
+                    && artifactId.equals(entry.artifactId)
+                    && version.equals(entry.version)
+                    && classifier.equals(entry.classifier)
+                    && extension.equals(entry.extension)
+                    && sha1.equals(entry.sha1);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, artifactId, version, classifier, extension, sha1, size);
+        }
+
+        @Override
+        public String toString() {
+            return toArtifact() + " (sha1=" + sha1 + ", size=" + size + ")";
+        }
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(Entry::getGroupId)
+            .thenComparing(Entry::getArtifactId)
+            .thenComparing(Entry::getVersion)
+            .thenComparing(Entry::getClassifier)
+            .thenComparing(Entry::getExtension);
+
+    /**
+     * Scans passed in directory (laid out as repository) and returns index entries for all artifacts found in it.
+     * SHA-1 of artifact is taken from existing {@code .sha1} file if present, not older than the artifact and well
+     * formed, otherwise is calculated.
+     */
+    public static List<Entry> scan(Path basedir) throws IOException {
+        requireNonNull(basedir, "basedir");
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(basedir)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        try {
+            return files.parallelStream()
+                    .map(f -> ArtifactPaths.toArtifact(basedir, f))
+                    .filter(Objects::nonNull)
+                    .map(a -> {
+                        try {
+                            Path file = a.getFile().toPath();
+                            return new Entry(
+                                    a.getGroupId(),
+                                    a.getArtifactId(),
+                                    a.getVersion(),
+                                    a.getClassifier(),
+                                    a.getExtension(),
+                                    sha1(file),
+                                    Files.size(file));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes out index file with passed in entries. Write is atomic, file is replaced only if index was fully
+     * written.
+     */
+    public static void write(Path file, Collection<Entry> entries) throws IOException {
+        requireNonNull(file, "file");
+        requireNonNull(entries, "entries");
+        ArrayList<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(ENTRY_ORDER);
+
+        HashMap<String, Integer> pool = new HashMap<>();
+        ArrayList<String> strings = new ArrayList<>();
+        int[] indices = new int[sorted.size() * 5];
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            indices[i * 5] = intern(pool, strings, entry.getGroupId());
+            indices[i * 5 + 1] = intern(pool, strings, entry.getArtifactId());
+            indices[i * 5 + 2] = intern(pool, strings, entry.getVersion());
+            indices[i * 5 + 3] = intern(pool, strings, entry.getClassifier());
+            indices[i * 5 + 4] = intern(pool, strings, entry.getExtension());
+        }
+        byte[] sha1s = new byte[sorted.size() * SHA1_LENGTH];
+        for (int i = 0; i < sorted.size(); i++) {
+            byte[] sha1 = ChecksumUtils.fromHexString(sorted.get(i).getSha1());
+            if (sha1.length != SHA1_LENGTH) {
+                throw new IllegalArgumentException("invalid SHA-1: " + sorted.get(i));
+            }
+            System.arraycopy(sha1, 0, sha1s, i * SHA1_LENGTH, SHA1_LENGTH);
+        }
+        int[] bySha1 = IntStream.range(0, sorted.size())
+                .boxed()
+                .sorted((l, r) -> compareSha1(sha1s, l, sha1s, r * SHA1_LENGTH))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(strings.size());
+                for (String string : strings) {
+                    out.writeUTF(string);
+                }
+                out.writeInt(sorted.size());
+                for (int i = 0; i < sorted.size(); i++) {
+                    for (int j = 0; j < 5; j++) {
+                        out.writeInt(indices[i * 5 + j]);
+                    }
+                    out.write(sha1s, i * SHA1_LENGTH, SHA1_LENGTH);
+                    out.writeLong(sorted.get(i).getSize());
+                }
+                for (int idx : bySha1) {
+                    out.writeInt(idx);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Loads index from passed in file.
+     */
+    public static LocalIndex load(Path file) throws IOException {
+        requireNonNull(file, "file");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a toolbox index file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported toolbox index file version " + version + ": " + file);
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            int count = in.readInt();
+            int[] indices = new int[count * 5];
+            byte[] sha1s = new byte[count * SHA1_LENGTH];
+            long[] sizes = new long[count];
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < 5; j++) {
+                    indices[i * 5 + j] = in.readInt();
+                }
+                in.readFully(sha1s, i * SHA1_LENGTH, SHA1_LENGTH);
+                sizes[i] = in.readLong();
+            }
+            int[] bySha1 = new int[count];
+            for (int i = 0; i < count; i++) {
+                bySha1[i] = in.readInt();
+            }
+            return new LocalIndex(strings, indices, sha1s, sizes, bySha1);
+        }
+    }
+
+    private final String[] strings;
+    private final int[] indices;
+    private final byte[] sha1s;
+    private final long[] sizes;
+    private final int[] bySha1;
+
+    private LocalIndex(String[] strings, int[] indices, byte[] sha1s, long[] sizes, int[] bySha1) {
+        this.strings = strings;
+        this.indices = indices;
+        this.sha1s = sha1s;
+        this.sizes = sizes;
+        this.bySha1 = bySha1;
+    }
+
+    /**
+     * Returns the count of entries in this index.
+     */
+    public int size() {
+        return sizes.length;
+    }
+
+    /**
+     * Returns all entries of this index, ordered by GAV.
+     */
+    public List<Entry> entries() {
+        return IntStream.range(0, size()).mapToObj(this::entry).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns entries having passed in SHA-1.
+     */
+    public List<Entry> findBySha1(String sha1) {
+        requireNonNull(sha1, "sha1");
+        byte[] key;
+        try {
+            key = ChecksumUtils.fromHexString(sha1.trim().toLowerCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+        if (key.length != SHA1_LENGTH) {
+            return Collections.emptyList();
+        }
+        int low = 0;
+        int high = bySha1.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSha1(sha1s, bySha1[mid], key, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        ArrayList<Entry> result = new ArrayList<>();
+        for (int i = low; i < bySha1.length && compareSha1(sha1s, bySha1[i], key, 0) == 0; i++) {
+            result.add(entry(bySha1[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns entries having groupId starting with passed in prefix.
+     */
+    public List<Entry> findByGroupIdPrefix(String prefix) {
+        requireNonNull(prefix, "prefix");
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (strings[indices[mid * 5]].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        ArrayList<Entry> result = new ArrayList<>();
+        for (int i = low; i < size() && strings[indices[i * 5]].startsWith(prefix); i++) {
+            result.add(entry(i));
+        }
+        return result;
+    }
+
+    private Entry entry(int i) {
+        return new Entry(
+                strings[indices[i * 5]],
+                strings[indices[i * 5 + 1]],
+                strings[indices[i * 5 + 2]],
+                strings[indices[i * 5 + 3]],
+                strings[indices[i * 5 + 4]],
+                ChecksumUtils.toHexString(Arrays.copyOfRange(sha1s, i * SHA1_LENGTH, (i + 1) * SHA1_LENGTH)),
+                sizes[i]);
+    }
+
+    private static int intern(Map<String, Integer> pool, List<String> strings, String string) {
+        return pool.computeIfAbsent(string, s -> {
+            strings.add(s);
+            return strings.size() - 1;
+        });
+    }
+
+    private static int compareSha1(byte[] sha1s, int entry, byte[] key, int keyOffset) {
+        return Arrays.compareUnsigned(
+                sha1s, entry * SHA1_LENGTH, (entry + 1) * SHA1_LENGTH, key, keyOffset, keyOffset + SHA1_LENGTH);
+    }
+
+    private static String sha1(Path file) throws IOException {
+        Path sha1File = file.getParent().resolve(file.getFileName() + ".sha1");
+        if (Files.isRegularFile(sha1File)
+                && Files.getLastModifiedTime(sha1File).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+            String sha1 = new String(Files.readAllBytes(sha1File), StandardCharsets.US_ASCII)
+                    .trim()
+                    .split("\\s+", 2)[0];
+            if (sha1.length() == SHA1_LENGTH * 2 && sha1.chars().allMatch(c -> Character.digit(c, 16) != -1)) {
+                return sha1.toLowerCase(Locale.ENGLISH);
+            }
+        }
+        try {
+            MessageDigest sha1md = MessageDigest.getInstance("SHA-1");
+            byte[] buf = new byte[8192];
+            int read;
+            try (InputStream is = Files.newInputStream(file)) {
+                read = is.read(buf);
+                while (read != -1) {
+                    sha1md.update(buf, 0, read);
+                    read = is.read(buf);
+                }
+            }
+            return ChecksumUtils.toHexString(sha1md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA1 MessageDigest unavailable", e);
+        }
+    }
+}
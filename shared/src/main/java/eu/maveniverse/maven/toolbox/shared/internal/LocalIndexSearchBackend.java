@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.apache.maven.search.api.MAVEN;
+import org.apache.maven.search.api.Record;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+import org.apache.maven.search.api.request.BooleanQuery;
+import org.apache.maven.search.api.request.Field;
+import org.apache.maven.search.api.request.FieldQuery;
+import org.apache.maven.search.api.request.Paging;
+import org.apache.maven.search.api.request.Query;
+import org.apache.maven.search.api.support.SearchBackendSupport;
+import org.apache.maven.search.api.support.SearchResponseSupport;
+
+/**
+ * Search backend over {@link LocalIndex}, usable fully offline. Supports "and" queries of field queries on
+ * groupId, artifactId, version, classifier, extension (packaging) and SHA-1 fields, and free text queries that are
+ * matched against groupId and artifactId. Lookups by SHA-1 and groupId are served by index, other fields are
+ * filtered.
+ * <p>
+ * GroupId field query value ending with {@code *} is handled as prefix query. Artifact without classifier field
+ * query matches only artifacts without classifier, as remote backends do, unless a SHA-1 field is queried.
+ * <p>
+ * Like remote repository backend, queries of (exact) groupId only list artifactIds, and queries of groupId and
+ * artifactId only list versions: hits are collapsed into GA and GAV records, respectively.
+ */
+public final class LocalIndexSearchBackend extends SearchBackendSupport {
+    private final LocalIndex localIndex;
+
+    public LocalIndexSearchBackend(String backendId, String repositoryId, LocalIndex localIndex) {
+        super(backendId, repositoryId);
+        this.localIndex = requireNonNull(localIndex, "localIndex");
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest) throws IOException {
+        requireNonNull(searchRequest, "searchRequest");
+        ArrayList<FieldQuery> fieldQueries = new ArrayList<>();
+        ArrayList<String> texts = new ArrayList<>();
+        flatten(searchRequest.getQuery(), fieldQueries, texts);
+
+        List<LocalIndex.Entry> candidates = null;
+        Predicate<LocalIndex.Entry> filter = e -> true;
+        boolean classifierQueried = false;
+        boolean sha1Queried = false;
+        boolean listing = texts.isEmpty();
+        boolean listingVersions = false;
+        for (FieldQuery fieldQuery : fieldQueries) {
+            Field field = fieldQuery.getField();
+            String value = fieldQuery.getValue();
+            if (MAVEN.SHA1.equals(field)) {
+                listing = false;
+                sha1Queried = true;
+                if (candidates == null) {
+                    candidates = localIndex.findBySha1(value);
+                } else {
+                    filter = filter.and(e -> e.getSha1().equalsIgnoreCase(value));
+                }
+            } else if (MAVEN.GROUP_ID.equals(field)) {
+                boolean prefix = value.endsWith("*");
+                String groupId = prefix ? value.substring(0, value.length() - 1) : value;
+                listing &= !prefix;
+                if (candidates == null) {
+                    candidates = localIndex.findByGroupIdPrefix(groupId);
+                }
+                filter = prefix
+                        ? filter.and(e -> e.getGroupId().startsWith(groupId))
+                        : filter.and(e -> e.getGroupId().equals(groupId));
+            } else if (MAVEN.ARTIFACT_ID.equals(field)) {
+                listingVersions = true;
+                filter = filter.and(e -> e.getArtifactId().equals(value));
+            } else if (MAVEN.VERSION.equals(field)) {
+                listing = false;
+                filter = filter.and(e -> e.getVersion().equals(value));
+            } else if (MAVEN.CLASSIFIER.equals(field)) {
+                listing = false;
+                classifierQueried = true;
+                filter = filter.and(e -> e.getClassifier().equals(value));
+            } else if (MAVEN.FILE_EXTENSION.equals(field) || MAVEN.PACKAGING.equals(field)) {
+                listing = false;
+                filter = filter.and(e -> e.getExtension().equals(value));
+            } else {
+                throw new IllegalArgumentException("Unsupported field for local index: " + field);
+            }
+        }
+        for (String text : texts) {
+            String lowerText = text.toLowerCase(Locale.ENGLISH);
+            filter = filter.and(e -> e.getGroupId().toLowerCase(Locale.ENGLISH).contains(lowerText)
+                    || e.getArtifactId().toLowerCase(Locale.ENGLISH).contains(lowerText));
+        }
+        // a checksum identifies one file, classified or not
+        if (!classifierQueried && !sha1Queried) {
+            filter = filter.and(e -> e.getClassifier().isEmpty());
+        }
+        if (candidates == null) {
+            candidates = localIndex.entries();
+        }
+        List<Record> hits;
+        if (listing) {
+            boolean versions = listingVersions;
+            hits = candidates.stream()
+                    .filter(filter)
+                    .map(e -> versions
+                            ? Arrays.asList(
+                                    e.getGroupId(),
+                                    e.getArtifactId(),
+                                    e.toArtifact().getBaseVersion())
+                            : Arrays.asList(e.getGroupId(), e.getArtifactId()))
+                    .distinct()
+                    .map(this::toRecord)
+                    .collect(Collectors.toList());
+        } else {
+            hits = candidates.stream().filter(filter).map(this::toRecord).collect(Collectors.toList());
+        }
+
+        Paging paging = searchRequest.getPaging();
+        int from = Math.min(hits.size(), paging.getPageSize() * paging.getPageOffset());
+        int to = Math.min(hits.size(), from + paging.getPageSize());
+        List<Record> page = new ArrayList<>(hits.subList(from, to));
+        return new LocalIndexSearchResponse(searchRequest, hits.size(), page);
+    }
+
+    private void flatten(Query query, List<FieldQuery> fieldQueries, List<String> texts) {
+        if (query instanceof BooleanQuery.And) {
+            flatten(((BooleanQuery) query).getLeft(), fieldQueries, texts);
+            flatten(((BooleanQuery) query).getRight(), fieldQueries, texts);
+        } else if (query instanceof FieldQuery) {
+            fieldQueries.add((FieldQuery) query);
+        } else if (query instanceof BooleanQuery) {
+            throw new IllegalArgumentException("Unsupported boolean query for local index: " + query);
+        } else {
+            texts.add(query.getValue());
+        }
+    }
+
+    private Record toRecord(List<String> coordinates) {
+        HashMap<Field, Object> fields = new HashMap<>();
+        fields.put(MAVEN.GROUP_ID, coordinates.get(0));
+        fields.put(MAVEN.ARTIFACT_ID, coordinates.get(1));
+        if (coordinates.size() > 2) {
+            fields.put(MAVEN.VERSION, coordinates.get(2));
+        }
+        return new Record(
+                getBackendId(),
+                getRepositoryId(),
+                String.join(":", coordinates),
+                null,
+                Collections.unmodifiableMap(fields));
+    }
+
+    private Record toRecord(LocalIndex.Entry entry) {
+        HashMap<Field, Object> fields = new HashMap<>();
+        fields.put(MAVEN.GROUP_ID, entry.getGroupId());
+        fields.put(MAVEN.ARTIFACT_ID, entry.getArtifactId());
+        fields.put(MAVEN.VERSION, entry.getVersion());
+        if (!entry.getClassifier().isEmpty()) {
+            fields.put(MAVEN.CLASSIFIER, entry.getClassifier());
+        }
+        fields.put(MAVEN.FILE_EXTENSION, entry.getExtension());
+        fields.put(MAVEN.SHA1, entry.getSha1());
+        return new Record(
+                getBackendId(),
+                getRepositoryId(),
+                entry.toArtifact().toString(),
+                null,
+                Collections.unmodifiableMap(fields));
+    }
+
+    private static final class LocalIndexSearchResponse extends SearchResponseSupport {
+        private LocalIndexSearchResponse(SearchRequest searchRequest, int totalHits, List<Record> page) {
+            super(searchRequest, totalHits, page);
+        }
+    }
+}
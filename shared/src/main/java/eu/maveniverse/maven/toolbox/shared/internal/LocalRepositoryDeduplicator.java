@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Deduplicates artifact files across one or more local repositories (or split parts of them) by replacing identical
+ * files with hard links. Directories are walked in parallel, files are grouped by size first, and only files of same
+ * size are hashed (in parallel) and grouped by SHA-256. Only artifact files are linked: repository housekeeping files
+ * (see {@link ArtifactPaths#isHousekeeping(String)}), like {@code _remote.repositories} registrar files, checksums and
+ * metadata, are left intact, as they differ per repository and some of them are rewritten in place. Hidden
+ * directories (like {@code .locks} or {@code .toolbox}) and symbolic links (not followed) are skipped. Files that
+ * are already links of each other are recognized and are not counted as duplicates.
+ */
+public final class LocalRepositoryDeduplicator {
+    /**
+     * Result of deduplication.
+     */
+    public static final class Result {
+        private final long files;
+        private final long duplicates;
+        private final long reclaimedBytes;
+        private final long skipped;
+
+        private Result(long files, long duplicates, long reclaimedBytes, long skipped) {
+            this.files = files;
+            this.duplicates = duplicates;
+            this.reclaimedBytes = reclaimedBytes;
+            this.skipped = skipped;
+        }
+
+        /**
+         * The count of scanned artifact files.
+         */
+        public long getFiles() {
+            return files;
+        }
+
+        /**
+         * The count of duplicate files replaced by links (or would be replaced in dry run).
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * The size of duplicate files replaced by links (or would be replaced in dry run).
+         */
+        public long getReclaimedBytes() {
+            return reclaimedBytes;
+        }
+
+        /**
+         * The count of duplicates that could not be linked (like when residing on another file system).
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+    }
+
+    private static final class FileEntry {
+        private final Path path;
+        private final long size;
+        private final Object fileKey;
+
+        private FileEntry(Path path, long size, Object fileKey) {
+            this.path = path;
+            this.size = size;
+            this.fileKey = fileKey;
+        }
+    }
+
+    private final Output output;
+    private final List<Path> basedirs;
+    private final int parallelism;
+
+    public LocalRepositoryDeduplicator(Output output, Collection<Path> basedirs, int parallelism) {
+        this.output = requireNonNull(output, "output");
+        this.basedirs = basedirs.stream().map(Path::toAbsolutePath).collect(Collectors.toList());
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Deduplicates the repositories.
+     *
+     * @param dryRun If {@code true}, only reports what would be linked.
+     */
+    public Result dedupe(boolean dryRun) throws IOException {
+        for (Path basedir : basedirs) {
+            if (!Files.isDirectory(basedir)) {
+                throw new IllegalArgumentException("not a directory: " + basedir);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ConcurrentLinkedQueue<FileEntry> files = new ConcurrentLinkedQueue<>();
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(basedirs.stream()
+                            .map(d -> new DirectoryTask(d, files))
+                            .collect(Collectors.toList()));
+                }
+            });
+
+            // only files having same size may be duplicates; links of same file count once
+            Map<Long, List<FileEntry>> bySize = files.stream().collect(Collectors.groupingBy(f -> f.size));
+            List<List<FileEntry>> candidates = bySize.values().stream()
+                    .filter(l -> l.size() > 1 && l.get(0).size > 0)
+                    .map(l ->
+                            l.stream().sorted(Comparator.comparing(f -> f.path)).collect(Collectors.toList()))
+                    .filter(l -> l.stream().map(this::identity).distinct().count() > 1)
+                    .collect(Collectors.toList());
+
+            // each file identity is hashed once
+            Map<Object, String> hashes = pool.submit(() -> candidates.parallelStream()
+                            .flatMap(List::stream)
+                            .collect(Collectors.toMap(this::identity, f -> f, (a, b) -> a))
+                            .values()
+                            .parallelStream()
+                            .collect(Collectors.toMap(this::identity, this::sha256)))
+                    .get();
+
+            long duplicates = 0;
+            long reclaimedBytes = 0;
+            long skipped = 0;
+            for (List<FileEntry> sameSize : candidates) {
+                LinkedHashMap<String, List<FileEntry>> byHash = new LinkedHashMap<>();
+                for (FileEntry file : sameSize) {
+                    byHash.computeIfAbsent(hashes.get(identity(file)), k -> new ArrayList<>())
+                            .add(file);
+                }
+                for (List<FileEntry> same : byHash.values()) {
+                    // files being links of each other share identity; the most linked one is kept
+                    List<List<FileEntry>> identities = new ArrayList<>(same.stream()
+                            .collect(Collectors.groupingBy(this::identity, LinkedHashMap::new, Collectors.toList()))
+                            .values());
+                    if (identities.size() < 2) {
+                        continue;
+                    }
+                    identities.sort(Comparator.comparing(List::size, Comparator.reverseOrder()));
+                    FileEntry master = identities.get(0).get(0);
+                    for (List<FileEntry> links : identities.subList(1, identities.size())) {
+                        boolean linked = true;
+                        for (FileEntry duplicate : links) {
+                            linked &= link(master, duplicate, dryRun);
+                        }
+                        if (linked) {
+                            duplicates++;
+                            reclaimedBytes += master.size;
+                        } else {
+                            skipped++;
+                        }
+                    }
+                }
+            }
+            return new Result(files.size(), duplicates, reclaimedBytes, skipped);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Object identity(FileEntry file) {
+        return file.fileKey != null ? file.fileKey : file.path;
+    }
+
+    /**
+     * Atomically replaces duplicate with a hard link of master. Returns {@code false} if link is not possible.
+     */
+    private boolean link(FileEntry master, FileEntry duplicate, boolean dryRun) throws IOException {
+        output.verbose("{} {} -> {}", dryRun ? "Would link" : "Linking", duplicate.path, master.path);
+        if (dryRun) {
+            return Files.getFileStore(master.path).equals(Files.getFileStore(duplicate.path));
+        }
+        Path tmp = duplicate.path.resolveSibling(duplicate.path.getFileName() + ".dedupe.tmp");
+        try {
+            Files.deleteIfExists(tmp);
+            Files.createLink(tmp, master.path);
+            Files.move(tmp, duplicate.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            output.verbose("Could not link {}: {}", duplicate.path, e.getMessage());
+            return false;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String sha256(FileEntry file) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] buf = new byte[64 * 1024];
+            try (InputStream is = Files.newInputStream(file.path)) {
+                int read;
+                while ((read = is.read(buf)) != -1) {
+                    sha256.update(buf, 0, read);
+                }
+            }
+            return ChecksumUtils.toHexString(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class DirectoryTask extends RecursiveAction {
+        private final Path directory;
+        private final ConcurrentLinkedQueue<FileEntry> files;
+
+        private DirectoryTask(Path directory, ConcurrentLinkedQueue<FileEntry> files) {
+            this.directory = directory;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayList<DirectoryTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    String fileName = path.getFileName().toString();
+                    BasicFileAttributes attributes =
+                            Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isSymbolicLink()) {
+                        continue;
+                    } else if (attributes.isDirectory()) {
+                        if (!fileName.startsWith(".")) {
+                            subtasks.add(new DirectoryTask(path, files));
+                        }
+                    } else if (attributes.isRegularFile() && !ArtifactPaths.isHousekeeping(fileName)) {
+                        files.add(new FileEntry(path, attributes.size(), attributes.fileKey()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subtasks);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Ranks GAV directories of local repository by last access, for size budgeted LRU eviction. Last access of a GAV
+ * directory is the latest of access log record (see {@link AccessLog}) and last access time of its artifact files (as
+ * reported by filesystem, that may be coarse or not maintained at all, depending on mount options).
+ */
+public final class LocalRepositoryEvictor {
+    /**
+     * A GAV directory candidate for eviction.
+     */
+    public static final class Candidate {
+        private final String key;
+        private final Artifact artifact;
+        private final long bytes;
+        private final long lastAccess;
+
+        private Candidate(String key, Artifact artifact, long bytes, long lastAccess) {
+            this.key = key;
+            this.artifact = artifact;
+            this.bytes = bytes;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * The GAV directory, relative to local repository, as used in access log.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * One (any) artifact of GAV directory.
+         */
+        public Artifact getArtifact() {
+            return artifact;
+        }
+
+        /**
+         * The total size of artifacts in GAV directory.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * The last access, in epoch milliseconds.
+         */
+        public long getLastAccess() {
+            return lastAccess;
+        }
+    }
+
+    private final Path basedir;
+    private final int parallelism;
+    private final Map<String, Long> accessLog;
+
+    public LocalRepositoryEvictor(Path basedir, int parallelism, Map<String, Long> accessLog) {
+        this.basedir = requireNonNull(basedir, "basedir");
+        this.parallelism = parallelism;
+        this.accessLog = requireNonNull(accessLog, "accessLog");
+    }
+
+    /**
+     * Scans local repository and returns all GAV directories, least recently used first.
+     */
+    public List<Candidate> rank() throws IOException {
+        HashMap<Path, List<Artifact>> directories = new HashMap<>();
+        new LocalRepositoryScanner(basedir, parallelism).scan(a -> directories
+                .computeIfAbsent(a.getFile().toPath().getParent(), k -> new ArrayList<>())
+                .add(a));
+        try {
+            return directories.entrySet().parallelStream()
+                    .map(e -> {
+                        try {
+                            String key = AccessLog.key(basedir.relativize(e.getKey()));
+                            long bytes = 0;
+                            long lastAccess = accessLog.getOrDefault(key, 0L);
+                            for (Artifact artifact : e.getValue()) {
+                                BasicFileAttributes attributes =
+                                        Files.readAttributes(artifact.getFile().toPath(), BasicFileAttributes.class);
+                                bytes += attributes.size();
+                                lastAccess = Math.max(
+                                        lastAccess, attributes.lastAccessTime().toMillis());
+                            }
+                            return new Candidate(key, e.getValue().get(0), bytes, lastAccess);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    })
+                    .sorted(Comparator.comparingLong(Candidate::getLastAccess).thenComparing(Candidate::getKey))
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Selects least recently used candidates of ranked ones, that needs to be evicted to meet the size budget.
+     */
+    public static List<Candidate> select(List<Candidate> ranked, long budget) {
+        requireNonNull(ranked, "ranked");
+        long total = ranked.stream().mapToLong(Candidate::getBytes).sum();
+        int count = 0;
+        while (total > budget && count < ranked.size()) {
+            total -= ranked.get(count++).getBytes();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(ranked.subList(0, count)));
+    }
+
+    /**
+     * Parses size like {@code 1024}, {@code 500k}, {@code 10M} or {@code 2g} (binary units) into bytes.
+     */
+    public static long parseSize(String size) {
+        requireNonNull(size, "size");
+        String s = size.trim().toLowerCase(Locale.ENGLISH);
+        if (s.endsWith("b")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        long multiplier = 1;
+        if (!s.isEmpty()) {
+            switch (s.charAt(s.length() - 1)) {
+                case 'k':
+                    multiplier = 1L << 10;
+                    break;
+                case 'm':
+                    multiplier = 1L << 20;
+                    break;
+                case 'g':
+                    multiplier = 1L << 30;
+                    break;
+                case 't':
+                    multiplier = 1L << 40;
+                    break;
+                default:
+                    break;
+            }
+            if (multiplier != 1) {
+                s = s.substring(0, s.length() - 1);
+            }
+        }
+        try {
+            long value = Long.parseLong(s.trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative size: " + size);
+            }
+            return value * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + size, e);
+        }
+    }
+}
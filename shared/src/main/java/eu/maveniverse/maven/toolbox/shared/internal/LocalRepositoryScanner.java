@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Scanner of directory laid out as repository (like local repository is), that walks directory tree using fork/join,
+ * one task per directory. Files are parsed back into artifacts (with file set) by {@link ArtifactPaths}, and origin
+ * repositories of artifacts are read from {@code _remote.repositories} files written by enhanced local repository
+ * manager, and are set as {@link #ORIGIN} artifact property. Artifacts are streamed into sink as they are found,
+ * calls to sink are serialized.
+ */
+public final class LocalRepositoryScanner {
+    /**
+     * Artifact property carrying comma separated IDs of remote repositories artifact was cached from, as recorded in
+     * {@code _remote.repositories}. Locally installed artifacts have empty origin, while artifacts not tracked have no
+     * property set.
+     */
+    public static final String ORIGIN = "toolbox.origin";
+
+    private static final String REMOTE_REPOSITORIES = "_remote.repositories";
+
+    private final Path basedir;
+
+    private final int parallelism;
+
+    private final LongAdder directories;
+
+    private final LongAdder bytes;
+
+    public LocalRepositoryScanner(Path basedir, int parallelism) {
+        this.basedir = requireNonNull(basedir, "basedir");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.directories = new LongAdder();
+        this.bytes = new LongAdder();
+    }
+
+    /**
+     * Scans the directory and passes found artifacts to sink (sink is not closed). Returns the count of artifacts
+     * found.
+     */
+    public long scan(ArtifactSink sink) throws IOException {
+        requireNonNull(sink, "sink");
+        if (!Files.isDirectory(basedir)) {
+            throw new IllegalArgumentException("not a directory: " + basedir);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new DirectoryTask(basedir, sink));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * The count of scanned directories, valid after scan.
+     */
+    public long getDirectories() {
+        return directories.sum();
+    }
+
+    /**
+     * The total size of found artifacts in bytes, valid after scan.
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    private final class DirectoryTask extends RecursiveTask<Long> {
+        private final Path directory;
+        private final ArtifactSink sink;
+
+        private DirectoryTask(Path directory, ArtifactSink sink) {
+            this.directory = directory;
+            this.sink = sink;
+        }
+
+        @Override
+        protected Long compute() {
+            directories.increment();
+            ArrayList<DirectoryTask> subtasks = new ArrayList<>();
+            ArrayList<Path> files = new ArrayList<>();
+            boolean hasRemoteRepositories = false;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attributes =
+                            Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isSymbolicLink()) {
+                        continue;
+                    } else if (attributes.isDirectory()) {
+                        DirectoryTask subtask = new DirectoryTask(path, sink);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else if (attributes.isRegularFile()) {
+                        String fileName = path.getFileName().toString();
+                        if (REMOTE_REPOSITORIES.equals(fileName)) {
+                            hasRemoteRepositories = true;
+                        } else if (!ArtifactPaths.isHousekeeping(fileName)) {
+                            files.add(path);
+                        }
+                    }
+                }
+
+                long count = 0;
+                if (!files.isEmpty()) {
+                    Map<String, String> origins = hasRemoteRepositories
+                            ? readRemoteRepositories(directory.resolve(REMOTE_REPOSITORIES))
+                            : Collections.emptyMap();
+                    for (Path file : files) {
+                        Artifact artifact = ArtifactPaths.toArtifact(basedir, file);
+                        if (artifact != null) {
+                            String origin = origins.get(file.getFileName().toString());
+                            if (origin != null) {
+                                HashMap<String, String> properties = new HashMap<>(artifact.getProperties());
+                                properties.put(ORIGIN, origin);
+                                artifact = artifact.setProperties(properties);
+                            }
+                            bytes.add(Files.size(file));
+                            synchronized (sink) {
+                                sink.accept(artifact);
+                            }
+                            count++;
+                        }
+                    }
+                }
+                for (DirectoryTask subtask : subtasks) {
+                    count += subtask.join();
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reads {@code _remote.repositories} file, that has lines like {@code <file name>><repository id>=}, into map
+     * of file name to comma separated repository IDs.
+     */
+    static Map<String, String> readRemoteRepositories(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        }
+        HashMap<String, List<String>> origins = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int gt = key.indexOf('>');
+            if (gt > 0) {
+                List<String> repositories = origins.computeIfAbsent(key.substring(0, gt), k -> new ArrayList<>());
+                String repository = key.substring(gt + 1);
+                if (!repository.isEmpty()) {
+                    repositories.add(repository);
+                }
+            }
+        }
+        HashMap<String, String> result = new HashMap<>();
+        origins.forEach((k, v) -> {
+            Collections.sort(v);
+            result.put(k, String.join(",", v));
+        });
+        return result;
+    }
+}
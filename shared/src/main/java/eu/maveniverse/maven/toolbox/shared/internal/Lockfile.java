@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Lockfile: the exact resolved artifact set of a resolution root in given resolution scope, with SHA-1 and origin
+ * repository ID of each artifact. The file is line based: header lines start with {@code #}, and each artifact is
+ * one line of form {@code <groupId>:<artifactId>:<extension>[:<classifier>]:<version> <sha1> <repositoryId>}, in
+ * classpath order.
+ */
+public final class Lockfile {
+    private static final String HEADER = "# toolbox lockfile";
+
+    private static final String ROOT = "# root=";
+
+    private static final String SCOPE = "# scope=";
+
+    /**
+     * Locked artifact.
+     */
+    public static final class Entry {
+        private final Artifact artifact;
+        private final String sha1;
+        private final String repository;
+
+        public Entry(Artifact artifact, String sha1, String repository) {
+            this.artifact = requireNonNull(artifact, "artifact");
+            this.sha1 = requireNonNull(sha1, "sha1");
+            this.repository = requireNonNull(repository, "repository");
+        }
+
+        public Artifact getArtifact() {
+            return artifact;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+
+        public String getRepository() {
+            return repository;
+        }
+
+        @Override
+        public String toString() {
+            return artifact + " " + sha1 + " " + repository;
+        }
+    }
+
+    private final String root;
+    private final String scope;
+    private final List<Entry> entries;
+
+    public Lockfile(String root, String scope, List<Entry> entries) {
+        this.root = requireNonNull(root, "root");
+        this.scope = requireNonNull(scope, "scope");
+        this.entries = Collections.unmodifiableList(new ArrayList<>(requireNonNull(entries, "entries")));
+    }
+
+    /**
+     * Creates lockfile out of artifact results, calculating SHA-1 of resolved artifact files.
+     */
+    public static Lockfile of(String root, String scope, List<ArtifactResult> artifactResults) throws IOException {
+        requireNonNull(artifactResults, "artifactResults");
+        try {
+            return new Lockfile(
+                    root,
+                    scope,
+                    artifactResults.parallelStream()
+                            .map(r -> {
+                                try {
+                                    Artifact artifact = r.getArtifact();
+                                    return new Entry(
+                                            artifact,
+                                            sha1(artifact.getFile().toPath()),
+                                            r.getRepository() != null
+                                                    ? r.getRepository().getId()
+                                                    : "local");
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            })
+                            .collect(Collectors.toList()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The root this lockfile was created for.
+     */
+    public String getRoot() {
+        return root;
+    }
+
+    /**
+     * The resolution scope this lockfile was created for.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Reads lockfile.
+     */
+    public static Lockfile read(Path file) throws IOException {
+        requireNonNull(file, "file");
+        String root = null;
+        String scope = null;
+        ArrayList<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                throw new IllegalArgumentException("Not a lockfile: " + file);
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ROOT)) {
+                    root = line.substring(ROOT.length());
+                } else if (line.startsWith(SCOPE)) {
+                    scope = line.substring(SCOPE.length());
+                } else if (!line.isEmpty() && !line.startsWith("#")) {
+                    String[] parts = line.split(" ");
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("Invalid lockfile " + file + " line: " + line);
+                    }
+                    entries.add(new Entry(new DefaultArtifact(parts[0]), parts[1], parts[2]));
+                }
+            }
+        }
+        if (root == null || scope == null) {
+            throw new IllegalArgumentException("Invalid lockfile " + file + ": no root or scope");
+        }
+        return new Lockfile(root, scope, entries);
+    }
+
+    /**
+     * Writes lockfile. Write is atomic, file is replaced only if lockfile was fully written.
+     */
+    public void write(Path file) throws IOException {
+        requireNonNull(file, "file");
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER + "\n");
+                writer.write(ROOT + root + "\n");
+                writer.write(SCOPE + scope + "\n");
+                for (Entry entry : entries) {
+                    writer.write(entry + "\n");
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Calculates SHA-1 of given file.
+     */
+    public static String sha1(Path file) throws IOException {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] buf = new byte[8192];
+            try (InputStream is = Files.newInputStream(file)) {
+                int read;
+                while ((read = is.read(buf)) != -1) {
+                    sha1.update(buf, 0, read);
+                }
+            }
+            return ChecksumUtils.toHexString(sha1.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
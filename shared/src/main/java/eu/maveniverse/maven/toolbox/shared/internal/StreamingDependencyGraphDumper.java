@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Iterative dependency graph dumper, producing same output as {@link DependencyGraphDumper} but meant for huge graphs
+ * (like verbose trees of 50k+ nodes): it does not recurse, maintains indentation incrementally, reuses single line
+ * buffer and writes directly to {@link Writer}. Optionally, it limits the depth and count of dumped nodes, marking
+ * elided parts of the graph.
+ */
+public class StreamingDependencyGraphDumper {
+    /**
+     * Value for depth and node limits meaning "unlimited".
+     */
+    public static final int UNLIMITED = -1;
+
+    private interface Emitter {
+        void emit(StringBuilder line) throws IOException;
+
+        default void flush() throws IOException {}
+    }
+
+    private final Emitter emitter;
+
+    private final List<Function<DependencyNode, String>> decorators;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private final StringBuilder indentation = new StringBuilder(256);
+
+    /**
+     * Creates instance writing to given writer, with default decorators and no limits.
+     */
+    public StreamingDependencyGraphDumper(Writer writer) {
+        this(writer, DependencyGraphDumper.defaultsWith(Collections.emptyList()), UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Creates instance writing to given writer, lines terminated by {@code \n}.
+     *
+     * @param writer The writer, must not be {@code null}. It is flushed, but not closed, when dump is done.
+     * @param decorators The decorators to apply, must not be {@code null}.
+     * @param maxDepth The maximum depth to dump (root is at depth 0), or {@link #UNLIMITED}.
+     * @param maxNodes The maximum count of nodes to dump, or {@link #UNLIMITED}.
+     */
+    public StreamingDependencyGraphDumper(
+            Writer writer, Collection<Function<DependencyNode, String>> decorators, int maxDepth, int maxNodes) {
+        this(writerEmitter(requireNonNull(writer, "writer")), decorators, maxDepth, maxNodes);
+    }
+
+    /**
+     * Creates instance emitting lines to given consumer.
+     *
+     * @param consumer The line consumer, must not be {@code null}.
+     * @param decorators The decorators to apply, must not be {@code null}.
+     * @param maxDepth The maximum depth to dump (root is at depth 0), or {@link #UNLIMITED}.
+     * @param maxNodes The maximum count of nodes to dump, or {@link #UNLIMITED}.
+     */
+    public StreamingDependencyGraphDumper(
+            Consumer<String> consumer,
+            Collection<Function<DependencyNode, String>> decorators,
+            int maxDepth,
+            int maxNodes) {
+        this(consumerEmitter(requireNonNull(consumer, "consumer")), decorators, maxDepth, maxNodes);
+    }
+
+    private StreamingDependencyGraphDumper(
+            Emitter emitter, Collection<Function<DependencyNode, String>> decorators, int maxDepth, int maxNodes) {
+        this.emitter = emitter;
+        this.decorators = new ArrayList<>(requireNonNull(decorators, "decorators"));
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    private static Emitter writerEmitter(Writer writer) {
+        return new Emitter() {
+            private char[] chars = new char[256];
+
+            @Override
+            public void emit(StringBuilder line) throws IOException {
+                int length = line.length();
+                if (chars.length < length) {
+                    chars = new char[Math.max(length, chars.length * 2)];
+                }
+                line.getChars(0, length, chars, 0);
+                writer.write(chars, 0, length);
+                writer.write('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private static Emitter consumerEmitter(Consumer<String> consumer) {
+        return line -> consumer.accept(line.toString());
+    }
+
+    /**
+     * Dumps the graph rooted at given node, and returns the count of dumped nodes.
+     */
+    public int dump(DependencyNode root) throws IOException {
+        requireNonNull(root, "root");
+        DependencyNode[] nodes = new DependencyNode[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        int count = 1;
+        nodes[0] = root;
+        indentation.setLength(0);
+        emitNode("", root);
+
+        while (depth >= 0) {
+            DependencyNode node = nodes[depth];
+            List<DependencyNode> children = node.getChildren();
+            int index = nextChild[depth];
+            if (index < children.size() && (maxDepth < 0 || depth < maxDepth)) {
+                if (maxNodes >= 0 && count >= maxNodes) {
+                    line.setLength(0);
+                    line.append("... (truncated after ").append(count).append(" nodes)");
+                    emitter.emit(line);
+                    break;
+                }
+                nextChild[depth] = index + 1;
+                DependencyNode child = children.get(index);
+                boolean lastChild = children.get(children.size() - 1) == child;
+                emitNode(lastChild ? "\\- " : "+- ", child);
+                count++;
+
+                depth++;
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                nodes[depth] = child;
+                nextChild[depth] = 0;
+                indentation.append(lastChild ? "   " : "|  ");
+            } else {
+                if (index == 0 && !children.isEmpty()) {
+                    line.setLength(0);
+                    line.append(indentation)
+                            .append("\\- ... (")
+                            .append(children.size())
+                            .append(" children elided)");
+                    emitter.emit(line);
+                }
+                nodes[depth] = null;
+                depth--;
+                indentation.setLength(Math.max(0, depth * 3));
+            }
+        }
+        emitter.flush();
+        return count;
+    }
+
+    private void emitNode(String marker, DependencyNode node) throws IOException {
+        line.setLength(0);
+        line.append(indentation).append(marker).append(node.getArtifact());
+        for (Function<DependencyNode, String> decorator : decorators) {
+            String decoration = decorator.apply(node);
+            if (decoration != null) {
+                line.append(' ').append(decoration);
+            }
+        }
+        emitter.emit(line);
+    }
+}
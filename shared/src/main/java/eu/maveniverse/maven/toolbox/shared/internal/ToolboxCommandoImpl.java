@@ -7,12 +7,12 @@
  */
 package eu.maveniverse.maven.toolbox.shared.internal;
 
+import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.meteringArtifactSink;
 import static eu.maveniverse.maven.toolbox.shared.internal.ArtifactSinks.nonClosingArtifactSink;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.maven.search.api.request.BooleanQuery.and;
 import static org.apache.maven.search.api.request.FieldQuery.fieldQuery;
-import static org.apache.maven.search.api.request.Query.query;
 
 import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
@@ -25,31 +25,45 @@ import eu.maveniverse.maven.toolbox.shared.ArtifactMapper;
 import eu.maveniverse.maven.toolbox.shared.ArtifactMatcher;
 import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
 import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSource;
 import eu.maveniverse.maven.toolbox.shared.DependencyMatcher;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.ToolboxMetrics;
+import eu.maveniverse.maven.toolbox.shared.TransferStatistics;
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -58,7 +72,9 @@ import org.apache.maven.search.api.SearchBackend;
 import org.apache.maven.search.api.SearchRequest;
 import org.apache.maven.search.api.SearchResponse;
 import org.apache.maven.search.api.request.Query;
+import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectResult;
@@ -72,10 +88,12 @@ import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.DependencyResult;
 import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.artifact.SubArtifact;
 import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
 import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.eclipse.aether.util.version.GenericVersionScheme;
 import org.eclipse.aether.version.InvalidVersionSpecificationException;
 import org.eclipse.aether.version.VersionConstraint;
@@ -84,12 +102,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ToolboxCommandoImpl implements ToolboxCommando {
+    /**
+     * Configuration property to enable or disable classpath cache (default is enabled).
+     */
+    public static final String CONFIG_PROP_CLASSPATH_CACHE = "toolbox.classpathCache";
+
+    /**
+     * Configuration property to set the count of threads used for concurrent (mostly I/O bound) work, like processing
+     * multiple resolution roots (default is count of available processors, but at least 4).
+     */
+    public static final String CONFIG_PROP_PARALLELISM = "toolbox.parallelism";
+
+    /**
+     * Configuration property to enable or disable local repository access log, used by eviction to rank artifacts
+     * (default is disabled).
+     */
+    public static final String CONFIG_PROP_ACCESS_LOG = "toolbox.accessLog";
+
+    static int parallelism(RepositorySystemSession session) {
+        return ConfigUtils.getInteger(
+                session, Math.max(4, java.lang.Runtime.getRuntime().availableProcessors()), CONFIG_PROP_PARALLELISM);
+    }
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final Runtime runtime;
     private final Context context;
     private final ToolboxSearchApiImpl toolboxSearchApi;
     private final ArtifactRecorderImpl artifactRecorder;
+    private final TransferStatisticsImpl transferStatistics;
     private final ToolboxResolverImpl toolboxResolver;
+    private final ClasspathCache classpathCache;
+    private final ToolboxMetricsImpl metrics;
 
     private final Map<String, RemoteRepository> knownSearchRemoteRepositories;
 
@@ -98,12 +141,29 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         this.context = requireNonNull(context, "context");
         this.toolboxSearchApi = new ToolboxSearchApiImpl();
         this.artifactRecorder = new ArtifactRecorderImpl();
+        this.transferStatistics = new TransferStatisticsImpl();
+        this.metrics = new ToolboxMetricsImpl();
         DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(context.repositorySystemSession());
-        session.setRepositoryListener(
-                ChainedRepositoryListener.newInstance(session.getRepositoryListener(), artifactRecorder));
+        if (session.getCache() == null) {
+            // shared descriptor and graph caches across (concurrent) collections
+            session.setCache(new DefaultRepositoryCache());
+        }
+        if (ConfigUtils.getBoolean(session, false, CONFIG_PROP_ACCESS_LOG)) {
+            Path basedir = session.getLocalRepository().getBasedir().toPath();
+            session.setRepositoryListener(new ChainedRepositoryListener(
+                    session.getRepositoryListener(),
+                    artifactRecorder,
+                    transferStatistics,
+                    new AccessLog(basedir, AccessLog.defaultFile(basedir))));
+        } else {
+            session.setRepositoryListener(new ChainedRepositoryListener(
+                    session.getRepositoryListener(), artifactRecorder, transferStatistics));
+        }
+        session.setTransferListener(new ChainedTransferListener(session.getTransferListener(), transferStatistics));
         this.toolboxResolver =
-                new ToolboxResolverImpl(context.repositorySystem(), session, context.remoteRepositories());
+                new ToolboxResolverImpl(context.repositorySystem(), session, context.remoteRepositories(), metrics);
         this.knownSearchRemoteRepositories = Collections.unmodifiableMap(createKnownSearchRemoteRepositories());
+        this.classpathCache = new ClasspathCache(getDefaultClasspathCacheDirectory());
     }
 
     public Context getContext() {
@@ -114,6 +174,28 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return toolboxResolver;
     }
 
+    public ToolboxSearchApiImpl getToolboxSearchApi() {
+        return toolboxSearchApi;
+    }
+
+    public ArtifactRecorderImpl getArtifactRecorder() {
+        return artifactRecorder;
+    }
+
+    public ContentAddressableStore getContentAddressableStore() {
+        return new ContentAddressableStore(getDefaultContentAddressableStoreDirectory());
+    }
+
+    @Override
+    public ToolboxMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public TransferStatistics getTransferStatistics() {
+        return transferStatistics;
+    }
+
     protected Map<String, RemoteRepository> createKnownSearchRemoteRepositories() {
         Map<String, RemoteRepository> rr = new HashMap<>();
         rr.put(
@@ -142,6 +224,10 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         rr.put(
                 "apache-staging",
                 parseRemoteRepository("apache-staging::nx2::https://repository.apache.org/content/groups/staging/"));
+        rr.put(
+                "local",
+                parseRemoteRepository("local::" + ToolboxSearchApiImpl.LOCAL_INDEX_CONTENT_TYPE + "::"
+                        + getDefaultLocalIndexFile().toUri()));
         rr.put(
                 "apache-maven-staging",
                 parseRemoteRepository(
@@ -200,6 +286,22 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
             output.normal("          nonProxyHosts {}", proxy.getNonProxyHosts());
         }
 
+        Map<String, ToolboxMetrics.Phase> phases = metrics.getPhases();
+        if (!phases.isEmpty()) {
+            output.normal("");
+            output.normal("                METRICS");
+            for (ToolboxMetrics.Phase phase : phases.values()) {
+                output.normal(
+                        "  {} count {}, total {} ms (max {} ms), artifacts {}, bytes {}",
+                        String.format("%21s", phase.getName()),
+                        phase.getCount(),
+                        phase.getTotalNanos() / 1_000_000L,
+                        phase.getMaxNanos() / 1_000_000L,
+                        phase.getArtifacts(),
+                        humanReadableByteCountBin(phase.getBytes()));
+            }
+        }
+
         if (verbose) {
             output.verbose("");
             output.verbose("        USER PROPERTIES");
@@ -255,14 +357,106 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return ArtifactSinks.build(context.repositorySystemSession().getConfigProperties(), output, this, spec);
     }
 
+    @Override
+    public ArtifactSource artifactSource(Output output, String spec) throws IOException {
+        return ArtifactSources.build(context.repositorySystemSession().getConfigProperties(), output, this, spec);
+    }
+
     @Override
     public ResolutionRoot loadGav(String gav, Collection<String> boms) throws ArtifactDescriptorException {
         return toolboxResolver.loadGav(gav, boms);
     }
 
+    @Override
+    public boolean casGc(boolean dryRun, Output output) throws Exception {
+        ContentAddressableStore store = getContentAddressableStore();
+        ContentAddressableStore.GcResult result = store.gc(dryRun);
+        output.normal(
+                "{} {} of {} objects ({}) and {} stale references of store {}",
+                dryRun ? "Would remove" : "Removed",
+                result.getRemovedObjects(),
+                result.getObjects(),
+                humanReadableByteCountBin(result.getRemovedBytes()),
+                result.getRemovedRefs(),
+                store.getBasedir());
+        if (result.getCorruptedObjects() > 0) {
+            output.warn(
+                    "{} {} corrupted objects; files linked to them were modified in place",
+                    dryRun ? "Would remove" : "Removed",
+                    result.getCorruptedObjects());
+        }
+        return true;
+    }
+
     @Override
     public boolean classpath(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output)
             throws Exception {
+        List<File> classpath = classpathFiles(resolutionScope, resolutionRoot, output);
+        output.normal(
+                "{}", classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+        return !classpath.isEmpty();
+    }
+
+    @Override
+    public boolean classpath(ResolutionScope resolutionScope, Collection<ResolutionRoot> resolutionRoots, Output output)
+            throws Exception {
+        List<List<File>> classpaths = forEachRoot(resolutionRoots, r -> classpathFiles(resolutionScope, r, output));
+        boolean result = !classpaths.isEmpty();
+        int i = 0;
+        for (ResolutionRoot resolutionRoot : resolutionRoots) {
+            List<File> classpath = classpaths.get(i++);
+            output.normal(
+                    "{}: {}",
+                    resolutionRoot.getArtifact(),
+                    classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+            result = result && !classpath.isEmpty();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean classpath(
+            ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Path lockfile, Output output)
+            throws Exception {
+        List<File> classpath;
+        if (Files.isRegularFile(lockfile)) {
+            Lockfile locked = Lockfile.read(lockfile);
+            if (!locked.getRoot().equals(resolutionRoot.getArtifact().toString())
+                    || !locked.getScope().equals(resolutionScope.name())) {
+                throw new IllegalArgumentException("Lockfile " + lockfile + " was created for " + locked.getRoot()
+                        + " in scope " + locked.getScope());
+            }
+            output.verbose("Using lockfile {}", lockfile);
+            classpath = toolboxResolver.resolveLocked(locked).stream()
+                    .map(r -> r.getArtifact().getFile())
+                    .collect(Collectors.toList());
+        } else {
+            Lockfile locked = lockRoot(resolutionScope, resolutionRoot, output);
+            locked.write(lockfile);
+            output.verbose("Written lockfile {}", lockfile);
+            classpath = locked.getEntries().stream()
+                    .map(e -> e.getArtifact().getFile())
+                    .collect(Collectors.toList());
+        }
+        output.normal(
+                "{}", classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+        return !classpath.isEmpty();
+    }
+
+    private List<File> classpathFiles(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output)
+            throws Exception {
+        String cacheKey = null;
+        if (ConfigUtils.getBoolean(context.repositorySystemSession(), true, CONFIG_PROP_CLASSPATH_CACHE)) {
+            cacheKey = classpathCache.key(resolutionScope, resolutionRoot, toolboxResolver.getRemoteRepositories());
+        }
+        if (cacheKey != null) {
+            List<File> cached = classpathCache.get(cacheKey);
+            if (cached != null) {
+                output.verbose("Using cached classpath of {}", resolutionRoot.getArtifact());
+                return cached;
+            }
+        }
+
         output.verbose("Resolving {}", resolutionRoot.getArtifact());
         resolutionRoot = toolboxResolver.loadRoot(resolutionRoot);
         DependencyResult dependencyResult = toolboxResolver.resolve(
@@ -274,18 +468,75 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         PreorderNodeListGenerator nlg = new PreorderNodeListGenerator();
         dependencyResult.getRoot().accept(nlg);
         // TODO: Do not use PreorderNodeListGenerator#getClassPath() until MRESOLVER-483 is fixed/released
-        output.normal(
-                "{}",
-                nlg.getFiles().stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
-        return !nlg.getFiles().isEmpty();
+        if (cacheKey != null && classpathCache.isCacheable(dependencyResult.getRoot())) {
+            try {
+                classpathCache.put(cacheKey, nlg.getFiles());
+            } catch (IOException e) {
+                output.warn("Could not cache classpath of {}", resolutionRoot.getArtifact(), e);
+            }
+        }
+        return nlg.getFiles();
+    }
+
+    @FunctionalInterface
+    private interface RootTask<T> {
+        T apply(ResolutionRoot resolutionRoot) throws Exception;
+    }
+
+    /**
+     * Applies task to each root, concurrently if there are more roots, and returns results in order of roots.
+     */
+    private <T> List<T> forEachRoot(Collection<ResolutionRoot> resolutionRoots, RootTask<T> task) throws Exception {
+        int threads = Math.min(resolutionRoots.size(), parallelism(context.repositorySystemSession()));
+        ArrayList<T> result = new ArrayList<>(resolutionRoots.size());
+        if (threads < 2) {
+            for (ResolutionRoot resolutionRoot : resolutionRoots) {
+                result.add(task.apply(resolutionRoot));
+            }
+            return result;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayList<Future<T>> futures = new ArrayList<>(resolutionRoots.size());
+            for (ResolutionRoot resolutionRoot : resolutionRoots) {
+                futures.add(executor.submit(() -> task.apply(resolutionRoot)));
+            }
+            for (Future<T> future : futures) {
+                try {
+                    result.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<ArtifactResult> resolveRoot(
+            ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output) throws Exception {
+        output.verbose("Resolving {}", resolutionRoot.getArtifact());
+        resolutionRoot = toolboxResolver.loadRoot(resolutionRoot);
+        DependencyResult dependencyResult = toolboxResolver.resolve(
+                resolutionScope,
+                resolutionRoot.getArtifact(),
+                resolutionRoot.getDependencies(),
+                resolutionRoot.getManagedDependencies());
+        return resolutionRoot.isLoad()
+                ? dependencyResult.getArtifactResults()
+                : dependencyResult
+                        .getArtifactResults()
+                        .subList(1, dependencyResult.getArtifactResults().size() - 1);
     }
 
     @Override
     public boolean copy(Collection<Artifact> artifacts, ArtifactSink sink, Output output) throws Exception {
         output.verbose("Resolving {}", artifacts);
-        try (sink) {
+        try (ArtifactSink artifactSink = meteringArtifactSink(metrics, sink)) {
             List<ArtifactResult> resolveResult = toolboxResolver.resolveArtifacts(artifacts);
-            sink.accept(resolveResult.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList()));
+            artifactSink.accept(
+                    resolveResult.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList()));
             return !resolveResult.isEmpty();
         }
     }
@@ -297,40 +548,52 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
             ArtifactSink sink,
             Output output)
             throws Exception {
-        try (sink) {
-            ArrayList<ArtifactResult> artifactResults = new ArrayList<>();
-            for (ResolutionRoot resolutionRoot : resolutionRoots) {
-                output.verbose("Resolving {}", resolutionRoot.getArtifact());
-                resolutionRoot = toolboxResolver.loadRoot(resolutionRoot);
-                DependencyResult dependencyResult = toolboxResolver.resolve(
-                        resolutionScope,
-                        resolutionRoot.getArtifact(),
-                        resolutionRoot.getDependencies(),
-                        resolutionRoot.getManagedDependencies());
-                List<ArtifactResult> adjustedResults = resolutionRoot.isLoad()
-                        ? dependencyResult.getArtifactResults()
-                        : dependencyResult
-                                .getArtifactResults()
-                                .subList(
-                                        1, dependencyResult.getArtifactResults().size() - 1);
-                artifactResults.addAll(adjustedResults);
-            }
-            sink.accept(
-                    artifactResults.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList()));
-            return !artifactResults.isEmpty();
+        try (ArtifactSink artifactSink = meteringArtifactSink(metrics, sink)) {
+            // artifacts shared by multiple roots are passed to sink only once
+            LinkedHashSet<Artifact> artifacts = new LinkedHashSet<>();
+            for (List<ArtifactResult> artifactResults :
+                    forEachRoot(resolutionRoots, r -> resolveRoot(resolutionScope, r, output))) {
+                artifactResults.stream().map(ArtifactResult::getArtifact).forEach(artifacts::add);
+            }
+            artifactSink.accept(new ArrayList<>(artifacts));
+            return !artifacts.isEmpty();
         }
     }
 
     @Override
     public boolean copyAllRecorded(ArtifactSink sink, boolean stopRecording, Output output) throws Exception {
         artifactRecorder.setActive(!stopRecording);
-        try (sink) {
+        try (ArtifactSink artifactSink = meteringArtifactSink(metrics, sink)) {
             List<Artifact> artifacts = artifactRecorder.getAllArtifacts();
-            sink.accept(artifacts);
+            artifactSink.accept(artifacts);
             return !artifacts.isEmpty();
         }
     }
 
+    @Override
+    public boolean dedupe(Collection<Path> repositories, boolean dryRun, Output output) throws Exception {
+        if (repositories.isEmpty()) {
+            repositories = Collections.singletonList(context.repositorySystemSession()
+                    .getLocalRepository()
+                    .getBasedir()
+                    .toPath());
+        }
+        output.verbose("Deduplicating {}", repositories);
+        long start = System.nanoTime();
+        LocalRepositoryDeduplicator.Result result = new LocalRepositoryDeduplicator(
+                        output, repositories, parallelism(context.repositorySystemSession()))
+                .dedupe(dryRun);
+        output.normal(
+                "{} {} duplicates of {} files, reclaiming {} ({} could not be linked) in {} ms",
+                dryRun ? "Would link" : "Linked",
+                result.getDuplicates(),
+                result.getFiles(),
+                humanReadableByteCountBin(result.getReclaimedBytes()),
+                result.getSkipped(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
     @Override
     public boolean deploy(
             RemoteRepository remoteRepository, Supplier<Collection<Artifact>> artifactSupplier, Output output)
@@ -352,6 +615,65 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return deploy(remoteRepository, () -> new HashSet<>(artifactRecorder.getAllArtifacts()), output);
     }
 
+    @Override
+    public boolean evict(String budgetSpec, boolean dryRun, Output output) throws Exception {
+        long budget = LocalRepositoryEvictor.parseSize(budgetSpec);
+        Path basedir = context.repositorySystemSession()
+                .getLocalRepository()
+                .getBasedir()
+                .toPath();
+        Path accessLogFile = AccessLog.defaultFile(basedir);
+        Map<String, Long> accessLog = AccessLog.read(accessLogFile);
+        output.verbose("Ranking {} ({} access log records)", basedir, accessLog.size());
+        List<LocalRepositoryEvictor.Candidate> ranked =
+                new LocalRepositoryEvictor(basedir, parallelism(context.repositorySystemSession()), accessLog).rank();
+        List<LocalRepositoryEvictor.Candidate> evicted = LocalRepositoryEvictor.select(ranked, budget);
+        long total = ranked.stream()
+                .mapToLong(LocalRepositoryEvictor.Candidate::getBytes)
+                .sum();
+        long evictedBytes = evicted.stream()
+                .mapToLong(LocalRepositoryEvictor.Candidate::getBytes)
+                .sum();
+        for (LocalRepositoryEvictor.Candidate candidate : evicted) {
+            output.verbose(
+                    "{} {} ({}, last access {})",
+                    dryRun ? "Would evict" : "Evicting",
+                    candidate.getKey(),
+                    humanReadableByteCountBin(candidate.getBytes()),
+                    Instant.ofEpochMilli(candidate.getLastAccess()));
+        }
+        if (!dryRun && !evicted.isEmpty()) {
+            try (PurgingSink sink = PurgingSink.purging(
+                    output,
+                    PurgingSink.Mode.WHOLE,
+                    true,
+                    toolboxResolver.getRepositorySystem(),
+                    toolboxResolver.getSession(),
+                    toolboxResolver.getRemoteRepositories())) {
+                for (LocalRepositoryEvictor.Candidate candidate : evicted) {
+                    sink.accept(candidate.getArtifact());
+                }
+            }
+            if (!accessLog.isEmpty()) {
+                AccessLog.compact(
+                        accessLogFile,
+                        basedir,
+                        evicted.stream()
+                                .map(LocalRepositoryEvictor.Candidate::getKey)
+                                .collect(Collectors.toSet()));
+            }
+        }
+        output.normal(
+                "{} {} of {} GAVs ({} of {}) to meet budget {}",
+                dryRun ? "Would evict" : "Evicted",
+                evicted.size(),
+                ranked.size(),
+                humanReadableByteCountBin(evictedBytes),
+                humanReadableByteCountBin(total),
+                humanReadableByteCountBin(budget));
+        return !evicted.isEmpty();
+    }
+
     @Override
     public boolean install(Supplier<Collection<Artifact>> artifactSupplier, Output output) throws Exception {
         Collection<Artifact> artifacts = artifactSupplier.get();
@@ -363,6 +685,28 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return !artifacts.isEmpty();
     }
 
+    @Override
+    public boolean lock(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Path lockfile, Output output)
+            throws Exception {
+        Lockfile locked = lockRoot(resolutionScope, resolutionRoot, output);
+        locked.write(lockfile);
+        output.normal("Locked {} artifacts of {} into {}", locked.getEntries().size(), locked.getRoot(), lockfile);
+        return !locked.getEntries().isEmpty();
+    }
+
+    private Lockfile lockRoot(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output)
+            throws Exception {
+        output.verbose("Resolving {}", resolutionRoot.getArtifact());
+        String root = resolutionRoot.getArtifact().toString();
+        resolutionRoot = toolboxResolver.loadRoot(resolutionRoot);
+        DependencyResult dependencyResult = toolboxResolver.resolve(
+                resolutionScope,
+                resolutionRoot.getArtifact(),
+                resolutionRoot.getDependencies(),
+                resolutionRoot.getManagedDependencies());
+        return Lockfile.of(root, resolutionScope.name(), dependencyResult.getArtifactResults());
+    }
+
     @Override
     public boolean listRepositories(ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, Output output)
             throws Exception {
@@ -425,6 +769,26 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return !plugins.isEmpty();
     }
 
+    @Override
+    public boolean pipe(ArtifactSource source, ArtifactSink sink, Output output) throws Exception {
+        long count = 0;
+        try (ArtifactSource artifactSource = source;
+                ArtifactSink artifactSink = meteringArtifactSink(metrics, sink)) {
+            try {
+                Artifact artifact;
+                while ((artifact = artifactSource.next()) != null) {
+                    artifactSink.accept(artifact);
+                    count++;
+                }
+            } catch (Exception e) {
+                artifactSink.cleanup(e);
+                throw e;
+            }
+        }
+        output.normal("Piped {} artifacts", count);
+        return count > 0;
+    }
+
     @Override
     public boolean recordStart(Output output) {
         output.normal("Starting recorder...");
@@ -441,6 +805,44 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return true;
     }
 
+    @Override
+    public boolean transferStats(boolean clear, Output output) {
+        Map<String, TransferStatistics.RepositoryStatistics> statistics = transferStatistics.getStatistics();
+        if (statistics.isEmpty()) {
+            output.normal("No transfers so far");
+        }
+        for (TransferStatistics.RepositoryStatistics repository : statistics.values()) {
+            if (repository.getRepositoryUrl() != null) {
+                output.normal("{} ({})", repository.getRepositoryId(), repository.getRepositoryUrl());
+            } else {
+                output.normal("{}", repository.getRepositoryId());
+            }
+            if (TransferStatistics.LOCAL.equals(repository.getRepositoryId())) {
+                output.normal("  Cache hits {}", repository.getCacheHits());
+            } else {
+                output.normal(
+                        "  Downloads {} ({}), not found {}, failures {}",
+                        repository.getDownloads(),
+                        humanReadableByteCountBin(repository.getBytes()),
+                        repository.getNotFound(),
+                        repository.getFailures());
+                output.normal("  Cache misses {}", repository.getCacheMisses());
+                if (repository.getDownloads() > 0) {
+                    output.normal(
+                            "  Latency p50 {} ms, p90 {} ms, p99 {} ms, max {} ms",
+                            repository.getLatencyPercentile(0.5),
+                            repository.getLatencyPercentile(0.9),
+                            repository.getLatencyPercentile(0.99),
+                            repository.getLatencyPercentile(1));
+                }
+            }
+        }
+        if (clear) {
+            transferStatistics.clear();
+        }
+        return true;
+    }
+
     @Override
     public boolean recordStop(Output output) {
         output.verbose("Stopping recorder...");
@@ -451,6 +853,37 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return result;
     }
 
+    @Override
+    public boolean scan(Path repository, ArtifactSink sink, Output output) throws Exception {
+        if (repository == null) {
+            repository = context.repositorySystemSession()
+                    .getLocalRepository()
+                    .getBasedir()
+                    .toPath();
+        }
+        output.verbose("Scanning {}", repository);
+        LocalRepositoryScanner scanner =
+                new LocalRepositoryScanner(repository, parallelism(context.repositorySystemSession()));
+        long start = System.nanoTime();
+        long count;
+        try (ArtifactSink artifactSink = meteringArtifactSink(metrics, sink)) {
+            try {
+                count = scanner.scan(artifactSink);
+            } catch (Exception e) {
+                artifactSink.cleanup(e);
+                throw e;
+            }
+        }
+        output.normal(
+                "Scanned {} artifacts ({}) in {} directories of {} in {} ms",
+                count,
+                humanReadableByteCountBin(scanner.getBytes()),
+                scanner.getDirectories(),
+                repository,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return count > 0;
+    }
+
     @Override
     public boolean resolve(
             Collection<Artifact> artifacts,
@@ -465,7 +898,10 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         ArtifactSinks.SizingArtifactSink sizingArtifactSink = ArtifactSinks.sizingArtifactSink(output);
         ArtifactSinks.CountingArtifactSink countingArtifactSink = ArtifactSinks.countingArtifactSink(output);
         try (ArtifactSink artifactSink = ArtifactSinks.teeArtifactSink(
-                sink, moduleDescriptorExtractingSink, sizingArtifactSink, countingArtifactSink)) {
+                meteringArtifactSink(metrics, sink),
+                moduleDescriptorExtractingSink,
+                sizingArtifactSink,
+                countingArtifactSink)) {
             List<ArtifactResult> artifactResults = toolboxResolver.resolveArtifacts(artifacts);
             artifactSink.accept(
                     artifactResults.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList()));
@@ -514,22 +950,11 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
             throws Exception {
         ArtifactSinks.CountingArtifactSink totalCount = ArtifactSinks.countingArtifactSink(output);
         ArtifactSinks.SizingArtifactSink totalSize = ArtifactSinks.sizingArtifactSink(output);
-        try (ArtifactSink artifactSink = ArtifactSinks.teeArtifactSink(sink, totalSize, totalCount)) {
-            for (ResolutionRoot resolutionRoot : resolutionRoots) {
-                output.verbose("Resolving {}", resolutionRoot.getArtifact());
-                resolutionRoot = toolboxResolver.loadRoot(resolutionRoot);
-                DependencyResult dependencyResult = toolboxResolver.resolve(
-                        resolutionScope,
-                        resolutionRoot.getArtifact(),
-                        resolutionRoot.getDependencies(),
-                        resolutionRoot.getManagedDependencies());
-                List<ArtifactResult> adjustedResults = resolutionRoot.isLoad()
-                        ? dependencyResult.getArtifactResults()
-                        : dependencyResult
-                                .getArtifactResults()
-                                .subList(
-                                        1, dependencyResult.getArtifactResults().size() - 1);
-
+        try (ArtifactSink artifactSink =
+                ArtifactSinks.teeArtifactSink(meteringArtifactSink(metrics, sink), totalSize, totalCount)) {
+            List<List<ArtifactResult>> rootResults =
+                    forEachRoot(resolutionRoots, r -> resolveRoot(resolutionScope, r, output));
+            for (List<ArtifactResult> adjustedResults : rootResults) {
                 ModuleDescriptorExtractingSink moduleNameSource = new ModuleDescriptorExtractingSink(output);
                 ArtifactSinks.CountingArtifactSink subCount = ArtifactSinks.countingArtifactSink(output);
                 ArtifactSinks.SizingArtifactSink subSize = ArtifactSinks.sizingArtifactSink(output);
@@ -581,7 +1006,15 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
 
     @Override
     public boolean tree(
-            ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, boolean verbose, Output output) {
+            ResolutionScope resolutionScope,
+            ResolutionRoot resolutionRoot,
+            boolean verbose,
+            int maxDepth,
+            int maxNodes,
+            TreeFormat format,
+            Path outputFile,
+            Output output) {
+        requireNonNull(format, "format");
         try {
             output.verbose("Loading root of: {}", resolutionRoot.getArtifact());
             ResolutionRoot root = toolboxResolver.loadRoot(resolutionRoot);
@@ -592,13 +1025,142 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
                     root.getDependencies(),
                     root.getManagedDependencies(),
                     verbose);
-            collectResult.getRoot().accept(new DependencyGraphDumper(output::normal));
+            if (outputFile != null) {
+                if (outputFile.getParent() != null) {
+                    Files.createDirectories(outputFile.getParent());
+                }
+                try (Writer writer = Files.newBufferedWriter(outputFile)) {
+                    int count = writeTree(collectResult.getRoot(), maxDepth, maxNodes, format, writer);
+                    output.normal("Written {} nodes to {}", count, outputFile);
+                }
+            } else if (format == TreeFormat.TEXT) {
+                new StreamingDependencyGraphDumper(
+                                output::normal,
+                                DependencyGraphDumper.defaultsWith(Collections.emptyList()),
+                                maxDepth,
+                                maxNodes)
+                        .dump(collectResult.getRoot());
+            } else {
+                try (Writer writer = new LineConsumerWriter(output::normal)) {
+                    writeTree(collectResult.getRoot(), maxDepth, maxNodes, format, writer);
+                }
+            }
             return true;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Override
+    public boolean tree(
+            ResolutionScope resolutionScope,
+            Collection<ResolutionRoot> resolutionRoots,
+            boolean verbose,
+            int maxDepth,
+            int maxNodes,
+            Output output)
+            throws Exception {
+        List<DependencyNode> roots =
+                forEachRoot(resolutionRoots, r -> collectRoot(resolutionScope, r, verbose, output));
+        StreamingDependencyGraphDumper dumper = new StreamingDependencyGraphDumper(
+                output::normal, DependencyGraphDumper.defaultsWith(Collections.emptyList()), maxDepth, maxNodes);
+        for (DependencyNode root : roots) {
+            dumper.dump(root);
+        }
+        return !roots.isEmpty();
+    }
+
+    @Override
+    public boolean treeDiff(
+            ResolutionScope resolutionScope, ResolutionRoot leftRoot, ResolutionRoot rightRoot, Output output)
+            throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // right graph is collected in background while left is being collected
+            Future<Map<String, DependencyGraphDiff.Entry>> rightFuture = executor.submit(
+                    () -> DependencyGraphDiff.index(collectRoot(resolutionScope, rightRoot, false, output)));
+            Map<String, DependencyGraphDiff.Entry> leftIndex =
+                    DependencyGraphDiff.index(collectRoot(resolutionScope, leftRoot, false, output));
+            Map<String, DependencyGraphDiff.Entry> rightIndex;
+            try {
+                rightIndex = rightFuture.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            List<DependencyGraphDiff.Change> changes = DependencyGraphDiff.diff(leftIndex, rightIndex);
+
+            output.normal(
+                    "Diff of {} ({} nodes) vs {} ({} nodes)",
+                    leftRoot.getArtifact(),
+                    leftIndex.size(),
+                    rightRoot.getArtifact(),
+                    rightIndex.size());
+            EnumMap<DependencyGraphDiff.Kind, Integer> counts = new EnumMap<>(DependencyGraphDiff.Kind.class);
+            for (DependencyGraphDiff.Change change : changes) {
+                counts.merge(change.getKind(), 1, Integer::sum);
+                switch (change.getKind()) {
+                    case ADDED:
+                        output.normal("+ {}", change.getRight());
+                        break;
+                    case REMOVED:
+                        output.normal("- {}", change.getLeft());
+                        break;
+                    case VERSION_CHANGED:
+                        output.normal(
+                                "~ {} {} -> {}",
+                                change.getKey(),
+                                change.getLeft().getArtifact().getVersion(),
+                                change.getRight().getArtifact().getVersion());
+                        break;
+                    case SCOPE_CHANGED:
+                        output.normal(
+                                "! {} [{}] -> [{}]",
+                                change.getKey(),
+                                change.getLeft().getScope(),
+                                change.getRight().getScope());
+                        break;
+                }
+            }
+            output.normal("====================");
+            output.normal(
+                    "{} added, {} removed, {} version changed, {} scope changed",
+                    counts.getOrDefault(DependencyGraphDiff.Kind.ADDED, 0),
+                    counts.getOrDefault(DependencyGraphDiff.Kind.REMOVED, 0),
+                    counts.getOrDefault(DependencyGraphDiff.Kind.VERSION_CHANGED, 0),
+                    counts.getOrDefault(DependencyGraphDiff.Kind.SCOPE_CHANGED, 0));
+            return true;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DependencyNode collectRoot(
+            ResolutionScope resolutionScope, ResolutionRoot resolutionRoot, boolean verbose, Output output)
+            throws Exception {
+        output.verbose("Loading root of: {}", resolutionRoot.getArtifact());
+        ResolutionRoot root = toolboxResolver.loadRoot(resolutionRoot);
+        output.verbose("Collecting graph of: {}", resolutionRoot.getArtifact());
+        return toolboxResolver
+                .collect(
+                        resolutionScope,
+                        root.getArtifact(),
+                        root.getDependencies(),
+                        root.getManagedDependencies(),
+                        verbose)
+                .getRoot();
+    }
+
+    private static int writeTree(DependencyNode root, int maxDepth, int maxNodes, TreeFormat format, Writer writer)
+            throws IOException {
+        if (format == TreeFormat.TEXT) {
+            return new StreamingDependencyGraphDumper(
+                            writer, DependencyGraphDumper.defaultsWith(Collections.emptyList()), maxDepth, maxNodes)
+                    .dump(root);
+        } else {
+            return DependencyGraphWriter.of(format, writer, maxDepth, maxNodes).write(root);
+        }
+    }
+
     @Override
     public Map<String, RemoteRepository> getKnownSearchRemoteRepositories() {
         return knownSearchRemoteRepositories;
@@ -714,6 +1276,39 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
         return true;
     }
 
+    @Override
+    public boolean indexLocal(Path repository, Path indexFile, Output output) throws IOException {
+        if (repository == null) {
+            repository = context.repositorySystemSession()
+                    .getLocalRepository()
+                    .getBasedir()
+                    .toPath();
+        }
+        if (indexFile == null) {
+            indexFile = getDefaultLocalIndexFile();
+        }
+        if (!Files.isDirectory(repository)) {
+            throw new IllegalArgumentException("Repository to index must be an existing directory: " + repository);
+        }
+        output.verbose("Indexing repository {}", repository);
+        List<LocalIndex.Entry> entries = LocalIndex.scan(repository);
+        LocalIndex.write(indexFile, entries);
+        output.normal("Indexed {} artifacts of {} into {}", entries.size(), repository, indexFile);
+        return !entries.isEmpty();
+    }
+
+    protected Path getDefaultLocalIndexFile() {
+        return context.mavenUserHome().basedir().resolve("toolbox").resolve("local-index.bin");
+    }
+
+    protected Path getDefaultClasspathCacheDirectory() {
+        return context.mavenUserHome().basedir().resolve("toolbox").resolve("classpath-cache");
+    }
+
+    protected Path getDefaultContentAddressableStoreDirectory() {
+        return context.mavenUserHome().basedir().resolve("toolbox").resolve("cas");
+    }
+
     @Override
     public boolean list(RemoteRepository remoteRepository, String gavoid, Output output) throws IOException {
         try (SearchBackend backend = toolboxSearchApi.getRemoteRepositoryBackend(remoteRepository)) {
@@ -759,13 +1354,7 @@ public class ToolboxCommandoImpl implements ToolboxCommando {
     @Override
     public boolean search(RemoteRepository remoteRepository, String expression, Output output) throws IOException {
         try (SearchBackend backend = toolboxSearchApi.getSmoBackend(remoteRepository)) {
-            Query query;
-            try {
-                query = toolboxSearchApi.toSmoQuery(new DefaultArtifact(expression));
-            } catch (IllegalArgumentException e) {
-                query = query(expression);
-            }
-            SearchRequest searchRequest = new SearchRequest(query);
+            SearchRequest searchRequest = new SearchRequest(toolboxSearchApi.toSmoQuery(expression));
             SearchResponse searchResponse = backend.search(searchRequest);
 
             toolboxSearchApi.renderPage(searchResponse.getPage(), null, output);
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.ToolboxMetrics;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Thread safe {@link ToolboxMetrics} implementation.
+ */
+public class ToolboxMetricsImpl implements ToolboxMetrics {
+    private final ConcurrentHashMap<String, PhaseImpl> phases = new ConcurrentHashMap<>();
+
+    /**
+     * Records one execution of phase, that started at {@code startNanos} (as returned by {@link System#nanoTime()})
+     * and just ended.
+     */
+    public void record(String phase, long startNanos, long artifacts, long bytes) {
+        requireNonNull(phase, "phase");
+        long elapsed = System.nanoTime() - startNanos;
+        PhaseImpl impl = phases.computeIfAbsent(phase, PhaseImpl::new);
+        impl.count.increment();
+        impl.totalNanos.add(elapsed);
+        impl.maxNanos.accumulate(elapsed);
+        impl.artifacts.add(artifacts);
+        impl.bytes.add(bytes);
+    }
+
+    /**
+     * Returns the sum of sizes of artifact files, for artifacts that have files.
+     */
+    public static long bytes(Collection<Artifact> artifacts) {
+        long bytes = 0;
+        for (Artifact artifact : artifacts) {
+            bytes += bytes(artifact);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the size of artifact file, or 0 if artifact has no file.
+     */
+    public static long bytes(Artifact artifact) {
+        File file = artifact.getFile();
+        return file != null ? file.length() : 0;
+    }
+
+    @Override
+    public Map<String, Phase> getPhases() {
+        TreeMap<String, Phase> result = new TreeMap<>();
+        phases.forEach((k, v) -> result.put(k, v.snapshot()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public void clear() {
+        phases.clear();
+    }
+
+    @Override
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Phase phase : getPhases().values()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append("\n  \"")
+                    .append(phase.getName())
+                    .append("\": {\"count\": ")
+                    .append(phase.getCount())
+                    .append(", \"totalNanos\": ")
+                    .append(phase.getTotalNanos())
+                    .append(", \"maxNanos\": ")
+                    .append(phase.getMaxNanos())
+                    .append(", \"artifacts\": ")
+                    .append(phase.getArtifacts())
+                    .append(", \"bytes\": ")
+                    .append(phase.getBytes())
+                    .append('}');
+        }
+        return sb.append(first ? "}" : "\n}").toString();
+    }
+
+    private static final class PhaseImpl {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder artifacts = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private PhaseImpl(String name) {
+            this.name = name;
+        }
+
+        private Phase snapshot() {
+            return new PhaseSnapshot(name, count.sum(), totalNanos.sum(), maxNanos.get(), artifacts.sum(), bytes.sum());
+        }
+    }
+
+    private static final class PhaseSnapshot implements Phase {
+        private final String name;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long artifacts;
+        private final long bytes;
+
+        private PhaseSnapshot(String name, long count, long totalNanos, long maxNanos, long artifacts, long bytes) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.artifacts = artifacts;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public long getArtifacts() {
+            return artifacts;
+        }
+
+        @Override
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
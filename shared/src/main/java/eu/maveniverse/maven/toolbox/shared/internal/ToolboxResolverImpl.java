@@ -11,6 +11,12 @@ import static java.util.Objects.requireNonNull;
 
 import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import eu.maveniverse.maven.toolbox.shared.ToolboxMetrics;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.CollectEvent;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.ResolveArtifactsEvent;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.ResolveEvent;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.RootLoadEvent;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -18,6 +24,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.eclipse.aether.DefaultRepositorySystemSession;
@@ -32,6 +43,7 @@ import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
 import org.eclipse.aether.metadata.DefaultMetadata;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
@@ -49,29 +61,44 @@ import org.eclipse.aether.resolution.MetadataResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.artifact.JavaScopes;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
 import org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy;
 import org.eclipse.aether.version.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ToolboxResolverImpl {
+    /**
+     * Configuration property to set version range cache TTL in milliseconds, non-positive value disables the cache
+     * (default is one minute).
+     */
+    public static final String CONFIG_PROP_VERSION_RANGE_CACHE_TTL = "toolbox.versionRangeCacheTtl";
+
     private static final String CTX_TOOLBOX = "toolbox";
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final RepositorySystem repositorySystem;
     private final RepositorySystemSession session;
     private final List<RemoteRepository> remoteRepositories;
+    private final ToolboxMetricsImpl metrics;
+    private final VersionRangeCache versionRangeCache;
 
     public ToolboxResolverImpl(
             RepositorySystem repositorySystem,
             RepositorySystemSession session,
-            List<RemoteRepository> remoteRepositories) {
+            List<RemoteRepository> remoteRepositories,
+            ToolboxMetricsImpl metrics) {
         this.repositorySystem = requireNonNull(repositorySystem, "repositorySystem");
         this.session = requireNonNull(session, "session");
         this.remoteRepositories = requireNonNull(remoteRepositories, "remoteRepositories");
+        this.metrics = requireNonNull(metrics, "metrics");
+        this.versionRangeCache = new VersionRangeCache(
+                ConfigUtils.getLong(session, TimeUnit.MINUTES.toMillis(1), CONFIG_PROP_VERSION_RANGE_CACHE_TTL));
     }
 
     public RepositorySystem getRepositorySystem() {
@@ -164,7 +191,16 @@ public class ToolboxResolverImpl {
             return resolutionRoot;
         }
         if (resolutionRoot.isLoad()) {
+            long start = System.nanoTime();
+            RootLoadEvent event = new RootLoadEvent();
+            event.begin();
             ArtifactDescriptorResult artifactDescriptorResult = readArtifactDescriptor(resolutionRoot.getArtifact());
+            event.end();
+            metrics.record(ToolboxMetrics.LOAD_ROOT, start, 1, 0);
+            if (event.shouldCommit()) {
+                event.artifact = resolutionRoot.getArtifact().toString();
+                event.commit();
+            }
             resolutionRoot = ResolutionRoot.ofLoaded(resolutionRoot.getArtifact())
                     .withDependencies(
                             mergeDeps(resolutionRoot.getDependencies(), artifactDescriptorResult.getDependencies()))
@@ -198,6 +234,23 @@ public class ToolboxResolverImpl {
         return result;
     }
 
+    private static long countNodes(DependencyNode root) {
+        long[] count = {0};
+        root.accept(new TreeDependencyVisitor(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                count[0]++;
+                return true;
+            }
+
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return true;
+            }
+        }));
+        return count[0];
+    }
+
     private static String getId(Artifact a) {
         return a.getGroupId() + ':' + a.getArtifactId() + ':' + a.getClassifier() + ':' + a.getExtension();
     }
@@ -275,7 +328,19 @@ public class ToolboxResolverImpl {
         collectRequest.setTrace(RequestTrace.newChild(null, collectRequest));
 
         logger.debug("Collecting {}", collectRequest);
+        long start = System.nanoTime();
+        CollectEvent event = new CollectEvent();
+        event.begin();
         CollectResult result = repositorySystem.collectDependencies(session, collectRequest);
+        event.end();
+        long nodes = countNodes(result.getRoot());
+        metrics.record(ToolboxMetrics.COLLECT, start, nodes, 0);
+        if (event.shouldCommit()) {
+            event.root = root.toString();
+            event.scope = resolutionScope.name();
+            event.nodes = nodes;
+            event.commit();
+        }
         if (!verbose && resolutionScope != ResolutionScope.TEST) {
             ArrayList<DependencyNode> childrenToRemove = new ArrayList<>();
             for (DependencyNode node : result.getRoot().getChildren()) {
@@ -324,15 +389,31 @@ public class ToolboxResolverImpl {
                 new DependencyRequest(collectRequest, resolutionScope.getDependencyFilter());
 
         logger.debug("Resolving {}", dependencyRequest);
+        long start = System.nanoTime();
+        ResolveEvent event = new ResolveEvent();
+        event.begin();
         DependencyResult result = repositorySystem.resolveDependencies(session, dependencyRequest);
         try {
             ArtifactResult rootResult =
-                    resolveArtifacts(Collections.singletonList(root)).get(0);
+                    doResolveArtifacts(Collections.singletonList(root)).get(0);
 
             DefaultDependencyNode newRoot = new DefaultDependencyNode(new Dependency(rootResult.getArtifact(), ""));
             newRoot.setChildren(result.getRoot().getChildren());
             result.setRoot(newRoot);
             result.getArtifactResults().add(0, rootResult);
+            List<Artifact> artifacts = result.getArtifactResults().stream()
+                    .map(ArtifactResult::getArtifact)
+                    .collect(Collectors.toList());
+            long bytes = ToolboxMetricsImpl.bytes(artifacts);
+            event.end();
+            metrics.record(ToolboxMetrics.RESOLVE, start, artifacts.size(), bytes);
+            if (event.shouldCommit()) {
+                event.root = root.toString();
+                event.scope = resolutionScope.name();
+                event.artifacts = artifacts.size();
+                event.bytes = bytes;
+                event.commit();
+            }
             return result;
         } catch (ArtifactResolutionException e) {
             throw new DependencyResolutionException(result, e);
@@ -342,11 +423,80 @@ public class ToolboxResolverImpl {
     public List<ArtifactResult> resolveArtifacts(Collection<Artifact> artifacts) throws ArtifactResolutionException {
         requireNonNull(artifacts);
 
+        long start = System.nanoTime();
+        ResolveArtifactsEvent event = new ResolveArtifactsEvent();
+        event.begin();
+        List<ArtifactResult> result = doResolveArtifacts(artifacts);
+        event.end();
+        List<Artifact> resolved =
+                result.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList());
+        long bytes = ToolboxMetricsImpl.bytes(resolved);
+        metrics.record(ToolboxMetrics.RESOLVE_ARTIFACTS, start, resolved.size(), bytes);
+        if (event.shouldCommit()) {
+            event.requested = artifacts.size();
+            event.artifacts = resolved.size();
+            event.bytes = bytes;
+            event.commit();
+        }
+        return result;
+    }
+
+    private List<ArtifactResult> doResolveArtifacts(Collection<Artifact> artifacts) throws ArtifactResolutionException {
         List<ArtifactRequest> artifactRequests = new ArrayList<>();
         artifacts.forEach(a -> artifactRequests.add(new ArtifactRequest(a, remoteRepositories, null)));
         return repositorySystem.resolveArtifacts(session, artifactRequests);
     }
 
+    /**
+     * Resolves artifacts locked in lockfile, without collecting dependencies: all artifacts are resolved in one batch,
+     * each of them from its origin repository (or all remote repositories, if origin repository is not known), and
+     * the SHA-1 of each resolved file is verified against the lockfile.
+     */
+    public List<ArtifactResult> resolveLocked(Lockfile lockfile) throws ArtifactResolutionException, IOException {
+        requireNonNull(lockfile);
+
+        long start = System.nanoTime();
+        ResolveArtifactsEvent event = new ResolveArtifactsEvent();
+        event.begin();
+        List<ArtifactRequest> artifactRequests =
+                new ArrayList<>(lockfile.getEntries().size());
+        for (Lockfile.Entry entry : lockfile.getEntries()) {
+            List<RemoteRepository> origin = remoteRepositories.stream()
+                    .filter(r -> r.getId().equals(entry.getRepository()))
+                    .collect(Collectors.toList());
+            ArtifactRequest artifactRequest =
+                    new ArtifactRequest(entry.getArtifact(), origin.isEmpty() ? remoteRepositories : origin, null);
+            artifactRequest.setRequestContext(CTX_TOOLBOX);
+            artifactRequests.add(artifactRequest);
+        }
+        List<ArtifactResult> result = repositorySystem.resolveArtifacts(session, artifactRequests);
+        boolean failed = false;
+        for (int i = 0; i < result.size(); i++) {
+            ArtifactResult artifactResult = result.get(i);
+            String expected = lockfile.getEntries().get(i).getSha1();
+            String actual = Lockfile.sha1(artifactResult.getArtifact().getFile().toPath());
+            if (!expected.equalsIgnoreCase(actual)) {
+                artifactResult.addException(new ChecksumFailureException(expected, "SHA-1", actual));
+                failed = true;
+            }
+        }
+        if (failed) {
+            throw new ArtifactResolutionException(result, "Checksum verification of locked artifacts failed");
+        }
+        event.end();
+        List<Artifact> resolved =
+                result.stream().map(ArtifactResult::getArtifact).collect(Collectors.toList());
+        long bytes = ToolboxMetricsImpl.bytes(resolved);
+        metrics.record(ToolboxMetrics.RESOLVE_ARTIFACTS, start, resolved.size(), bytes);
+        if (event.shouldCommit()) {
+            event.requested = artifactRequests.size();
+            event.artifacts = resolved.size();
+            event.bytes = bytes;
+            event.commit();
+        }
+        return result;
+    }
+
     public Version findNewestVersion(Artifact artifact, boolean allowSnapshots) throws VersionRangeResolutionException {
         VersionRangeRequest rangeRequest = new VersionRangeRequest();
         rangeRequest.setArtifact(new DefaultArtifact(
@@ -357,9 +507,9 @@ public class ToolboxResolverImpl {
                 "[0,)"));
         rangeRequest.setRepositories(remoteRepositories);
         rangeRequest.setRequestContext(CTX_TOOLBOX);
-        VersionRangeResult result = repositorySystem.resolveVersionRange(session, rangeRequest);
+        VersionRangeResult result = versionRangeCache.resolveVersionRange(repositorySystem, session, rangeRequest);
         Version highest = result.getHighestVersion();
-        if (allowSnapshots || !highest.toString().endsWith("SNAPSHOT")) {
+        if (highest == null || allowSnapshots || !highest.toString().endsWith("SNAPSHOT")) {
             return highest;
         } else {
             for (int idx = result.getVersions().size() - 1; idx >= 0; idx--) {
@@ -388,7 +538,7 @@ public class ToolboxResolverImpl {
         }
 
         HashSet<String> processedGAs = new HashSet<>();
-        ArrayList<Artifact> result = new ArrayList<>();
+        ArrayList<Artifact> blueprints = new ArrayList<>();
         List<MetadataResult> results = repositorySystem.resolveMetadata(session, requests);
         for (MetadataResult res : results) {
             org.eclipse.aether.metadata.Metadata metadata = res.getMetadata();
@@ -403,21 +553,42 @@ public class ToolboxResolverImpl {
                             pluginGroupMetadata.getPlugins();
                     for (org.apache.maven.artifact.repository.metadata.Plugin plugin : plugins) {
                         if (processedGAs.add(metadata.getGroupId() + ":" + plugin.getArtifactId())) {
-                            Artifact blueprint =
-                                    new DefaultArtifact(metadata.getGroupId(), plugin.getArtifactId(), "jar", "0");
-                            Version newestVersion = findNewestVersion(blueprint, false);
-                            if (newestVersion != null) {
-                                result.add(new DefaultArtifact(
-                                        blueprint.getGroupId(),
-                                        blueprint.getArtifactId(),
-                                        blueprint.getExtension(),
-                                        newestVersion.toString()));
-                            }
+                            blueprints.add(
+                                    new DefaultArtifact(metadata.getGroupId(), plugin.getArtifactId(), "jar", "0"));
                         }
                     }
                 }
             }
         }
-        return result;
+
+        // newest versions are looked up concurrently, as each is a round-trip to every remote repository
+        int threads = Math.max(1, Math.min(blueprints.size(), ToolboxCommandoImpl.parallelism(session)));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayList<Future<Version>> newestVersions = new ArrayList<>(blueprints.size());
+            for (Artifact blueprint : blueprints) {
+                newestVersions.add(executor.submit(() -> findNewestVersion(blueprint, false)));
+            }
+            ArrayList<Artifact> result = new ArrayList<>();
+            for (int i = 0; i < blueprints.size(); i++) {
+                Version newestVersion;
+                try {
+                    newestVersion = newestVersions.get(i).get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+                if (newestVersion != null) {
+                    Artifact blueprint = blueprints.get(i);
+                    result.add(new DefaultArtifact(
+                            blueprint.getGroupId(),
+                            blueprint.getArtifactId(),
+                            blueprint.getExtension(),
+                            newestVersion.toString()));
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
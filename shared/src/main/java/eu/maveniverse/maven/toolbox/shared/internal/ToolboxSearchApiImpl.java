@@ -9,10 +9,16 @@ package eu.maveniverse.maven.toolbox.shared.internal;
 
 import static org.apache.maven.search.api.request.BooleanQuery.and;
 import static org.apache.maven.search.api.request.FieldQuery.fieldQuery;
+import static org.apache.maven.search.api.request.Query.query;
 
 import eu.maveniverse.maven.mima.context.ContextOverrides;
 import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.internal.jfr.RecordingSearchBackend;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,16 +36,25 @@ import org.apache.maven.search.backend.remoterepository.extractor.MavenCentralRe
 import org.apache.maven.search.backend.remoterepository.extractor.Nx2ResponseExtractor;
 import org.apache.maven.search.backend.smo.SmoSearchBackendFactory;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ToolboxSearchApiImpl {
+    /**
+     * The content type of search remote repositories backed by {@link LocalIndex}.
+     */
+    public static final String LOCAL_INDEX_CONTENT_TYPE = "local";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     public ToolboxSearchApiImpl() {}
 
-    public SearchBackend getRemoteRepositoryBackend(RemoteRepository remoteRepository) {
+    public SearchBackend getRemoteRepositoryBackend(RemoteRepository remoteRepository) throws IOException {
+        if (LOCAL_INDEX_CONTENT_TYPE.equals(remoteRepository.getContentType())) {
+            return getLocalIndexBackend(remoteRepository);
+        }
         final ResponseExtractor extractor;
         if ("central".equals(remoteRepository.getContentType())) {
             extractor = new MavenCentralResponseExtractor();
@@ -48,23 +63,41 @@ public class ToolboxSearchApiImpl {
         } else {
             throw new IllegalArgumentException("Unsupported extractor");
         }
-        return RemoteRepositorySearchBackendFactory.create(
+        return new RecordingSearchBackend(RemoteRepositorySearchBackendFactory.create(
                 remoteRepository.getId() + "-rr",
                 remoteRepository.getId(),
                 remoteRepository.getUrl(),
                 new Java11HttpClientTransport(),
-                extractor);
+                extractor));
     }
 
-    public SearchBackend getSmoBackend(RemoteRepository remoteRepository) {
+    public SearchBackend getSmoBackend(RemoteRepository remoteRepository) throws IOException {
+        if (LOCAL_INDEX_CONTENT_TYPE.equals(remoteRepository.getContentType())) {
+            return getLocalIndexBackend(remoteRepository);
+        }
         if (!ContextOverrides.CENTRAL.getId().equals(remoteRepository.getId())) {
             throw new IllegalArgumentException("The SMO service is offered for Central only");
         }
-        return SmoSearchBackendFactory.create(
+        return new RecordingSearchBackend(SmoSearchBackendFactory.create(
                 remoteRepository.getId() + "-smo",
                 remoteRepository.getId(),
                 "https://search.maven.org/solrsearch/select",
-                new Java11HttpClientTransport());
+                new Java11HttpClientTransport()));
+    }
+
+    /**
+     * Returns backend over {@link LocalIndex}, where passed in remote repository URL points to the index file.
+     */
+    public SearchBackend getLocalIndexBackend(RemoteRepository remoteRepository) throws IOException {
+        if (!LOCAL_INDEX_CONTENT_TYPE.equals(remoteRepository.getContentType())) {
+            throw new IllegalArgumentException("Not a local index repository");
+        }
+        Path indexFile = Paths.get(URI.create(remoteRepository.getUrl()));
+        if (!Files.isRegularFile(indexFile)) {
+            throw new IllegalArgumentException("Local index does not exist, build it first: " + indexFile);
+        }
+        return new RecordingSearchBackend(new LocalIndexSearchBackend(
+                remoteRepository.getId() + "-local", remoteRepository.getId(), LocalIndex.load(indexFile)));
     }
 
     public void renderPage(List<Record> page, Predicate<String> versionPredicate, Output output) {
@@ -139,6 +172,41 @@ public class ToolboxSearchApiImpl {
         return and(result, fieldQuery(MAVEN.FILE_EXTENSION, artifact.getExtension()));
     }
 
+    /**
+     * Parses search expression: if expression is artifact coordinates, it is turned into field query, otherwise it
+     * is used as free text query.
+     */
+    public Query toSmoQuery(String expression) {
+        try {
+            return toSmoQuery(new DefaultArtifact(expression));
+        } catch (IllegalArgumentException e) {
+            return query(expression);
+        }
+    }
+
+    /**
+     * Converts search record into artifact, or returns {@code null} if record is not version level one. Extension is
+     * taken from record, if present, otherwise {@code pom} packaging maps to {@code pom} and everything else to
+     * {@code jar}.
+     */
+    public Artifact toArtifact(Record record) {
+        if (!record.hasField(MAVEN.ARTIFACT_ID) || !record.hasField(MAVEN.VERSION)) {
+            return null;
+        }
+        String extension;
+        if (record.hasField(MAVEN.FILE_EXTENSION)) {
+            extension = record.getValue(MAVEN.FILE_EXTENSION);
+        } else {
+            extension = "pom".equals(record.getValue(MAVEN.PACKAGING)) ? "pom" : "jar";
+        }
+        return new DefaultArtifact(
+                record.getValue(MAVEN.GROUP_ID),
+                record.getValue(MAVEN.ARTIFACT_ID),
+                record.hasField(MAVEN.CLASSIFIER) ? record.getValue(MAVEN.CLASSIFIER) : "",
+                extension,
+                record.getValue(MAVEN.VERSION));
+    }
+
     public Query toSmoQuery(Artifact artifact) {
         Query result = null;
         if (!"*".equals(artifact.getGroupId())) {
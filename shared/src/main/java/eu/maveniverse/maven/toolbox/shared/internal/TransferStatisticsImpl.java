@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import eu.maveniverse.maven.toolbox.shared.TransferStatistics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * {@link TransferStatistics} implementation, that is both, a repository listener (for cache hits and misses) and a
+ * transfer listener (for downloads). Uploads are not accounted for.
+ */
+public class TransferStatisticsImpl extends AbstractRepositoryListener implements TransferListener, TransferStatistics {
+    private final ConcurrentHashMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final Set<Artifact> downloaded = ConcurrentHashMap.newKeySet();
+
+    private Statistics statistics(String repositoryId, String repositoryUrl) {
+        return statistics.computeIfAbsent(repositoryId, k -> new Statistics(repositoryId, repositoryUrl));
+    }
+
+    private Statistics statistics(TransferEvent event) {
+        return statistics(
+                event.getResource().getRepositoryId(), event.getResource().getRepositoryUrl());
+    }
+
+    private static boolean isDownload(TransferEvent event) {
+        return event.getRequestType() == TransferEvent.RequestType.GET;
+    }
+
+    @Override
+    public void artifactDownloaded(RepositoryEvent event) {
+        if (event.getException() == null && event.getRepository() instanceof RemoteRepository) {
+            downloaded.add(event.getArtifact());
+        }
+    }
+
+    @Override
+    public void artifactResolved(RepositoryEvent event) {
+        if (event.getException() == null && event.getArtifact() != null) {
+            // artifacts present locally still report origin remote repository, hence the downloaded set
+            if (downloaded.remove(event.getArtifact()) && event.getRepository() instanceof RemoteRepository) {
+                RemoteRepository repository = (RemoteRepository) event.getRepository();
+                statistics(repository.getId(), repository.getUrl()).cacheMisses.increment();
+            } else {
+                statistics(LOCAL, null).cacheHits.increment();
+            }
+        }
+    }
+
+    @Override
+    public void transferInitiated(TransferEvent event) {}
+
+    @Override
+    public void transferStarted(TransferEvent event) {}
+
+    @Override
+    public void transferProgressed(TransferEvent event) {}
+
+    @Override
+    public void transferCorrupted(TransferEvent event) {}
+
+    @Override
+    public void transferSucceeded(TransferEvent event) {
+        if (isDownload(event)) {
+            Statistics s = statistics(event);
+            s.downloads.increment();
+            s.bytes.add(event.getTransferredBytes());
+            s.addLatency(System.currentTimeMillis() - event.getResource().getTransferStartTime());
+        }
+    }
+
+    @Override
+    public void transferFailed(TransferEvent event) {
+        if (isDownload(event)) {
+            if (event.getException() instanceof ArtifactNotFoundException
+                    || event.getException() instanceof MetadataNotFoundException) {
+                statistics(event).notFound.increment();
+            } else {
+                statistics(event).failures.increment();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, RepositoryStatistics> getStatistics() {
+        TreeMap<String, RepositoryStatistics> result = new TreeMap<>();
+        statistics.forEach((k, v) -> result.put(k, v.snapshot()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public void clear() {
+        statistics.clear();
+        downloaded.clear();
+    }
+
+    private static final class Statistics {
+        private final String repositoryId;
+        private final String repositoryUrl;
+        private final LongAdder downloads = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder notFound = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final List<Long> latencies = new ArrayList<>();
+
+        private Statistics(String repositoryId, String repositoryUrl) {
+            this.repositoryId = repositoryId;
+            this.repositoryUrl = repositoryUrl;
+        }
+
+        private synchronized void addLatency(long latency) {
+            latencies.add(latency);
+        }
+
+        private synchronized RepositoryStatistics snapshot() {
+            ArrayList<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new StatisticsSnapshot(
+                    repositoryId,
+                    repositoryUrl,
+                    downloads.sum(),
+                    bytes.sum(),
+                    notFound.sum(),
+                    failures.sum(),
+                    cacheHits.sum(),
+                    cacheMisses.sum(),
+                    sorted);
+        }
+    }
+
+    private static final class StatisticsSnapshot implements RepositoryStatistics {
+        private final String repositoryId;
+        private final String repositoryUrl;
+        private final long downloads;
+        private final long bytes;
+        private final long notFound;
+        private final long failures;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final List<Long> sortedLatencies;
+
+        private StatisticsSnapshot(
+                String repositoryId,
+                String repositoryUrl,
+                long downloads,
+                long bytes,
+                long notFound,
+                long failures,
+                long cacheHits,
+                long cacheMisses,
+                List<Long> sortedLatencies) {
+            this.repositoryId = repositoryId;
+            this.repositoryUrl = repositoryUrl;
+            this.downloads = downloads;
+            this.bytes = bytes;
+            this.notFound = notFound;
+            this.failures = failures;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        @Override
+        public String getRepositoryId() {
+            return repositoryId;
+        }
+
+        @Override
+        public String getRepositoryUrl() {
+            return repositoryUrl;
+        }
+
+        @Override
+        public long getDownloads() {
+            return downloads;
+        }
+
+        @Override
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public long getNotFound() {
+            return notFound;
+        }
+
+        @Override
+        public long getFailures() {
+            return failures;
+        }
+
+        @Override
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        @Override
+        public long getCacheMisses() {
+            return cacheMisses;
+        }
+
+        @Override
+        public long getLatencyPercentile(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1");
+            }
+            if (sortedLatencies.isEmpty()) {
+                return -1;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(Math.max(0, index));
+        }
+    }
+}
@@ -154,8 +154,10 @@ public final class UnpackSink implements ArtifactSink {
                 case "tar.gz": {
                     untar(
                             target,
-                            new GzipCompressorInputStream(new BufferedInputStream(
-                                    Files.newInputStream(artifact.getFile().toPath()))));
+                            new GzipCompressorInputStream(
+                                    new BufferedInputStream(Files.newInputStream(
+                                            artifact.getFile().toPath())),
+                                    true));
                     break;
                 }
                 case "tar.bz2": {
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static eu.maveniverse.maven.toolbox.shared.internal.ToolboxCommandoImpl.humanReadableByteCountBin;
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Sink that verifies accepted artifacts against checksum files laid next to them (as in local or staged
+ * repositories). Artifacts are hashed on a pool of workers while accepting continues; the count of artifacts being
+ * verified is bounded, so accepting blocks when workers are behind. Sink reports mismatches and missing checksums as
+ * they are found, and a summary on close, when it also fails if any mismatch was found.
+ */
+public final class VerifyingSink implements ArtifactSink {
+    /**
+     * The verified checksums, as map of checksum file extension to JCA digest algorithm name.
+     */
+    public static final Map<String, String> CHECKSUMS;
+
+    static {
+        LinkedHashMap<String, String> checksums = new LinkedHashMap<>();
+        checksums.put("sha1", "SHA-1");
+        checksums.put("sha256", "SHA-256");
+        checksums.put("sha512", "SHA-512");
+        CHECKSUMS = Collections.unmodifiableMap(checksums);
+    }
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Creates verifying sink using given count of workers.
+     */
+    public static VerifyingSink verifying(Output output, int parallelism) {
+        return new VerifyingSink(output, parallelism);
+    }
+
+    private final Output output;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final ThreadLocal<ByteBuffer> buffers;
+    private final LongAdder verified;
+    private final LongAdder bytes;
+    private final LongAdder mismatched;
+    private final LongAdder missing;
+    private final AtomicReference<IOException> failure;
+    private final long start;
+
+    private VerifyingSink(Output output, int parallelism) {
+        this.output = requireNonNull(output, "output");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        this.inFlight = new Semaphore(parallelism * 4);
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+        this.verified = new LongAdder();
+        this.bytes = new LongAdder();
+        this.mismatched = new LongAdder();
+        this.missing = new LongAdder();
+        this.failure = new AtomicReference<>();
+        this.start = System.nanoTime();
+    }
+
+    @Override
+    public void accept(Artifact artifact) throws IOException {
+        requireNonNull(artifact, "artifact");
+        if (artifact.getFile() == null) {
+            output.warn("Not resolved {}", artifact);
+            missing.increment();
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        executor.execute(() -> {
+            try {
+                verify(artifact, artifact.getFile().toPath());
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            } catch (Exception e) {
+                failure.compareAndSet(null, new IOException("Failed to verify " + artifact, e));
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void verify(Artifact artifact, Path file) throws IOException {
+        LinkedHashMap<String, String> expected = new LinkedHashMap<>();
+        LinkedHashMap<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (Map.Entry<String, String> checksum : CHECKSUMS.entrySet()) {
+            Path checksumFile = file.getParent().resolve(file.getFileName() + "." + checksum.getKey());
+            if (Files.isRegularFile(checksumFile)) {
+                expected.put(checksum.getKey(), readChecksum(checksumFile));
+                try {
+                    digests.put(checksum.getKey(), MessageDigest.getInstance(checksum.getValue()));
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        if (digests.isEmpty()) {
+            output.warn("Missing checksums {}", artifact);
+            missing.increment();
+            return;
+        }
+
+        ByteBuffer buffer = buffers.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                bytes.add(buffer.remaining());
+                for (MessageDigest digest : digests.values()) {
+                    buffer.mark();
+                    digest.update(buffer);
+                    buffer.reset();
+                }
+                buffer.clear();
+            }
+        }
+
+        boolean ok = true;
+        for (Map.Entry<String, MessageDigest> digest : digests.entrySet()) {
+            String actual = ChecksumUtils.toHexString(digest.getValue().digest());
+            String expectedValue = expected.get(digest.getKey());
+            if (!actual.equals(expectedValue.toLowerCase(Locale.ENGLISH))) {
+                output.error(
+                        "Checksum mismatch {} ({}): expected {}, actual {}",
+                        artifact,
+                        digest.getKey(),
+                        expectedValue,
+                        actual);
+                ok = false;
+            }
+        }
+        if (ok) {
+            output.verbose("Verified {}", artifact);
+        } else {
+            mismatched.increment();
+        }
+        verified.increment();
+    }
+
+    /**
+     * Reads checksum file: the checksum is the first token of it, optionally followed by file name.
+     */
+    private static String readChecksum(Path checksumFile) throws IOException {
+        String value = new String(Files.readAllBytes(checksumFile), StandardCharsets.US_ASCII).trim();
+        return value.split("\\s+", 2)[0];
+    }
+
+    /**
+     * The count of verified artifacts (having at least one checksum), valid after close.
+     */
+    public long getVerified() {
+        return verified.sum();
+    }
+
+    /**
+     * The count of artifacts having at least one checksum mismatch, valid after close.
+     */
+    public long getMismatched() {
+        return mismatched.sum();
+    }
+
+    /**
+     * The count of artifacts having no file or no checksum files, valid after close.
+     */
+    public long getMissing() {
+        return missing.sum();
+    }
+
+    @Override
+    public void cleanup(Exception e) {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // wait for all in-flight verifications
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        output.normal(
+                "  Verified {} artifacts ({}) in {} ms ({}/s); {} mismatched, {} missing checksums",
+                verified.sum(),
+                humanReadableByteCountBin(bytes.sum()),
+                millis,
+                humanReadableByteCountBin(bytes.sum() * 1000 / millis),
+                mismatched.sum(),
+                missing.sum());
+        if (mismatched.sum() > 0) {
+            throw new IOException("Checksum verification failed for " + mismatched.sum() + " artifacts");
+        }
+    }
+}
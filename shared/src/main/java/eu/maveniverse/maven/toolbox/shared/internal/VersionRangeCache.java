@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+/**
+ * Short-lived cache of version range resolution results, keyed by artifact, range and repositories. Entries expire
+ * after TTL, so results are reused within one "session" (like repeated commands in shell or batch), while not going
+ * stale. Failures are not cached.
+ */
+public final class VersionRangeCache {
+    private static final class Entry {
+        private final VersionRangeResult result;
+        private final long expiresAt;
+
+        private Entry(VersionRangeResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    /**
+     * Creates cache with given TTL in milliseconds; zero or negative TTL disables caching.
+     */
+    public VersionRangeCache(long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+    }
+
+    /**
+     * Returns cached result for request, or resolves it using given system and session.
+     */
+    public VersionRangeResult resolveVersionRange(
+            RepositorySystem repositorySystem, RepositorySystemSession session, VersionRangeRequest request)
+            throws VersionRangeResolutionException {
+        requireNonNull(repositorySystem, "repositorySystem");
+        requireNonNull(request, "request");
+        if (ttlNanos == 0) {
+            return repositorySystem.resolveVersionRange(session, request);
+        }
+        String key = key(request);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return entry.result;
+        }
+        VersionRangeResult result = repositorySystem.resolveVersionRange(session, request);
+        entries.put(key, new Entry(result, now + ttlNanos));
+        return result;
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    static String key(VersionRangeRequest request) {
+        return request.getArtifact().getGroupId() + ":" + request.getArtifact().getArtifactId() + ":"
+                + request.getArtifact().getExtension() + ":"
+                + request.getArtifact().getClassifier() + ":"
+                + request.getArtifact().getVersion() + "@"
+                + request.getRepositories().stream()
+                        .map(r -> r.getId() + "=" + r.getUrl())
+                        .collect(Collectors.joining(","));
+    }
+}
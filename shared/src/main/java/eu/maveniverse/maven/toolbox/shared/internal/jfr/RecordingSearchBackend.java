@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import org.apache.maven.search.api.SearchBackend;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+
+/**
+ * Search backend decorator that emits {@link SearchEvent} for each search call.
+ */
+public final class RecordingSearchBackend implements SearchBackend {
+    private final SearchBackend delegate;
+
+    public RecordingSearchBackend(SearchBackend delegate) {
+        this.delegate = requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public String getBackendId() {
+        return delegate.getBackendId();
+    }
+
+    @Override
+    public String getRepositoryId() {
+        return delegate.getRepositoryId();
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest) throws IOException {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        SearchResponse response = delegate.search(searchRequest);
+        event.end();
+        if (event.shouldCommit()) {
+            event.backend = delegate.getBackendId();
+            event.repository = delegate.getRepositoryId();
+            event.request = searchRequest.toString();
+            event.totalHits = response.getTotalHits();
+            event.currentHits = response.getCurrentHits();
+            event.commit();
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
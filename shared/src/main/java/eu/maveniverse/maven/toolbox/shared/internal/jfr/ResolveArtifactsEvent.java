@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Resolution of artifacts.
+ */
+@Name("eu.maveniverse.toolbox.ResolveArtifacts")
+@Label("Resolve Artifacts")
+@Description("Resolution of artifacts")
+public final class ResolveArtifactsEvent extends ToolboxEvent {
+    @Label("Requested")
+    public long requested;
+
+    @Label("Artifacts")
+    public long artifacts;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Dependency graph resolution (collection and artifact resolution).
+ */
+@Name("eu.maveniverse.toolbox.Resolve")
+@Label("Resolve")
+@Description("Dependency graph resolution")
+public final class ResolveEvent extends ToolboxEvent {
+    @Label("Root")
+    public String root;
+
+    @Label("Resolution Scope")
+    public String scope;
+
+    @Label("Artifacts")
+    public long artifacts;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
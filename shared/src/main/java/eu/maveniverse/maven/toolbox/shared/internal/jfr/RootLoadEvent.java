@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Loading of resolution root (reading its artifact descriptor).
+ */
+@Name("eu.maveniverse.toolbox.RootLoad")
+@Label("Root Load")
+@Description("Loading of resolution root artifact descriptor")
+public final class RootLoadEvent extends ToolboxEvent {
+    @Label("Artifact")
+    public String artifact;
+}
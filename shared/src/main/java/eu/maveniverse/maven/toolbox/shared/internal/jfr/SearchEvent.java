@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Search backend call.
+ */
+@Name("eu.maveniverse.toolbox.Search")
+@Label("Search")
+@Description("Search backend call")
+public final class SearchEvent extends ToolboxEvent {
+    @Label("Backend")
+    public String backend;
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Request")
+    public String request;
+
+    @Label("Total Hits")
+    public int totalHits;
+
+    @Label("Current Hits")
+    public int currentHits;
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Artifact sink accepting an artifact.
+ */
+@Name("eu.maveniverse.toolbox.SinkAccept")
+@Label("Sink Accept")
+@Description("Artifact sink accepting artifacts")
+public final class SinkAcceptEvent extends ToolboxEvent {
+    @Label("Sink")
+    public String sink;
+
+    @Label("Artifact")
+    @Description("The accepted artifact")
+    public String artifact;
+
+    @Label("Artifacts")
+    public long artifacts;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Artifact sink closing.
+ */
+@Name("eu.maveniverse.toolbox.SinkClose")
+@Label("Sink Close")
+@Description("Artifact sink closing")
+public final class SinkCloseEvent extends ToolboxEvent {
+    @Label("Sink")
+    public String sink;
+}
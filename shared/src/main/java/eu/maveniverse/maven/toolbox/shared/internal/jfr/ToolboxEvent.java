@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of Toolbox JFR events. Events are recorded only when a recording with them enabled is active; users should
+ * populate event fields only if {@link #shouldCommit()} returns {@code true}, to avoid any overhead otherwise.
+ */
+@Category("Maveniverse Toolbox")
+@Enabled
+@StackTrace(false)
+public abstract class ToolboxEvent extends Event {}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipFile;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchiveSinkTest {
+    private static byte[] content(int size) {
+        byte[] result = new byte[size];
+        new Random(size).nextBytes(result);
+        return result;
+    }
+
+    @Test
+    void zip(@TempDir Path source, @TempDir Path target) throws Exception {
+        Path a1 = source.resolve("a1");
+        Path a2 = source.resolve("a2");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Files.write(a2, content(3 * 1024 * 1024));
+        Path archive = target.resolve("bundle.zip");
+        try (ArchiveSink sink = ArchiveSink.zip(new NullOutput(), archive, ArtifactNameMapper.GACE(), 2)) {
+            sink.accept(Arrays.asList(
+                    new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertEquals(2, zipFile.size());
+            try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("g.a1.jar"))) {
+                assertEquals("one", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("g.a2.jar"))) {
+                assertArrayEquals(Files.readAllBytes(a2), inputStream.readAllBytes());
+            }
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void tgz(@TempDir Path source, @TempDir Path target) throws Exception {
+        Path a1 = source.resolve("a1");
+        Path a2 = source.resolve("a2");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Files.write(a2, content(3 * 1024 * 1024));
+        Path archive = target.resolve("bundle.tar.gz");
+        try (ArchiveSink sink = ArchiveSink.tgz(new NullOutput(), archive, ArtifactNameMapper.GACE(), 2)) {
+            sink.accept(Arrays.asList(
+                    new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+        }
+
+        try (TarArchiveInputStream tar =
+                new TarArchiveInputStream(new GZIPInputStream(Files.newInputStream(archive)))) {
+            TarArchiveEntry entry = tar.getNextEntry();
+            assertEquals("g.a1.jar", entry.getName());
+            assertEquals("one", new String(tar.readAllBytes(), StandardCharsets.UTF_8));
+            entry = tar.getNextEntry();
+            assertEquals("g.a2.jar", entry.getName());
+            assertArrayEquals(Files.readAllBytes(a2), tar.readAllBytes());
+            assertNull(tar.getNextEntry());
+        }
+    }
+
+    @Test
+    void overwritePreventedAndCleanedUp(@TempDir Path source, @TempDir Path target) throws Exception {
+        Path a1 = source.resolve("a1");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Path archive = target.resolve("bundle.tar.gz");
+        ArchiveSink sink = ArchiveSink.tgz(new NullOutput(), archive, ArtifactNameMapper.ACE(), 2);
+        IOException e = assertThrows(
+                IOException.class,
+                () -> sink.accept(Arrays.asList(
+                        new DefaultArtifact("g1:a1:1").setFile(a1.toFile()),
+                        new DefaultArtifact("g2:a1:1").setFile(a1.toFile()))));
+        assertEquals("Overwrite prevented; check mappings", e.getMessage());
+        sink.close();
+
+        try (Stream<Path> files = Files.list(target)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void zipFailureCleanedUp(@TempDir Path source, @TempDir Path target) throws Exception {
+        Path a1 = source.resolve("a1");
+        Path a2 = source.resolve("a2");
+        Files.write(a1, content(3 * 1024 * 1024));
+        Files.writeString(a2, "two", StandardCharsets.UTF_8);
+        Path archive = target.resolve("bundle.zip");
+        ArchiveSink sink = ArchiveSink.zip(new NullOutput(), archive, ArtifactNameMapper.GACE(), 2);
+        sink.accept(Arrays.asList(
+                new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+        Files.delete(a2);
+        assertThrows(IOException.class, sink::close);
+
+        try (Stream<Path> files = Files.list(target)) {
+            assertFalse(files.findAny().isPresent());
+        }
+
+        // cleanup with entries already deflated
+        Files.writeString(a2, "two", StandardCharsets.UTF_8);
+        ArchiveSink failed = ArchiveSink.zip(new NullOutput(), archive, ArtifactNameMapper.GACE(), 2);
+        failed.accept(Arrays.asList(
+                new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+        failed.cleanup(new IOException("failed"));
+        failed.close();
+
+        try (Stream<Path> files = Files.list(target)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+}
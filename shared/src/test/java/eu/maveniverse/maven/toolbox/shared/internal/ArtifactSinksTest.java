@@ -49,6 +49,9 @@ public class ArtifactSinksTest {
             artifactSink = ArtifactSinks.build(properties, output, tc, "tee(counting(), sizing())");
             assertInstanceOf(ArtifactSinks.TeeArtifactSink.class, artifactSink);
 
+            artifactSink = ArtifactSinks.build(properties, output, tc, "verify()");
+            assertInstanceOf(VerifyingSink.class, artifactSink);
+
             artifactSink = ArtifactSinks.build(properties, output, tc, "install()");
             assertInstanceOf(InstallingSink.class, artifactSink);
             assertEquals(
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Runtime;
+import eu.maveniverse.maven.mima.context.Runtimes;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSource;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArtifactSourcesTest {
+    private static List<String> drain(ArtifactSource source) throws Exception {
+        ArrayList<String> result = new ArrayList<>();
+        try (ArtifactSource s = source) {
+            Artifact artifact;
+            while ((artifact = s.next()) != null) {
+                result.add(artifact.toString());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void parse(@TempDir Path basedir) throws Exception {
+        Files.write(basedir.resolve("index.txt"), Arrays.asList("# comment", "g:a1:jar:1", "", "g:a2:jar:tests:1"));
+        Path jar = basedir.resolve("repo/org/group/a3/1.0/a3-1.0.jar");
+        Files.createDirectories(jar.getParent());
+        Files.write(jar, new byte[] {1});
+        Files.write(jar.getParent().resolve("a3-1.0.jar.sha1"), new byte[] {1});
+
+        Runtime runtime = Runtimes.INSTANCE.getRuntime();
+        try (Context context = runtime.create(
+                ContextOverrides.create().withBasedirOverride(basedir).build())) {
+            ToolboxCommandoImpl tc = new ToolboxCommandoImpl(runtime, context);
+
+            HashMap<String, Object> properties = new HashMap<>();
+            properties.put("groupId", "org.some.group");
+            Output output = new NullOutput();
+            ArtifactSource artifactSource;
+
+            artifactSource = ArtifactSources.build(properties, output, tc, "index(index.txt)");
+            assertInstanceOf(ArtifactSources.IndexFileArtifactSource.class, artifactSource);
+            assertEquals(Arrays.asList("g:a1:jar:1", "g:a2:jar:tests:1"), drain(artifactSource));
+
+            artifactSource = ArtifactSources.build(properties, output, tc, "repository(repo)");
+            assertInstanceOf(ArtifactSources.DirectoryArtifactSource.class, artifactSource);
+            assertEquals(Arrays.asList("org.group:a3:jar:1.0"), drain(artifactSource));
+
+            artifactSource = ArtifactSources.build(properties, output, tc, "concat(index(index.txt),repository(repo))");
+            assertInstanceOf(ArtifactSources.ConcatArtifactSource.class, artifactSource);
+            assertEquals(
+                    Arrays.asList("g:a1:jar:1", "g:a2:jar:tests:1", "org.group:a3:jar:1.0"), drain(artifactSource));
+
+            artifactSource = ArtifactSources.build(
+                    properties, output, tc, "matching(not(withoutClassifier()),index(index.txt))");
+            assertInstanceOf(ArtifactSources.MatchingArtifactSource.class, artifactSource);
+            assertEquals(Arrays.asList("g:a2:jar:tests:1"), drain(artifactSource));
+
+            artifactSource =
+                    ArtifactSources.build(properties, output, tc, "mapping(omitClassifier(),index(index.txt))");
+            assertInstanceOf(ArtifactSources.MappingArtifactSource.class, artifactSource);
+            assertEquals(Arrays.asList("g:a1:jar:1", "g:a2:jar:1"), drain(artifactSource));
+
+            // search sources are lazy: nothing is searched until drained
+            artifactSource = ArtifactSources.build(properties, output, tc, "search(junit:junit:4.13.2)");
+            assertInstanceOf(ArtifactSources.SearchArtifactSource.class, artifactSource);
+            artifactSource.close();
+            artifactSource = ArtifactSources.build(properties, output, tc, "search(junit:junit:4.13.2,central)");
+            assertInstanceOf(ArtifactSources.SearchArtifactSource.class, artifactSource);
+            artifactSource.close();
+            IllegalArgumentException e = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> ArtifactSources.build(properties, output, tc, "search(junit:junit:4.13.2,unknown)"));
+            assertEquals("unknown search repository unknown", e.getMessage());
+
+            artifactSource = ArtifactSources.build(properties, output, tc, "recorded()");
+            assertInstanceOf(ArtifactSources.IterableArtifactSource.class, artifactSource);
+            assertEquals(0, drain(artifactSource).size());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
+import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClasspathCacheTest {
+    private final List<RemoteRepository> repositories = Collections.singletonList(
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+
+    private static ResolutionRoot root(String gav, String... dependencies) {
+        return ResolutionRoot.ofLoaded(new DefaultArtifact(gav))
+                .withDependencies(Arrays.stream(dependencies)
+                        .map(d -> new Dependency(new DefaultArtifact(d), "compile"))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Test
+    void keys(@TempDir Path cacheDir) {
+        ClasspathCache cache = new ClasspathCache(cacheDir);
+        String key = cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:1.0"), repositories);
+        assertNotNull(key);
+        assertEquals(key, cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:1.0"), repositories));
+        assertNotEquals(key, cache.key(ResolutionScope.TEST, root("g:a:1.0", "g:b:1.0"), repositories));
+        assertNotEquals(key, cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:1.1"), repositories));
+        assertNotEquals(key, cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:1.0"), Collections.emptyList()));
+
+        assertNull(cache.key(ResolutionScope.RUNTIME, root("g:a:1.0-SNAPSHOT"), repositories));
+        assertNull(cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:[1.0,2.0)"), repositories));
+        assertNull(cache.key(ResolutionScope.RUNTIME, root("g:a:1.0", "g:b:LATEST"), repositories));
+    }
+
+    @Test
+    void putAndGet(@TempDir Path cacheDir, @TempDir Path files) throws IOException {
+        ClasspathCache cache = new ClasspathCache(cacheDir);
+        String key = cache.key(ResolutionScope.RUNTIME, root("g:a:1.0"), repositories);
+        assertNull(cache.get(key));
+
+        File a = Files.createFile(files.resolve("a.jar")).toFile();
+        File b = Files.createFile(files.resolve("b.jar")).toFile();
+        cache.put(key, Arrays.asList(a, b));
+        assertEquals(Arrays.asList(a.getAbsoluteFile(), b.getAbsoluteFile()), cache.get(key));
+
+        // stale entry
+        Files.delete(b.toPath());
+        assertNull(cache.get(key));
+        assertNull(cache.get(key));
+    }
+
+    private static DefaultDependencyNode node(String gav, String constraint) throws Exception {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact(gav), "compile"));
+        node.setVersionConstraint(new GenericVersionScheme().parseVersionConstraint(constraint));
+        return node;
+    }
+
+    @Test
+    void cacheable(@TempDir Path cacheDir) throws Exception {
+        ClasspathCache cache = new ClasspathCache(cacheDir);
+        DefaultDependencyNode root = node("g:a:1.0", "1.0");
+        DefaultDependencyNode child = node("g:b:1.0", "1.0");
+        root.setChildren(new ArrayList<>(Collections.singletonList(child)));
+        assertTrue(cache.isCacheable(root));
+
+        // transitive snapshot
+        child.setChildren(new ArrayList<>(Collections.singletonList(node("g:c:1.0-SNAPSHOT", "1.0-SNAPSHOT"))));
+        assertFalse(cache.isCacheable(root));
+        child.setChildren(
+                new ArrayList<>(Collections.singletonList(node("g:c:1.0-20240101.123456-1", "1.0-SNAPSHOT"))));
+        assertFalse(cache.isCacheable(root));
+
+        // transitive range and meta versions
+        child.setChildren(new ArrayList<>(Collections.singletonList(node("g:c:1.5", "[1.0,2.0)"))));
+        assertFalse(cache.isCacheable(root));
+        child.setChildren(new ArrayList<>(Collections.singletonList(node("g:c:1.5", "LATEST"))));
+        assertFalse(cache.isCacheable(root));
+        child.setChildren(new ArrayList<>(Collections.singletonList(node("g:c:1.5", "RELEASE"))));
+        assertFalse(cache.isCacheable(root));
+    }
+}
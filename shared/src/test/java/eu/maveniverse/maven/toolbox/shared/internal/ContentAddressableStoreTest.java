@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContentAddressableStoreTest {
+    private static long objects(ContentAddressableStore store) throws IOException {
+        try (Stream<Path> stream = Files.walk(store.getBasedir().resolve("objects"))) {
+            return stream.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void storeDeduplicates(@TempDir Path source, @TempDir Path basedir) throws IOException {
+        ContentAddressableStore store = new ContentAddressableStore(basedir);
+        Path a1 = source.resolve("a1");
+        Path a2 = source.resolve("a2");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Files.writeString(a2, "one", StandardCharsets.UTF_8);
+
+        String hash = store.store(a1);
+        assertEquals("7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed", hash);
+        assertEquals(hash, store.store(a2));
+        assertEquals("one", Files.readString(store.object(hash), StandardCharsets.UTF_8));
+        assertEquals(1, objects(store));
+    }
+
+    @Test
+    void sinksAndGc(@TempDir Path source, @TempDir Path basedir, @TempDir Path target) throws IOException {
+        ContentAddressableStore store = new ContentAddressableStore(basedir);
+        Path a1 = source.resolve("a1");
+        Path a2 = source.resolve("a2");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Files.writeString(a2, "two", StandardCharsets.UTF_8);
+
+        Path flat = target.resolve("flat");
+        try (DirectorySink sink = DirectorySink.casFlat(new NullOutput(), flat, ArtifactNameMapper.GACE(), store)) {
+            sink.accept(Arrays.asList(
+                    new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+        }
+        Path repository = target.resolve("repository");
+        try (DirectorySink sink = DirectorySink.casRepository(new NullOutput(), repository, store)) {
+            sink.accept(new DefaultArtifact("g:a1:1").setFile(a1.toFile()));
+        }
+
+        assertEquals(2, objects(store));
+        Path flatA1 = flat.resolve("g.a1.jar");
+        Path repositoryA1 = repository.resolve("g/a1/1/a1-1.jar");
+        assertTrue(Files.isSameFile(flatA1, repositoryA1));
+        assertEquals("one", Files.readString(repositoryA1, StandardCharsets.UTF_8));
+        assertEquals(
+                Lockfile.sha1(a1),
+                Files.readString(repositoryA1.resolveSibling("a1-1.jar.sha1"), StandardCharsets.US_ASCII));
+        assertTrue(Files.isRegularFile(repository.resolve("g/a1/maven-metadata.xml")));
+
+        ContentAddressableStore.GcResult result = store.gc(false);
+        assertEquals(2, result.getObjects());
+        assertEquals(0, result.getRemovedObjects());
+
+        // a2 is replaced in flat layout (no longer a link)
+        Files.delete(flat.resolve("g.a2.jar"));
+        Files.writeString(flat.resolve("g.a2.jar"), "two", StandardCharsets.UTF_8);
+        result = store.gc(true);
+        assertEquals(1, result.getRemovedObjects());
+        assertEquals(3, result.getRemovedBytes());
+        assertEquals(0, result.getRemovedRefs());
+        assertEquals(2, objects(store));
+
+        // flat layout is gone, a1 is still linked from repository layout
+        delete(flat);
+        result = store.gc(false);
+        assertEquals(1, result.getRemovedObjects());
+        assertEquals(1, result.getRemovedRefs());
+        assertEquals(1, objects(store));
+        Path a1Object = store.object("7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed");
+        assertTrue(Files.isRegularFile(a1Object));
+
+        delete(repository);
+        result = store.gc(false);
+        assertEquals(1, result.getRemovedObjects());
+        assertFalse(Files.isRegularFile(a1Object));
+    }
+
+    @Test
+    void readOnlyAndCorruptionDetected(@TempDir Path source, @TempDir Path basedir, @TempDir Path target)
+            throws IOException {
+        ContentAddressableStore store = new ContentAddressableStore(basedir);
+        Path a1 = source.resolve("a1");
+        Files.writeString(a1, "one", StandardCharsets.UTF_8);
+        Path flat = target.resolve("flat");
+        try (DirectorySink sink = DirectorySink.casFlat(new NullOutput(), flat, ArtifactNameMapper.GACE(), store)) {
+            sink.accept(new DefaultArtifact("g:a1:1").setFile(a1.toFile()));
+        }
+        Path a1Object = store.object("7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed");
+        assertFalse(Files.getPosixFilePermissions(a1Object).contains(PosixFilePermission.OWNER_WRITE));
+
+        // linked file modified in place, despite being read-only
+        Path flatA1 = flat.resolve("g.a1.jar");
+        flatA1.toFile().setWritable(true);
+        Files.writeString(flatA1, "two", StandardCharsets.UTF_8);
+        ContentAddressableStore.GcResult result = store.gc(true);
+        assertEquals(1, result.getCorruptedObjects());
+        assertEquals(1, result.getRemovedObjects());
+        assertTrue(Files.isRegularFile(a1Object));
+
+        result = store.gc(false);
+        assertEquals(1, result.getCorruptedObjects());
+        assertFalse(Files.isRegularFile(a1Object));
+        // storing the original content again does not reuse corrupted object
+        assertEquals("one", Files.readString(store.object(store.store(a1)), StandardCharsets.UTF_8));
+    }
+}
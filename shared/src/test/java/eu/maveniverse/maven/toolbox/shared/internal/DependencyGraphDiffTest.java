@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.junit.jupiter.api.Test;
+
+public class DependencyGraphDiffTest {
+    private static DefaultDependencyNode node(String coords, String scope, DependencyNode... children) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact(coords), scope));
+        node.setChildren(Arrays.asList(children));
+        return node;
+    }
+
+    private static DependencyNode root(DependencyNode... children) {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("g:root:1.0"));
+        root.setChildren(Arrays.asList(children));
+        return root;
+    }
+
+    @Test
+    void diff() {
+        DefaultDependencyNode loser = node("g:c:0.9", "compile");
+        loser.setData(ConflictResolver.NODE_DATA_WINNER, node("g:c:1.0", "compile"));
+        DependencyNode left = root(
+                node("g:a:1.0", "compile", node("g:c:1.0", "compile")),
+                node("g:b:1.0", "runtime", loser),
+                node("g:d:1.0", "compile"));
+        DependencyNode right = root(
+                node("g:a:2.0", "compile", node("g:c:1.0", "runtime")),
+                node("g:b:1.0", "runtime", node("g:e:1.0", "runtime")));
+
+        List<String> changes = DependencyGraphDiff.diff(left, right).stream()
+                .map(c -> c.getKind() + " " + c.getKey() + " " + c.getLeft() + " " + c.getRight())
+                .collect(Collectors.toList());
+        assertEquals(
+                Arrays.asList(
+                        "VERSION_CHANGED g:a:jar g:a:jar:1.0 [compile] g:a:jar:2.0 [compile]",
+                        "SCOPE_CHANGED g:c:jar g:c:jar:1.0 [compile] g:c:jar:1.0 [runtime]",
+                        "REMOVED g:d:jar g:d:jar:1.0 [compile] null",
+                        "ADDED g:e:jar null g:e:jar:1.0 [runtime]"),
+                changes);
+    }
+}
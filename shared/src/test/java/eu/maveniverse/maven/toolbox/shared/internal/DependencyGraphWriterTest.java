@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+public class DependencyGraphWriterTest {
+    private static DefaultDependencyNode node(String artifactId, String scope, DependencyNode... children) {
+        DefaultDependencyNode node =
+                new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:" + artifactId + ":1.0"), scope));
+        node.setChildren(Arrays.asList(children));
+        return node;
+    }
+
+    private static DependencyNode graph() {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("g:root:1.0"));
+        root.setChildren(Arrays.asList(
+                node("a", "compile", node("a1", "compile", node("a11", "runtime"))), node("b\"<&>", "runtime")));
+        return root;
+    }
+
+    private static String write(TreeFormat format, int maxDepth, int maxNodes) throws Exception {
+        StringWriter writer = new StringWriter();
+        DependencyGraphWriter.of(format, writer, maxDepth, maxNodes).write(graph());
+        return writer.toString();
+    }
+
+    @Test
+    void json() throws Exception {
+        assertEquals(
+                "{\"root\":\n"
+                        + "{\"id\":0,\"groupId\":\"g\",\"artifactId\":\"root\",\"version\":\"1.0\",\"classifier\":\"\",\"extension\":\"jar\",\"children\":[\n"
+                        + "{\"id\":1,\"groupId\":\"g\",\"artifactId\":\"a\",\"version\":\"1.0\",\"classifier\":\"\",\"extension\":\"jar\",\"scope\":\"compile\",\"optional\":false,\"elided\":1,\"children\":[]},\n"
+                        + "{\"id\":2,\"groupId\":\"g\",\"artifactId\":\"b\\\"<&>\",\"version\":\"1.0\",\"classifier\":\"\",\"extension\":\"jar\",\"scope\":\"runtime\",\"optional\":false,\"children\":[]}]},\n"
+                        + "\"count\":3,\"truncated\":false}\n",
+                write(TreeFormat.JSON, 1, -1));
+        assertTrue(write(TreeFormat.JSON, -1, 2).endsWith("\"count\":2,\"truncated\":true}\n"));
+    }
+
+    @Test
+    void dot() throws Exception {
+        String dot = write(TreeFormat.DOT, -1, -1);
+        assertTrue(dot.startsWith("digraph \"g:root:jar:1.0\" {\n  n0 [label=\"g:root:jar:1.0\"];\n"), dot);
+        assertTrue(dot.contains("  n2 -> n3 [label=\"runtime\"];\n"), dot);
+        assertTrue(dot.contains("  n4 [label=\"g:b\\\"<&>:jar:1.0\"];\n"), dot);
+        assertTrue(dot.endsWith("}\n"), dot);
+    }
+
+    @Test
+    void graphml() throws Exception {
+        String graphml = write(TreeFormat.GRAPHML, -1, 3);
+        Document document = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new ByteArrayInputStream(graphml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, document.getElementsByTagName("node").getLength());
+        assertEquals(2, document.getElementsByTagName("edge").getLength());
+        assertTrue(graphml.contains("<!-- truncated after 3 nodes -->"), graphml);
+    }
+}
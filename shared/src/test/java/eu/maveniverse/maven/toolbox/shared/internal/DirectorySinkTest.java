@@ -8,15 +8,21 @@
 package eu.maveniverse.maven.toolbox.shared.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
 import eu.maveniverse.maven.toolbox.shared.NullOutput;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.stream.Stream;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -62,6 +68,122 @@ public class DirectorySinkTest {
         }
     }
 
+    @Test
+    void repositoryChecksums(@TempDir Path source, @TempDir Path target) throws IOException {
+        try (DirectorySink sink = DirectorySink.repository(new NullOutput(), target)) {
+            Path a1 = source.resolve("a1");
+            Files.writeString(a1, "one", StandardCharsets.UTF_8);
+            sink.accept(new DefaultArtifact("g:a1:1").setFile(a1.toFile()));
+
+            Path a1target = target.resolve("g/a1/1/a1-1.jar");
+            assertEquals(
+                    "fe05bcdcdc4928012781a5f1a2a77cbb5398e106",
+                    Files.readString(a1target.resolveSibling("a1-1.jar.sha1"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    "f97c5d29941bfb1b2fdab0874906ab82",
+                    Files.readString(a1target.resolveSibling("a1-1.jar.md5"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    "7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed",
+                    Files.readString(a1target.resolveSibling("a1-1.jar.sha256"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    128,
+                    Files.readString(a1target.resolveSibling("a1-1.jar.sha512"), StandardCharsets.US_ASCII)
+                            .length());
+            try (Stream<Path> files = Files.list(a1target.getParent())) {
+                assertFalse(files.anyMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+            }
+        }
+    }
+
+    @Test
+    void repositoryReusesTrustedChecksums(@TempDir Path source, @TempDir Path target) throws IOException {
+        try (DirectorySink sink = DirectorySink.repository(new NullOutput(), target)) {
+            Path a1 = source.resolve("a1");
+            Path a2 = source.resolve("a2");
+            Files.writeString(a1, "one", StandardCharsets.UTF_8);
+            Files.writeString(a2, "two", StandardCharsets.UTF_8);
+            for (Path a : Arrays.asList(a1, a2)) {
+                Files.writeString(a.resolveSibling(a.getFileName() + ".sha1"), "1".repeat(40));
+                Files.writeString(a.resolveSibling(a.getFileName() + ".md5"), "1".repeat(32));
+                Files.writeString(a.resolveSibling(a.getFileName() + ".sha256"), "1".repeat(64));
+                Files.writeString(a.resolveSibling(a.getFileName() + ".sha512"), "1".repeat(128));
+            }
+            // a2 was modified after its checksums were written: those are not trusted
+            Files.setLastModifiedTime(a2, FileTime.fromMillis(System.currentTimeMillis() + 60_000L));
+            sink.accept(Arrays.asList(
+                    new DefaultArtifact("g:a1:1").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a2:1").setFile(a2.toFile())));
+
+            assertEquals(
+                    "1".repeat(40),
+                    Files.readString(target.resolve("g/a1/1/a1-1.jar.sha1"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    "ad782ecdac770fc6eb9a62e44f90873fb97fb26b",
+                    Files.readString(target.resolve("g/a2/1/a2-1.jar.sha1"), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void repositoryReusesPartialChecksums(@TempDir Path source, @TempDir Path target) throws IOException {
+        try (DirectorySink sink = DirectorySink.repository(new NullOutput(), target)) {
+            // like local repository: sha1 and md5 only, sha1 followed by file name
+            Path a1 = source.resolve("a1");
+            Files.writeString(a1, "one", StandardCharsets.UTF_8);
+            Files.writeString(a1.resolveSibling("a1.sha1"), "1".repeat(40) + "  a1\n");
+            Files.writeString(a1.resolveSibling("a1.md5"), "1".repeat(32));
+            sink.accept(new DefaultArtifact("g:a1:1").setFile(a1.toFile()));
+
+            Path a1target = target.resolve("g/a1/1/a1-1.jar");
+            assertEquals(
+                    "1".repeat(40),
+                    Files.readString(a1target.resolveSibling("a1-1.jar.sha1"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    "1".repeat(32),
+                    Files.readString(a1target.resolveSibling("a1-1.jar.md5"), StandardCharsets.US_ASCII));
+            assertEquals(
+                    "7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed",
+                    Files.readString(a1target.resolveSibling("a1-1.jar.sha256"), StandardCharsets.US_ASCII));
+            assertEquals("one", Files.readString(a1target, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void repositoryMetadata(@TempDir Path source, @TempDir Path target) throws Exception {
+        Path existing = target.resolve("g/a1/maven-metadata.xml");
+        Files.createDirectories(existing.getParent());
+        Files.writeString(
+                existing,
+                "<metadata><groupId>g</groupId><artifactId>a1</artifactId>"
+                        + "<versioning><versions><version>0.9</version><version>1.2</version></versions>"
+                        + "</versioning></metadata>",
+                StandardCharsets.UTF_8);
+        try (DirectorySink sink = DirectorySink.repository(new NullOutput(), target)) {
+            Path a1 = source.resolve("a1");
+            Files.writeString(a1, "one", StandardCharsets.UTF_8);
+            sink.accept(Arrays.asList(
+                    new DefaultArtifact("g:a1:1.10").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a1:pom:1.10").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a1:1.2").setFile(a1.toFile()),
+                    new DefaultArtifact("g:a2:1").setFile(a1.toFile())));
+        }
+
+        Metadata metadata;
+        try (InputStream inputStream = Files.newInputStream(existing)) {
+            metadata = new MetadataXpp3Reader().read(inputStream, true);
+        }
+        assertEquals("g", metadata.getGroupId());
+        assertEquals("a1", metadata.getArtifactId());
+        assertEquals(
+                Arrays.asList("0.9", "1.2", "1.10"), metadata.getVersioning().getVersions());
+        assertEquals("1.10", metadata.getVersioning().getLatest());
+        assertEquals("1.10", metadata.getVersioning().getRelease());
+        assertEquals(
+                Lockfile.sha1(existing),
+                Files.readString(existing.resolveSibling("maven-metadata.xml.sha1"), StandardCharsets.US_ASCII));
+        assertTrue(Files.isRegularFile(target.resolve("g/a2/maven-metadata.xml")));
+        assertTrue(Files.isRegularFile(target.resolve("g/a2/maven-metadata.xml.sha512")));
+    }
+
     @Test
     void flatSameADifferentGAccepted(@TempDir Path source, @TempDir Path target) throws IOException {
         sameADifferentGAccepted(
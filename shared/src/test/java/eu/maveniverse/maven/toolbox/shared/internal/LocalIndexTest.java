@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.apache.maven.search.api.request.BooleanQuery.and;
+import static org.apache.maven.search.api.request.FieldQuery.fieldQuery;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.maven.search.api.MAVEN;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+import org.apache.maven.search.api.request.Paging;
+import org.eclipse.aether.artifact.Artifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalIndexTest {
+    private static void write(Path repository, String path, String content) throws IOException {
+        Path file = repository.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static void populate(Path repository) throws IOException {
+        write(repository, "org/group/a1/1.0/a1-1.0.jar", "a1");
+        write(repository, "org/group/a1/1.0/a1-1.0.pom", "a1-pom");
+        write(repository, "org/group/a1/1.0/a1-1.0-sources.jar", "a1-sources");
+        // sidecar not older than artifact is used as is (this one is sha1 of empty content)
+        write(repository, "org/group/a1/1.0/a1-1.0.jar.sha1", "DA39A3EE5E6B4B0D3255BFEF95601890AFD80709  a1-1.0.jar");
+        // stale and malformed sidecars are ignored
+        write(repository, "org/group/a1/1.0/a1-1.0.pom.sha1", "da39a3ee5e6b4b0d3255bfef95601890afd80709");
+        Path pom = repository.resolve("org/group/a1/1.0/a1-1.0.pom");
+        Files.setLastModifiedTime(
+                pom.resolveSibling("a1-1.0.pom.sha1"),
+                FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() - 60_000));
+        write(repository, "org/group/a1/1.0/a1-1.0-sources.jar.sha1", "not-a-sha1-not-a-sha1-not-a-sha1-not-a-s");
+        write(repository, "org/group/a1/1.0/_remote.repositories", "");
+        write(repository, "org/group/a1/maven-metadata-central.xml", "");
+        write(repository, "org/group/sub/a2/2.0-SNAPSHOT/a2-2.0-20240101.123456-1.jar", "a2");
+        write(repository, "org/other/a3/3.0/a3-3.0.tar.gz", "a3");
+    }
+
+    @Test
+    void artifactPaths(@TempDir Path repository) {
+        Artifact artifact =
+                ArtifactPaths.toArtifact(repository, repository.resolve("org/group/a1/1.0/a1-1.0-sources.jar"));
+        assertEquals("org.group:a1:jar:sources:1.0", artifact.toString());
+        artifact = ArtifactPaths.toArtifact(
+                repository, repository.resolve("org/group/a2/2.0-SNAPSHOT/a2-2.0-20240101.123456-1.jar"));
+        assertEquals("org.group:a2:jar:2.0-20240101.123456-1", artifact.toString());
+        assertEquals("2.0-SNAPSHOT", artifact.getBaseVersion());
+        artifact = ArtifactPaths.toArtifact(repository, repository.resolve("org/group/a1/1.0/a1-1.0.jar.asc"));
+        assertEquals("org.group:a1:jar.asc:1.0", artifact.toString());
+        assertNull(ArtifactPaths.toArtifact(repository, repository.resolve("org/group/a1/1.0/a1-1.0.jar.sha1")));
+        assertNull(ArtifactPaths.toArtifact(repository, repository.resolve("org/group/a1/1.0/other-1.0.jar")));
+        assertNull(ArtifactPaths.toArtifact(repository, repository.resolve("a1/1.0/a1-1.0.jar")));
+    }
+
+    @Test
+    void writeAndLoad(@TempDir Path repository, @TempDir Path target) throws IOException {
+        populate(repository);
+        List<LocalIndex.Entry> entries = LocalIndex.scan(repository);
+        assertEquals(5, entries.size());
+
+        Path indexFile = target.resolve("index.bin");
+        LocalIndex.write(indexFile, entries);
+        LocalIndex localIndex = LocalIndex.load(indexFile);
+        assertEquals(5, localIndex.size());
+        assertTrue(localIndex.entries().containsAll(entries));
+
+        // sha1 taken from sidecar file
+        List<LocalIndex.Entry> bySha1 = localIndex.findBySha1("da39a3ee5e6b4b0d3255bfef95601890afd80709");
+        assertEquals(1, bySha1.size());
+        assertEquals("org.group:a1:jar:1.0", bySha1.get(0).toArtifact().toString());
+        // stale and malformed sidecars ignored
+        bySha1 = localIndex.findBySha1(Lockfile.sha1(repository.resolve("org/group/a1/1.0/a1-1.0.pom")));
+        assertEquals(1, bySha1.size());
+        assertEquals("pom", bySha1.get(0).getExtension());
+        bySha1 = localIndex.findBySha1(Lockfile.sha1(repository.resolve("org/group/a1/1.0/a1-1.0-sources.jar")));
+        assertEquals(1, bySha1.size());
+        assertEquals("sources", bySha1.get(0).getClassifier());
+        // sha1 calculated
+        String a3Sha1 = entries.stream()
+                .filter(e -> "a3".equals(e.getArtifactId()))
+                .findFirst()
+                .orElseThrow()
+                .getSha1();
+        bySha1 = localIndex.findBySha1(a3Sha1.toUpperCase());
+        assertEquals(1, bySha1.size());
+        assertEquals("tar.gz", bySha1.get(0).getExtension());
+
+        assertEquals(4, localIndex.findByGroupIdPrefix("org.group").size());
+        assertEquals(1, localIndex.findByGroupIdPrefix("org.group.sub").size());
+        assertEquals(5, localIndex.findByGroupIdPrefix("org").size());
+        assertEquals(0, localIndex.findByGroupIdPrefix("com").size());
+    }
+
+    @Test
+    void list(@TempDir Path repository, @TempDir Path target) throws IOException {
+        populate(repository);
+        write(repository, "org/group/a1/1.1/a1-1.1.jar", "a1-1.1");
+        write(repository, "org/group/a4/1.0/a4-1.0.pom", "a4-pom");
+        write(repository, "org/group/sub/a2/2.0-SNAPSHOT/a2-2.0-20240101.123456-1.pom", "a2-pom");
+        Path indexFile = target.resolve("index.bin");
+        LocalIndex.write(indexFile, LocalIndex.scan(repository));
+        try (LocalIndexSearchBackend backend =
+                new LocalIndexSearchBackend("local-test", "local", LocalIndex.load(indexFile))) {
+            // groupId lists artifactIds
+            SearchResponse response = backend.search(new SearchRequest(fieldQuery(MAVEN.GROUP_ID, "org.group")));
+            assertEquals(2, response.getTotalHits());
+            assertEquals(
+                    Arrays.asList("a1", "a4"),
+                    response.getPage().stream()
+                            .map(r -> r.getValue(MAVEN.ARTIFACT_ID))
+                            .sorted()
+                            .collect(Collectors.toList()));
+            assertFalse(response.getPage().get(0).hasField(MAVEN.VERSION));
+
+            // groupId and artifactId list versions
+            response = backend.search(new SearchRequest(
+                    and(fieldQuery(MAVEN.GROUP_ID, "org.group"), fieldQuery(MAVEN.ARTIFACT_ID, "a1"))));
+            assertEquals(2, response.getTotalHits());
+            assertEquals(
+                    Arrays.asList("1.0", "1.1"),
+                    response.getPage().stream()
+                            .map(r -> r.getValue(MAVEN.VERSION))
+                            .sorted()
+                            .collect(Collectors.toList()));
+            assertFalse(response.getPage().get(0).hasField(MAVEN.FILE_EXTENSION));
+
+            // snapshots are listed by base version
+            response = backend.search(new SearchRequest(
+                    and(fieldQuery(MAVEN.GROUP_ID, "org.group.sub"), fieldQuery(MAVEN.ARTIFACT_ID, "a2"))));
+            assertEquals(1, response.getTotalHits());
+            assertEquals("2.0-SNAPSHOT", response.getPage().get(0).getValue(MAVEN.VERSION));
+        }
+    }
+
+    @Test
+    void search(@TempDir Path repository, @TempDir Path target) throws IOException {
+        populate(repository);
+        Path indexFile = target.resolve("index.bin");
+        LocalIndex.write(indexFile, LocalIndex.scan(repository));
+        try (LocalIndexSearchBackend backend =
+                new LocalIndexSearchBackend("local-test", "local", LocalIndex.load(indexFile))) {
+            // prefix queries list artifacts (without classifier, as no classifier is queried)
+            SearchResponse response = backend.search(new SearchRequest(fieldQuery(MAVEN.GROUP_ID, "org.group*")));
+            assertEquals(3, response.getTotalHits());
+
+            response = backend.search(new SearchRequest(and(
+                    fieldQuery(MAVEN.GROUP_ID, "org.group"),
+                    fieldQuery(MAVEN.ARTIFACT_ID, "a1"),
+                    fieldQuery(MAVEN.VERSION, "1.0"),
+                    fieldQuery(MAVEN.FILE_EXTENSION, "jar"))));
+            assertEquals(1, response.getTotalHits());
+            assertFalse(response.getPage().get(0).hasField(MAVEN.CLASSIFIER));
+
+            response = backend.search(new SearchRequest(and(
+                    fieldQuery(MAVEN.GROUP_ID, "org.group"),
+                    fieldQuery(MAVEN.ARTIFACT_ID, "a1"),
+                    fieldQuery(MAVEN.VERSION, "1.0"),
+                    fieldQuery(MAVEN.CLASSIFIER, "sources"),
+                    fieldQuery(MAVEN.FILE_EXTENSION, "jar"))));
+            assertEquals(1, response.getTotalHits());
+            assertEquals("sources", response.getPage().get(0).getValue(MAVEN.CLASSIFIER));
+
+            // identify: sha1 queries match classified artifacts as well
+            String sourcesSha1 = LocalIndex.load(indexFile).entries().stream()
+                    .filter(e -> "sources".equals(e.getClassifier()))
+                    .findFirst()
+                    .orElseThrow()
+                    .getSha1();
+            response = backend.search(new SearchRequest(fieldQuery(MAVEN.SHA1, sourcesSha1)));
+            assertEquals(1, response.getTotalHits());
+            assertEquals("sources", response.getPage().get(0).getValue(MAVEN.CLASSIFIER));
+
+            response = backend.search(new SearchRequest(new Paging(3), fieldQuery(MAVEN.GROUP_ID, "org*")));
+            assertEquals(4, response.getTotalHits());
+            assertEquals(3, response.getCurrentHits());
+            response = backend.search(response.getSearchRequest().nextPage());
+            assertEquals(1, response.getCurrentHits());
+            response = backend.search(response.getSearchRequest().nextPage());
+            assertEquals(0, response.getCurrentHits());
+        }
+    }
+}
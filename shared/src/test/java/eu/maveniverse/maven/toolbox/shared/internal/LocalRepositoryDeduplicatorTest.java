@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalRepositoryDeduplicatorTest {
+    private static Path write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void dedupe(@TempDir Path r1, @TempDir Path r2) throws IOException {
+        Path a1 = write(r1.resolve("cached/g/a/1.0/a-1.0.jar"), "one");
+        Path a2 = write(r2.resolve("g/a/1.0/a-1.0.jar"), "one");
+        Path a3 = write(r2.resolve("installed/g/a/1.0/a-1.0.jar"), "one");
+        Path b1 = write(r1.resolve("cached/g/b/1.0/b-1.0.jar"), "two");
+        Path b2 = write(r2.resolve("g/b/1.0/b-1.0.jar"), "own"); // same size, different content
+        Path rr1 = write(r1.resolve("cached/g/a/1.0/_remote.repositories"), "a-1.0.jar>central=\n");
+        Path rr2 = write(r2.resolve("g/a/1.0/_remote.repositories"), "a-1.0.jar>central=\n");
+        Path hidden1 = write(r1.resolve(".toolbox/access.log"), "one");
+
+        LocalRepositoryDeduplicator deduplicator =
+                new LocalRepositoryDeduplicator(new NullOutput(), Arrays.asList(r1, r2), 2);
+        LocalRepositoryDeduplicator.Result result = deduplicator.dedupe(true);
+        assertEquals(5, result.getFiles());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(6, result.getReclaimedBytes());
+        assertFalse(Files.isSameFile(a1, a2));
+
+        result = deduplicator.dedupe(false);
+        assertEquals(2, result.getDuplicates());
+        assertEquals(0, result.getSkipped());
+        assertTrue(Files.isSameFile(a1, a2));
+        assertTrue(Files.isSameFile(a1, a3));
+        assertFalse(Files.isSameFile(b1, b2));
+        assertFalse(Files.isSameFile(rr1, rr2));
+        assertFalse(Files.isSameFile(a1, hidden1));
+        assertEquals("one", Files.readString(a3, StandardCharsets.UTF_8));
+
+        // already linked files are not duplicates anymore
+        result = deduplicator.dedupe(false);
+        assertEquals(0, result.getDuplicates());
+    }
+
+    @Test
+    void symlinksSkipped(@TempDir Path r1, @TempDir Path outside) throws IOException {
+        Path a1 = write(r1.resolve("g/a/1.0/a-1.0.jar"), "one");
+        Path o1 = write(outside.resolve("g/a/2.0/a-2.0.jar"), "one");
+        Files.createSymbolicLink(r1.resolve("g/b"), outside.resolve("g/a"));
+        // loop
+        Files.createSymbolicLink(r1.resolve("g/a/loop"), r1.resolve("g"));
+        Files.createSymbolicLink(r1.resolve("g/a/1.0/a-1.0-link.jar"), a1);
+
+        LocalRepositoryDeduplicator.Result result =
+                new LocalRepositoryDeduplicator(new NullOutput(), Collections.singletonList(r1), 2).dedupe(false);
+        assertEquals(1, result.getFiles());
+        assertEquals(0, result.getDuplicates());
+        assertFalse(Files.isSameFile(a1, o1));
+    }
+}
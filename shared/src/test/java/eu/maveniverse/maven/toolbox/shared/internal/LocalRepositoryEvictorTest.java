@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalRepositoryEvictorTest {
+    private static void write(Path file, int size, long atime) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+        Files.setAttribute(file, "lastAccessTime", FileTime.fromMillis(atime));
+    }
+
+    @Test
+    void rankAndSelect(@TempDir Path basedir) throws Exception {
+        write(basedir.resolve("g/a/1.0/a-1.0.jar"), 100, 1000L);
+        write(basedir.resolve("g/a/1.0/a-1.0.pom"), 10, 3000L);
+        write(basedir.resolve("g/b/1.0/b-1.0.jar"), 200, 2000L);
+        write(basedir.resolve("g/c/1.0/c-1.0.jar"), 50, 1000L);
+
+        HashMap<String, Long> accessLog = new HashMap<>();
+        accessLog.put("g/c/1.0", 5000L);
+        accessLog.put("g/gone/1.0", 9000L);
+        List<LocalRepositoryEvictor.Candidate> ranked = new LocalRepositoryEvictor(basedir, 2, accessLog).rank();
+
+        assertEquals(
+                Arrays.asList("g/b/1.0", "g/a/1.0", "g/c/1.0"),
+                ranked.stream().map(LocalRepositoryEvictor.Candidate::getKey).collect(Collectors.toList()));
+        assertEquals(110, ranked.get(1).getBytes());
+        assertEquals(3000L, ranked.get(1).getLastAccess());
+
+        assertEquals(0, LocalRepositoryEvictor.select(ranked, 360).size());
+        assertEquals(1, LocalRepositoryEvictor.select(ranked, 359).size());
+        assertEquals(2, LocalRepositoryEvictor.select(ranked, 100).size());
+        assertEquals(3, LocalRepositoryEvictor.select(ranked, 0).size());
+    }
+
+    @Test
+    void accessLogCompaction(@TempDir Path basedir) throws Exception {
+        Path file = AccessLog.defaultFile(basedir);
+        AccessLog accessLog = new AccessLog(basedir, file);
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        write(basedir.resolve("g/old/1.0/old-1.0.jar"), 1, 0L);
+        accessLog.artifactResolved(resolved(session, basedir, "old"));
+        Files.writeString(file, "1 g/gone/1.0\n", StandardOpenOption.APPEND);
+
+        // records appended while compacting are retained
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            write(basedir.resolve("g/a" + i + "/1.0/a" + i + "-1.0.jar"), 1, 0L);
+        }
+        Thread appender = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                accessLog.artifactResolved(resolved(session, basedir, "a" + i));
+            }
+        });
+        appender.start();
+        while (appender.isAlive()) {
+            AccessLog.compact(file, basedir, Collections.singleton("g/old/1.0"));
+        }
+        appender.join();
+        AccessLog.compact(file, basedir, Collections.singleton("g/old/1.0"));
+
+        Map<String, Long> records = AccessLog.read(file);
+        assertEquals(count, records.size());
+        assertFalse(records.containsKey("g/old/1.0"));
+        assertFalse(records.containsKey("g/gone/1.0"));
+        assertTrue(records.containsKey("g/a0/1.0"));
+    }
+
+    private static RepositoryEvent resolved(DefaultRepositorySystemSession session, Path basedir, String artifactId) {
+        return new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_RESOLVED)
+                .setArtifact(new DefaultArtifact("g:" + artifactId + ":1.0")
+                        .setFile(basedir.resolve("g/" + artifactId + "/1.0/" + artifactId + "-1.0.jar")
+                                .toFile()))
+                .build();
+    }
+
+    @Test
+    void parseSize() {
+        assertEquals(1024, LocalRepositoryEvictor.parseSize("1024"));
+        assertEquals(500L << 10, LocalRepositoryEvictor.parseSize("500k"));
+        assertEquals(10L << 20, LocalRepositoryEvictor.parseSize("10MB"));
+        assertEquals(2L << 30, LocalRepositoryEvictor.parseSize("2g"));
+        assertThrows(IllegalArgumentException.class, () -> LocalRepositoryEvictor.parseSize("ten"));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalRepositoryScannerTest {
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void scan(@TempDir Path basedir) throws Exception {
+        Path v1 = basedir.resolve("org/group/a/1.0");
+        write(v1.resolve("a-1.0.jar"), "jar");
+        write(v1.resolve("a-1.0.pom"), "pom");
+        write(v1.resolve("a-1.0.jar.sha1"), "sha1");
+        write(
+                v1.resolve("_remote.repositories"),
+                "#NOTE: comment\na-1.0.jar>central=\na-1.0.jar>other=\na-1.0.pom>=\n");
+        Path v2 = basedir.resolve("org/group/b/2.0");
+        write(v2.resolve("b-2.0-tests.jar"), "tests");
+        write(v2.resolve("maven-metadata-central.xml"), "xml");
+
+        TreeMap<String, String> found = new TreeMap<>();
+        ArtifactSink sink = a -> found.put(a.toString(), a.getProperty(LocalRepositoryScanner.ORIGIN, null));
+        LocalRepositoryScanner scanner = new LocalRepositoryScanner(basedir, 4);
+
+        assertEquals(3, scanner.scan(sink));
+        assertEquals(
+                Arrays.asList("org.group:a:jar:1.0", "org.group:a:pom:1.0", "org.group:b:jar:tests:2.0"),
+                Arrays.asList(found.keySet().toArray()));
+        assertEquals("central,other", found.get("org.group:a:jar:1.0"));
+        assertEquals("", found.get("org.group:a:pom:1.0"));
+        assertEquals(null, found.get("org.group:b:jar:tests:2.0"));
+        assertEquals(7, scanner.getDirectories());
+        assertEquals(11, scanner.getBytes());
+    }
+
+    @Test
+    void symlinksSkipped(@TempDir Path basedir, @TempDir Path outside) throws Exception {
+        write(basedir.resolve("g/a/1.0/a-1.0.jar"), "jar");
+        write(outside.resolve("g/b/1.0/b-1.0.jar"), "jar");
+        Files.createSymbolicLink(basedir.resolve("g/b"), outside.resolve("g/b"));
+        // loop
+        Files.createSymbolicLink(basedir.resolve("g/a/loop"), basedir.resolve("g"));
+        Files.createSymbolicLink(basedir.resolve("g/a/1.0/a-1.0-link.jar"), basedir.resolve("g/a/1.0/a-1.0.jar"));
+
+        TreeMap<String, String> found = new TreeMap<>();
+        ArtifactSink sink = a -> found.put(a.toString(), a.getProperty(LocalRepositoryScanner.ORIGIN, null));
+        LocalRepositoryScanner scanner = new LocalRepositoryScanner(basedir, 4);
+
+        assertEquals(1, scanner.scan(sink));
+        assertEquals(
+                Collections.singletonList("g:a:jar:1.0"),
+                Arrays.asList(found.keySet().toArray()));
+        assertEquals(4, scanner.getDirectories());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LockfileTest {
+    @Test
+    void roundTrip(@TempDir Path dir) throws Exception {
+        Path jar = dir.resolve("a.jar");
+        Files.write(jar, "hello".getBytes(StandardCharsets.UTF_8));
+        ArtifactResult local = new ArtifactResult(new ArtifactRequest());
+        local.setArtifact(new DefaultArtifact("g:a:1.0").setFile(jar.toFile()));
+        ArtifactResult remote = new ArtifactResult(new ArtifactRequest());
+        remote.setArtifact(new DefaultArtifact("g:b:jar:tests:2.0").setFile(jar.toFile()));
+        remote.setRepository(
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+
+        Path file = dir.resolve("sub").resolve("toolbox.lock");
+        Lockfile.of("g:a:jar:1.0", "RUNTIME", Arrays.asList(local, remote)).write(file);
+        Lockfile lockfile = Lockfile.read(file);
+
+        assertEquals("g:a:jar:1.0", lockfile.getRoot());
+        assertEquals("RUNTIME", lockfile.getScope());
+        assertEquals(2, lockfile.getEntries().size());
+        assertEquals(
+                "g:a:jar:1.0 aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d local",
+                lockfile.getEntries().get(0).toString());
+        assertEquals(
+                "g:b:jar:tests:2.0 aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d central",
+                lockfile.getEntries().get(1).toString());
+    }
+
+    @Test
+    void invalid(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("toolbox.lock");
+        Files.write(file, "g:a:jar:1.0\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> Lockfile.read(file));
+    }
+}
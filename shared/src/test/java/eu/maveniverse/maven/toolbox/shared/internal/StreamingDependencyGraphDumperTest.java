@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.Test;
+
+public class StreamingDependencyGraphDumperTest {
+    private static DefaultDependencyNode node(String artifactId, String scope, DependencyNode... children) {
+        DefaultDependencyNode node =
+                new DefaultDependencyNode(new Dependency(new DefaultArtifact("g:" + artifactId + ":1.0"), scope));
+        node.setChildren(Arrays.asList(children));
+        return node;
+    }
+
+    private static DependencyNode graph() {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("g:root:1.0"));
+        root.setChildren(Arrays.asList(
+                node("a", "compile", node("a1", "compile", node("a11", "runtime")), node("a2", "test")),
+                node("b", "runtime"),
+                node("c", "compile", node("c1", "compile", node("c11", "compile"), node("c12", "compile")))));
+        return root;
+    }
+
+    private static String dump(DependencyNode root, int maxDepth, int maxNodes) throws Exception {
+        StringWriter writer = new StringWriter();
+        new StreamingDependencyGraphDumper(
+                        writer, DependencyGraphDumper.defaultsWith(Collections.emptyList()), maxDepth, maxNodes)
+                .dump(root);
+        return writer.toString();
+    }
+
+    @Test
+    void sameAsDependencyGraphDumper() throws Exception {
+        DependencyNode root = graph();
+        StringBuilder expected = new StringBuilder();
+        root.accept(new DependencyGraphDumper(line -> expected.append(line).append('\n')));
+
+        StringWriter writer = new StringWriter();
+        assertEquals(10, new StreamingDependencyGraphDumper(writer).dump(root));
+        assertEquals(expected.toString(), writer.toString());
+        assertEquals(
+                expected.toString(),
+                dump(root, StreamingDependencyGraphDumper.UNLIMITED, StreamingDependencyGraphDumper.UNLIMITED));
+    }
+
+    @Test
+    void maxDepth() throws Exception {
+        assertEquals(
+                "g:root:jar:1.0\n"
+                        + "+- g:a:jar:1.0 [compile]\n"
+                        + "|  \\- ... (2 children elided)\n"
+                        + "+- g:b:jar:1.0 [runtime]\n"
+                        + "\\- g:c:jar:1.0 [compile]\n"
+                        + "   \\- ... (1 children elided)\n",
+                dump(graph(), 1, StreamingDependencyGraphDumper.UNLIMITED));
+    }
+
+    @Test
+    void maxNodes() throws Exception {
+        assertEquals(
+                "g:root:jar:1.0\n"
+                        + "+- g:a:jar:1.0 [compile]\n"
+                        + "|  +- g:a1:jar:1.0 [compile]\n"
+                        + "... (truncated after 3 nodes)\n",
+                dump(graph(), StreamingDependencyGraphDumper.UNLIMITED, 3));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactNameMapper;
+import eu.maveniverse.maven.toolbox.shared.ArtifactSink;
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import eu.maveniverse.maven.toolbox.shared.ToolboxMetrics;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ToolboxMetricsImplTest {
+    @Test
+    void record() {
+        ToolboxMetricsImpl metrics = new ToolboxMetricsImpl();
+        assertEquals("{}", metrics.toJson());
+
+        metrics.record(ToolboxMetrics.COLLECT, System.nanoTime(), 10, 0);
+        metrics.record(ToolboxMetrics.COLLECT, System.nanoTime(), 5, 0);
+        metrics.record(ToolboxMetrics.RESOLVE, System.nanoTime(), 3, 100);
+
+        Map<String, ToolboxMetrics.Phase> phases = metrics.getPhases();
+        assertEquals(Arrays.asList(ToolboxMetrics.COLLECT, ToolboxMetrics.RESOLVE), new ArrayList<>(phases.keySet()));
+        ToolboxMetrics.Phase collect = phases.get(ToolboxMetrics.COLLECT);
+        assertEquals(2, collect.getCount());
+        assertEquals(15, collect.getArtifacts());
+        assertTrue(collect.getMaxNanos() <= collect.getTotalNanos());
+        assertEquals(100, phases.get(ToolboxMetrics.RESOLVE).getBytes());
+
+        String json = metrics.toJson();
+        assertTrue(json.startsWith("{\n  \"collect\": {\"count\": 2, "), json);
+        assertTrue(json.contains("\"resolve\": {\"count\": 1, "), json);
+        assertTrue(json.endsWith("\"artifacts\": 3, \"bytes\": 100}\n}"), json);
+
+        metrics.clear();
+        assertTrue(metrics.getPhases().isEmpty());
+    }
+
+    @Test
+    void meteringSink(@TempDir Path temp) throws Exception {
+        ToolboxMetricsImpl metrics = new ToolboxMetricsImpl();
+        File file = Files.write(temp.resolve("a.jar"), new byte[42]).toFile();
+        try (ArtifactSink sink = ArtifactSinks.meteringArtifactSink(metrics, ArtifactSinks.nullArtifactSink())) {
+            sink.accept(new DefaultArtifact("g:a:1.0").setFile(file));
+            sink.accept(Arrays.asList(new DefaultArtifact("g:b:1.0"), new DefaultArtifact("g:c:1.0").setFile(file)));
+        }
+        Map<String, ToolboxMetrics.Phase> phases = metrics.getPhases();
+        assertEquals(2, phases.get(ToolboxMetrics.SINK_ACCEPT).getCount());
+        assertEquals(3, phases.get(ToolboxMetrics.SINK_ACCEPT).getArtifacts());
+        assertEquals(84, phases.get(ToolboxMetrics.SINK_ACCEPT).getBytes());
+        assertEquals(1, phases.get(ToolboxMetrics.SINK_CLOSE).getCount());
+    }
+
+    @Test
+    void meteringSinkCleansUpFailedBatch(@TempDir Path temp) throws Exception {
+        Path source = Files.createDirectories(temp.resolve("source"));
+        File a1 = Files.write(source.resolve("a1.jar"), new byte[1]).toFile();
+        File a2 = Files.write(source.resolve("a2.jar"), new byte[2]).toFile();
+        Path target = temp.resolve("target");
+        ArtifactSink sink = ArtifactSinks.meteringArtifactSink(
+                new ToolboxMetricsImpl(), DirectorySink.flat(new NullOutput(), target, ArtifactNameMapper.ACVE()));
+        // same name: overwrite prevented on second artifact
+        assertThrows(
+                IOException.class,
+                () -> sink.accept(Arrays.asList(
+                        new DefaultArtifact("g1:a:1.0").setFile(a1), new DefaultArtifact("g2:a:1.0").setFile(a2))));
+        sink.close();
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void meteringSinkEmitsEventPerArtifact(@TempDir Path temp) throws Exception {
+        ToolboxMetricsImpl metrics = new ToolboxMetricsImpl();
+        File file = Files.write(temp.resolve("a.jar"), new byte[42]).toFile();
+        Path dump = temp.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("eu.maveniverse.toolbox.SinkAccept").withoutThreshold();
+            recording.start();
+            try (ArtifactSink sink = ArtifactSinks.meteringArtifactSink(metrics, ArtifactSinks.nullArtifactSink())) {
+                sink.accept(Arrays.asList(
+                        new DefaultArtifact("g:a:1.0").setFile(file), new DefaultArtifact("g:b:1.0").setFile(file)));
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<String> artifacts = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> "eu.maveniverse.toolbox.SinkAccept"
+                        .equals(e.getEventType().getName()))
+                .map(e -> e.getString("artifact") + " " + e.getLong("bytes"))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("g:a:jar:1.0 42", "g:b:jar:1.0 42"), artifacts);
+        assertEquals(1, metrics.getPhases().get(ToolboxMetrics.SINK_ACCEPT).getCount());
+        assertEquals(2, metrics.getPhases().get(ToolboxMetrics.SINK_ACCEPT).getArtifacts());
+    }
+}
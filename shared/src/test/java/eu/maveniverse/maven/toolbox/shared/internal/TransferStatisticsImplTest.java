@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.TransferStatistics;
+import java.io.File;
+import java.util.Map;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.jupiter.api.Test;
+
+public class TransferStatisticsImplTest {
+    private final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+    private final RemoteRepository central =
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+    private final Artifact artifact = new DefaultArtifact("g:a:1.0");
+
+    private TransferEvent transfer(TransferEvent.EventType type, long bytes, Exception exception) {
+        TransferResource resource =
+                new TransferResource(central.getId(), central.getUrl(), "g/a/1.0/a-1.0.jar", new File("a.jar"), null);
+        return new TransferEvent.Builder(session, resource)
+                .setType(type)
+                .setRequestType(TransferEvent.RequestType.GET)
+                .setTransferredBytes(bytes)
+                .setException(exception)
+                .build();
+    }
+
+    private RepositoryEvent event(
+            RepositoryEvent.EventType type, org.eclipse.aether.repository.ArtifactRepository repository) {
+        return new RepositoryEvent.Builder(session, type)
+                .setArtifact(artifact)
+                .setRepository(repository)
+                .build();
+    }
+
+    @Test
+    void statistics() {
+        TransferStatisticsImpl statistics = new TransferStatisticsImpl();
+        statistics.transferSucceeded(transfer(TransferEvent.EventType.SUCCEEDED, 100, null));
+        statistics.transferSucceeded(transfer(TransferEvent.EventType.SUCCEEDED, 50, null));
+        statistics.transferFailed(
+                transfer(TransferEvent.EventType.FAILED, 0, new ArtifactNotFoundException(artifact, central)));
+        statistics.transferFailed(
+                transfer(TransferEvent.EventType.FAILED, 0, new ArtifactTransferException(artifact, central, "boom")));
+        statistics.artifactDownloaded(event(RepositoryEvent.EventType.ARTIFACT_DOWNLOADED, central));
+        statistics.artifactResolved(event(RepositoryEvent.EventType.ARTIFACT_RESOLVED, central));
+        // resolved from local repository, but reports origin
+        statistics.artifactResolved(event(RepositoryEvent.EventType.ARTIFACT_RESOLVED, central));
+        statistics.artifactResolved(
+                event(RepositoryEvent.EventType.ARTIFACT_RESOLVED, new LocalRepository("target/local")));
+
+        Map<String, TransferStatistics.RepositoryStatistics> snapshot = statistics.getStatistics();
+        assertEquals(2, snapshot.size());
+
+        TransferStatistics.RepositoryStatistics remote = snapshot.get(central.getId());
+        assertEquals(central.getUrl(), remote.getRepositoryUrl());
+        assertEquals(2, remote.getDownloads());
+        assertEquals(150, remote.getBytes());
+        assertEquals(1, remote.getNotFound());
+        assertEquals(1, remote.getFailures());
+        assertEquals(1, remote.getCacheMisses());
+        assertTrue(remote.getLatencyPercentile(0.5) >= 0);
+        assertTrue(remote.getLatencyPercentile(0.5) <= remote.getLatencyPercentile(1));
+
+        TransferStatistics.RepositoryStatistics local = snapshot.get(TransferStatistics.LOCAL);
+        assertEquals(2, local.getCacheHits());
+        assertEquals(0, local.getDownloads());
+        assertEquals(-1, local.getLatencyPercentile(0.5));
+
+        statistics.clear();
+        assertTrue(statistics.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class VerifyingSinkTest {
+    private static Path artifact(Path directory, String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void verify(@TempDir Path source) throws IOException {
+        Path good = artifact(source, "good.jar", "one");
+        Files.writeString(source.resolve("good.jar.sha1"), "FE05BCDCDC4928012781A5F1A2A77CBB5398E106");
+        Files.writeString(
+                source.resolve("good.jar.sha256"),
+                "7692c3ad3540bb803c020b3aee66cd8887123234ea0c6e7143c0add73ff431ed  good.jar");
+        Path missing = artifact(source, "missing.jar", "two");
+
+        VerifyingSink sink = VerifyingSink.verifying(new NullOutput(), 2);
+        sink.accept(new DefaultArtifact("g:good:1").setFile(good.toFile()));
+        sink.accept(new DefaultArtifact("g:missing:1").setFile(missing.toFile()));
+        sink.accept(new DefaultArtifact("g:unresolved:1"));
+        sink.close();
+
+        assertEquals(1, sink.getVerified());
+        assertEquals(0, sink.getMismatched());
+        assertEquals(2, sink.getMissing());
+    }
+
+    @Test
+    void mismatch(@TempDir Path source) throws IOException {
+        Path bad = artifact(source, "bad.jar", "one");
+        Files.writeString(source.resolve("bad.jar.sha1"), "ad782ecdac770fc6eb9a62e44f90873fb97fb26b");
+
+        VerifyingSink sink = VerifyingSink.verifying(new NullOutput(), 2);
+        sink.accept(new DefaultArtifact("g:bad:1").setFile(bad.toFile()));
+        assertThrows(IOException.class, sink::close);
+
+        assertEquals(1, sink.getVerified());
+        assertEquals(1, sink.getMismatched());
+    }
+
+    @Test
+    void failure() {
+        VerifyingSink sink = VerifyingSink.verifying(new NullOutput(), 2);
+        // invalid path makes worker fail with runtime exception
+        assertDoesNotThrow(() -> sink.accept(new DefaultArtifact("g:invalid:1").setFile(new File("invalid\0.jar"))));
+        IOException e = assertThrows(IOException.class, sink::close);
+        assertInstanceOf(InvalidPathException.class, e.getCause());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.junit.jupiter.api.Test;
+
+public class VersionRangeCacheTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final RepositorySystem repositorySystem = (RepositorySystem) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {RepositorySystem.class}, (proxy, method, args) -> {
+                if ("resolveVersionRange".equals(method.getName())) {
+                    calls.incrementAndGet();
+                    return new VersionRangeResult((VersionRangeRequest) args[1]);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private static VersionRangeRequest request(String coords, String repositoryUrl) {
+        return new VersionRangeRequest(
+                new DefaultArtifact(coords),
+                Collections.singletonList(new RemoteRepository.Builder("central", "default", repositoryUrl).build()),
+                null);
+    }
+
+    @Test
+    void cached() throws Exception {
+        VersionRangeCache cache = new VersionRangeCache(60_000);
+        VersionRangeResult result =
+                cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://repo/"));
+        assertSame(result, cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://repo/")));
+        assertEquals(1, calls.get());
+
+        cache.resolveVersionRange(repositorySystem, null, request("g:a:[1,)", "https://repo/"));
+        cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://other/"));
+        assertEquals(3, calls.get());
+
+        cache.clear();
+        cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://repo/"));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void disabled() throws Exception {
+        VersionRangeCache cache = new VersionRangeCache(0);
+        VersionRangeResult result =
+                cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://repo/"));
+        assertNotEquals(
+                result, cache.resolveVersionRange(repositorySystem, null, request("g:a:[0,)", "https://repo/")));
+        assertEquals(2, calls.get());
+    }
+}
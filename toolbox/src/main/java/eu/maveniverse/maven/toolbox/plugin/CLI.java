@@ -7,48 +7,127 @@
  */
 package eu.maveniverse.maven.toolbox.plugin;
 
-import eu.maveniverse.maven.toolbox.plugin.gav.*;
+import eu.maveniverse.maven.toolbox.plugin.gav.GavReplMojo;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import picocli.CommandLine;
 
 /**
  * Main CLI class.
+ * <p>
+ * Subcommands are registered lazily: when invoked with a subcommand, only that subcommand is introspected by
+ * picocli (and its class loaded), as doing it for all of them is significant part of CLI startup time. When invoked
+ * without subcommand (ie. for version or REPL), none of them is registered.
  */
 @CommandLine.Command(
         name = "toolbox",
-        subcommands = {
-            GavClasspathMojo.class,
-            GavCopyMojo.class,
-            GavCopyRecordedMojo.class,
-            GavCopyTransitiveMojo.class,
-            GavDeployMojo.class,
-            GavDeployRecordedMojo.class,
-            GavDumpMojo.class,
-            GavExistsMojo.class,
-            GavIdentifyMojo.class,
-            GavInstallMojo.class,
-            GavListAvailablePluginsMojo.class,
-            GavListMojo.class,
-            GavListRepositoriesMojo.class,
-            GavRecordMojo.class,
-            GavReplMojo.class,
-            GavResolveMojo.class,
-            GavResolveTransitiveMojo.class,
-            GavSearchMojo.class,
-            GavTreeMojo.class,
-            GavVerifyMojo.class
-        },
         versionProvider = CLI.class,
         description = "Toolbox CLI",
         mixinStandardHelpOptions = true)
 public class CLI extends MojoSupport {
+    /**
+     * Subcommand names mapped to command class names (not classes, to not have them loaded). New subcommands must
+     * be added here and as entry point of CLI JAR minimization in POM as well (as asserted by {@code CLITest}).
+     */
+    private static final Map<String, String> SUBCOMMANDS = new LinkedHashMap<>();
+
+    static {
+        SUBCOMMANDS.put("batch", "eu.maveniverse.maven.toolbox.plugin.gav.GavBatchMojo");
+        SUBCOMMANDS.put("cas-gc", "eu.maveniverse.maven.toolbox.plugin.gav.GavCasGcMojo");
+        SUBCOMMANDS.put("classpath", "eu.maveniverse.maven.toolbox.plugin.gav.GavClasspathMojo");
+        SUBCOMMANDS.put("copy", "eu.maveniverse.maven.toolbox.plugin.gav.GavCopyMojo");
+        SUBCOMMANDS.put("copy-recorded", "eu.maveniverse.maven.toolbox.plugin.gav.GavCopyRecordedMojo");
+        SUBCOMMANDS.put("copy-transitive", "eu.maveniverse.maven.toolbox.plugin.gav.GavCopyTransitiveMojo");
+        SUBCOMMANDS.put("daemon", "eu.maveniverse.maven.toolbox.plugin.gav.GavDaemonMojo");
+        SUBCOMMANDS.put("dedupe", "eu.maveniverse.maven.toolbox.plugin.gav.GavDedupeMojo");
+        SUBCOMMANDS.put("deploy", "eu.maveniverse.maven.toolbox.plugin.gav.GavDeployMojo");
+        SUBCOMMANDS.put("deploy-recorded", "eu.maveniverse.maven.toolbox.plugin.gav.GavDeployRecordedMojo");
+        SUBCOMMANDS.put("dump", "eu.maveniverse.maven.toolbox.plugin.gav.GavDumpMojo");
+        SUBCOMMANDS.put("evict", "eu.maveniverse.maven.toolbox.plugin.gav.GavEvictMojo");
+        SUBCOMMANDS.put("exists", "eu.maveniverse.maven.toolbox.plugin.gav.GavExistsMojo");
+        SUBCOMMANDS.put("identify", "eu.maveniverse.maven.toolbox.plugin.gav.GavIdentifyMojo");
+        SUBCOMMANDS.put("index", "eu.maveniverse.maven.toolbox.plugin.gav.GavIndexMojo");
+        SUBCOMMANDS.put("install", "eu.maveniverse.maven.toolbox.plugin.gav.GavInstallMojo");
+        SUBCOMMANDS.put(
+                "list-available-plugins", "eu.maveniverse.maven.toolbox.plugin.gav.GavListAvailablePluginsMojo");
+        SUBCOMMANDS.put("list", "eu.maveniverse.maven.toolbox.plugin.gav.GavListMojo");
+        SUBCOMMANDS.put("list-repositories", "eu.maveniverse.maven.toolbox.plugin.gav.GavListRepositoriesMojo");
+        SUBCOMMANDS.put("lock", "eu.maveniverse.maven.toolbox.plugin.gav.GavLockMojo");
+        SUBCOMMANDS.put("pipe", "eu.maveniverse.maven.toolbox.plugin.gav.GavPipeMojo");
+        SUBCOMMANDS.put("record", "eu.maveniverse.maven.toolbox.plugin.gav.GavRecordMojo");
+        SUBCOMMANDS.put("repl", "eu.maveniverse.maven.toolbox.plugin.gav.GavReplMojo");
+        SUBCOMMANDS.put("resolve", "eu.maveniverse.maven.toolbox.plugin.gav.GavResolveMojo");
+        SUBCOMMANDS.put("resolve-transitive", "eu.maveniverse.maven.toolbox.plugin.gav.GavResolveTransitiveMojo");
+        SUBCOMMANDS.put("scan", "eu.maveniverse.maven.toolbox.plugin.gav.GavScanMojo");
+        SUBCOMMANDS.put("search", "eu.maveniverse.maven.toolbox.plugin.gav.GavSearchMojo");
+        SUBCOMMANDS.put("transfer-stats", "eu.maveniverse.maven.toolbox.plugin.gav.GavTransferStatsMojo");
+        SUBCOMMANDS.put("tree", "eu.maveniverse.maven.toolbox.plugin.gav.GavTreeMojo");
+        SUBCOMMANDS.put("tree-diff", "eu.maveniverse.maven.toolbox.plugin.gav.GavTreeDiffMojo");
+        SUBCOMMANDS.put("verify", "eu.maveniverse.maven.toolbox.plugin.gav.GavVerifyMojo");
+    }
+
+    /**
+     * Creates {@link CommandLine} for given arguments, with subcommands registered. If any known subcommand name is
+     * present in arguments, only those are registered. Otherwise, if there are no arguments or version is asked for,
+     * none of them is registered, and in any other case (like help) all of them are.
+     */
+    public static CommandLine commandLine(String... args) {
+        List<String> arguments = Arrays.asList(args);
+        List<String> subcommands =
+                SUBCOMMANDS.keySet().stream().filter(arguments::contains).collect(Collectors.toList());
+        if (subcommands.isEmpty()) {
+            if (arguments.isEmpty() || arguments.contains("-V") || arguments.contains("--version")) {
+                return new CommandLine(new CLI());
+            }
+            subcommands = new ArrayList<>(SUBCOMMANDS.keySet());
+        }
+        return commandLine(subcommands);
+    }
+
+    /**
+     * Creates {@link CommandLine} with all subcommands registered.
+     */
+    public static CommandLine commandLineWithAllSubcommands() {
+        return commandLine(SUBCOMMANDS.keySet());
+    }
+
+    /**
+     * Returns subcommand names mapped to command class names.
+     */
+    static Map<String, String> subcommands() {
+        return Collections.unmodifiableMap(SUBCOMMANDS);
+    }
+
+    private static CommandLine commandLine(Collection<String> subcommands) {
+        CommandLine commandLine = new CommandLine(new CLI());
+        for (String subcommand : subcommands) {
+            try {
+                commandLine.addSubcommand(subcommand, Class.forName(SUBCOMMANDS.get(subcommand)));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Subcommand class not found", e);
+            }
+        }
+        return commandLine;
+    }
+
     @Override
     protected boolean doExecute(Output output, ToolboxCommando commando) throws Exception {
         return new GavReplMojo().doExecute(output, commando);
     }
 
     public static void main(String... args) {
-        System.exit(new CommandLine(new CLI()).execute(args));
+        Integer exitCode = Daemon.forward(args);
+        if (exitCode == null) {
+            exitCode = commandLine(args).execute(args);
+        }
+        System.exit(exitCode);
     }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.toolbox.shared.Output;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Warm daemon support for CLI: a long-lived process keeps MIMA context and toolbox commando warm, while thin
+ * clients forward their commands to it and have the output streamed back.
+ * <p>
+ * Daemon listens on loopback interface only, and writes its port and a random token into "daemon properties" file
+ * (in {@code ~/.m2/toolbox/daemon.properties}) readable only by the owner. Clients that cannot connect, or are
+ * refused by daemon (as they run in different working directory, or use options that would need different MIMA
+ * context), simply execute the command in-process.
+ * <p>
+ * Protocol: client sends token, working directory, argument count and arguments (argument count {@code -1} asks
+ * daemon to stop). Daemon replies with a series of frames: output chunks, followed by exit code or fallback frame.
+ */
+public final class Daemon {
+    private Daemon() {}
+
+    private static final byte FRAME_OUTPUT = 1;
+
+    private static final byte FRAME_EXIT = 2;
+
+    private static final byte FRAME_FALLBACK = 3;
+
+    private static final int STOP = -1;
+
+    private static final int CONNECT_TIMEOUT = 500;
+
+    /**
+     * Read timeout of request: as requests are served one by one, a client not sending (complete) request must not
+     * block the daemon.
+     */
+    private static final int REQUEST_TIMEOUT = 5000;
+
+    private static final String PORT = "port";
+
+    private static final String TOKEN = "token";
+
+    /**
+     * The daemon properties file.
+     */
+    public static Path daemonProperties() {
+        return Paths.get(System.getProperty("user.home"), ".m2", "toolbox", "daemon.properties");
+    }
+
+    /**
+     * Client: tries to forward command to running daemon. Returns exit code, or {@code null} if command was not
+     * executed by daemon, and should be executed in-process. This method must be fast and lightweight, as it runs
+     * before anything else is initialized in CLI.
+     */
+    public static Integer forward(String... args) {
+        if (args.length == 0 || "daemon".equals(args[0]) || "repl".equals(args[0]) || "batch".equals(args[0])) {
+            return null;
+        }
+        Path daemonProperties = daemonProperties();
+        if (!Files.isRegularFile(daemonProperties)) {
+            return null;
+        }
+        try (Socket socket = connect(daemonProperties)) {
+            if (socket == null) {
+                return null;
+            }
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(Paths.get("").toAbsolutePath().toString());
+            out.writeInt(args.length);
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+            return receive(new DataInputStream(new BufferedInputStream(socket.getInputStream())), System.err);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Client: asks running daemon to stop. Returns {@code true} if daemon was running and acknowledged the request.
+     */
+    public static boolean stop() throws IOException {
+        Path daemonProperties = daemonProperties();
+        if (!Files.isRegularFile(daemonProperties)) {
+            return false;
+        }
+        try (Socket socket = connect(daemonProperties)) {
+            if (socket == null) {
+                return false;
+            }
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(Paths.get("").toAbsolutePath().toString());
+            out.writeInt(STOP);
+            out.flush();
+            return receive(new DataInputStream(new BufferedInputStream(socket.getInputStream())), System.err) != null;
+        }
+    }
+
+    private static Socket connect(Path daemonProperties) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(daemonProperties)) {
+            properties.load(in);
+        }
+        String port = properties.getProperty(PORT);
+        String token = properties.getProperty(TOKEN);
+        if (port == null || token == null) {
+            return null;
+        }
+        Socket socket = new Socket();
+        try {
+            socket.connect(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port)), CONNECT_TIMEOUT);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF(token);
+            return socket;
+        } catch (IOException | NumberFormatException e) {
+            socket.close();
+            return null;
+        }
+    }
+
+    private static Integer receive(DataInputStream in, PrintStream target) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (true) {
+            byte frame = in.readByte();
+            switch (frame) {
+                case FRAME_OUTPUT:
+                    int length = in.readInt();
+                    if (length > buffer.length) {
+                        buffer = new byte[length];
+                    }
+                    in.readFully(buffer, 0, length);
+                    target.write(buffer, 0, length);
+                    target.flush();
+                    break;
+                case FRAME_EXIT:
+                    return in.readInt();
+                case FRAME_FALLBACK:
+                    return null;
+                default:
+                    throw new IOException("Unknown frame: " + frame);
+            }
+        }
+    }
+
+    /**
+     * Server: serves requests (one by one) until stopped. Context and commando are expected to be already present
+     * in current "context", as all the requests are executed with them.
+     */
+    public static void serve(Output output) throws IOException {
+        requireNonNull(output, "output");
+        Path daemonProperties = daemonProperties();
+        String token = UUID.randomUUID().toString();
+        String cwd = Paths.get("").toAbsolutePath().toString();
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            writeDaemonProperties(daemonProperties, serverSocket.getLocalPort(), token);
+            output.normal("Daemon listening on port {} (working directory {})", serverSocket.getLocalPort(), cwd);
+            try {
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = serverSocket.accept()) {
+                        running = handle(socket, token, cwd, output);
+                    } catch (IOException e) {
+                        output.warn("Daemon request failed", e);
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(daemonProperties);
+            }
+        }
+        output.normal("Daemon stopped");
+    }
+
+    private static void writeDaemonProperties(Path daemonProperties, int port, String token) throws IOException {
+        Files.createDirectories(daemonProperties.getParent());
+        Path tmp = Files.createTempFile(daemonProperties.getParent(), "daemon", ".tmp");
+        try {
+            try {
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system
+            }
+            Properties properties = new Properties();
+            properties.setProperty(PORT, Integer.toString(port));
+            properties.setProperty(TOKEN, token);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "Toolbox daemon");
+            }
+            Files.move(tmp, daemonProperties, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static boolean handle(Socket socket, String token, String cwd, Output output) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        if (!MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            output.warn("Daemon refused request with invalid token");
+            return true;
+        }
+        String clientCwd = in.readUTF();
+        int argc = in.readInt();
+        if (argc == STOP) {
+            out.writeByte(FRAME_EXIT);
+            out.writeInt(0);
+            out.flush();
+            return false;
+        }
+        String[] args = new String[argc];
+        for (int i = 0; i < argc; i++) {
+            args[i] = in.readUTF();
+        }
+        if (!cwd.equals(clientCwd)) {
+            output.verbose("Daemon refused request from different working directory {}", clientCwd);
+            out.writeByte(FRAME_FALLBACK);
+            out.flush();
+            return true;
+        }
+
+        output.verbose("Daemon executing {}", String.join(" ", args));
+        Integer exitCode = NestedInvocation.execute(
+                new PrintStream(new FrameOutputStream(out), true, StandardCharsets.UTF_8), args);
+        if (exitCode == null) {
+            out.writeByte(FRAME_FALLBACK);
+        } else {
+            out.writeByte(FRAME_EXIT);
+            out.writeInt(exitCode);
+        }
+        out.flush();
+        return true;
+    }
+
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+
+        private FrameOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            out.writeByte(FRAME_OUTPUT);
+            out.writeInt(len);
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -8,6 +8,9 @@
 package eu.maveniverse.maven.toolbox.plugin;
 
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.aether.repository.RemoteRepository;
 import picocli.CommandLine;
@@ -42,6 +45,17 @@ public abstract class GavSearchMojoSupport extends GavMojoSupport {
     private String repositoryVendor;
 
     protected RemoteRepository getRemoteRepository(ToolboxCommando toolboxCommando) {
+        String repositoryId = this.repositoryId;
+        if ("central".equals(repositoryId)
+                && repositoryBaseUri == null
+                && getContext().repositorySystemSession().isOffline()) {
+            // offline: use local index (if built) instead of remote services
+            RemoteRepository local =
+                    toolboxCommando.getKnownSearchRemoteRepositories().get("local");
+            if (local != null && Files.isRegularFile(Paths.get(URI.create(local.getUrl())))) {
+                repositoryId = "local";
+            }
+        }
         RemoteRepository remoteRepository =
                 toolboxCommando.getKnownSearchRemoteRepositories().get(repositoryId);
         if (remoteRepository != null) {
@@ -7,17 +7,24 @@
  */
 package eu.maveniverse.maven.toolbox.plugin;
 
+import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.artifact.ArtifactTypeRegistry;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 
 /**
  * Support class for "project aware" Mojos.
@@ -32,6 +39,49 @@ public abstract class MPMojoSupport extends MojoSupport {
     @Component
     protected ArtifactHandlerManager artifactHandlerManager;
 
+    /**
+     * Aggregator mode: if {@code true}, mojo processes all the projects of reactor at once (concurrently, sharing
+     * caches), when invoked on aggregating project (see {@link #aggregatingProject()}); on all other projects it does
+     * nothing.
+     */
+    @Parameter(property = "aggregate", defaultValue = "false")
+    protected boolean aggregate;
+
+    /**
+     * Returns {@code true} if mojo is in aggregator mode but invoked on a project that is not the aggregating one,
+     * hence should do nothing.
+     */
+    protected boolean skipAggregated(Output output) {
+        if (aggregate) {
+            MavenProject aggregatingProject = aggregatingProject();
+            if (!mavenProject.equals(aggregatingProject)) {
+                output.verbose("Aggregating on {}; skipping {}", aggregatingProject.getId(), mavenProject.getId());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the project aggregation happens on: the top level project, if it is execution root present in reactor,
+     * otherwise (like when using {@code -pl} or {@code -f} on a module) the last project of reactor.
+     */
+    protected MavenProject aggregatingProject() {
+        List<MavenProject> projects = mavenSession.getProjects();
+        MavenProject topLevelProject = mavenSession.getTopLevelProject();
+        if (topLevelProject != null && topLevelProject.isExecutionRoot() && projects.contains(topLevelProject)) {
+            return topLevelProject;
+        }
+        return projects.get(projects.size() - 1);
+    }
+
+    /**
+     * Returns the projects to process: all reactor projects in aggregator mode, or current project only.
+     */
+    protected List<MavenProject> projects() {
+        return aggregate ? mavenSession.getProjects() : Collections.singletonList(mavenProject);
+    }
+
     protected List<Dependency> toDependencies(List<org.apache.maven.model.Dependency> dependencies) {
         ArtifactTypeRegistry artifactTypeRegistry =
                 mavenSession.getRepositorySession().getArtifactTypeRegistry();
@@ -41,6 +91,42 @@ public abstract class MPMojoSupport extends MojoSupport {
     }
 
     protected ResolutionRoot projectAsResolutionRoot() {
+        return projectAsResolutionRoot(mavenProject);
+    }
+
+    /**
+     * Returns the {@link #projects()} as resolution roots.
+     */
+    protected List<ResolutionRoot> projectsAsResolutionRoots() {
+        return projects().stream().map(this::projectAsResolutionRoot).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the dependencies of {@link #projects()} matched by given matcher, as loaded resolution roots (with their
+     * project dependency management applied). Dependencies present in multiple projects having same dependency
+     * management are returned only once.
+     */
+    protected List<ResolutionRoot> dependenciesAsResolutionRoots(Predicate<Dependency> dependencyMatcher) {
+        LinkedHashMap<String, ResolutionRoot> result = new LinkedHashMap<>();
+        for (MavenProject project : projects()) {
+            ResolutionRoot root = projectAsResolutionRoot(project);
+            List<Dependency> managedDependencies =
+                    root.getManagedDependencies() == null ? Collections.emptyList() : root.getManagedDependencies();
+            String management = managedDependencies.stream()
+                    .map(d -> d + " " + d.getExclusions())
+                    .collect(Collectors.joining(","));
+            root.getDependencies().stream()
+                    .filter(dependencyMatcher)
+                    .forEach(d -> result.computeIfAbsent(
+                            ArtifactIdUtils.toId(d.getArtifact()) + " " + management,
+                            k -> ResolutionRoot.ofLoaded(d.getArtifact())
+                                    .withManagedDependencies(managedDependencies)
+                                    .build()));
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    protected ResolutionRoot projectAsResolutionRoot(MavenProject mavenProject) {
         ResolutionRoot.Builder builder = ResolutionRoot.ofNotLoaded(new DefaultArtifact(
                         mavenProject.getGroupId(),
                         mavenProject.getArtifactId(),
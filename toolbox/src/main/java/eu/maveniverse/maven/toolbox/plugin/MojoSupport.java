@@ -26,7 +26,10 @@ import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.Slf4jOutput;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommandoVersion;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import org.apache.maven.plugin.AbstractMojo;
@@ -209,6 +213,15 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
         return builder.build();
     }
 
+    private boolean hasContextOptions() {
+        return offline
+                || userSettingsXml != null
+                || globalSettingsXml != null
+                || (profiles != null && !profiles.isEmpty())
+                || (userProperties != null && !userProperties.isEmpty())
+                || proxy != null;
+    }
+
     private ContextOverrides createMavenContextOverrides() {
         return ContextOverrides.create().build();
     }
@@ -235,7 +248,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
         }
         if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
             log(
-                    System.err,
+                    err(),
                     ansi().a(INTENSITY_FAINT)
                             .fg(WHITE)
                             .a(MessageFormatter.arrayFormat(format, Arrays.copyOfRange(args, 0, args.length - 1))
@@ -245,7 +258,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
                     (Throwable) args[args.length - 1]);
         } else {
             log(
-                    System.err,
+                    err(),
                     ansi().a(INTENSITY_FAINT)
                             .fg(WHITE)
                             .a(MessageFormatter.arrayFormat(format, args).getMessage())
@@ -257,7 +270,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
     private void normal(String format, Object... args) {
         if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
             log(
-                    System.err,
+                    err(),
                     ansi().fg(WHITE)
                             .a(MessageFormatter.arrayFormat(format, Arrays.copyOfRange(args, 0, args.length - 1))
                                     .getMessage())
@@ -266,7 +279,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
                     (Throwable) args[args.length - 1]);
         } else {
             log(
-                    System.err,
+                    err(),
                     ansi().fg(WHITE)
                             .a(MessageFormatter.arrayFormat(format, args).getMessage())
                             .reset()
@@ -277,7 +290,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
     private void warn(String format, Object... args) {
         if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
             log(
-                    System.err,
+                    err(),
                     ansi().fg(YELLOW)
                             .a(MessageFormatter.arrayFormat(format, Arrays.copyOfRange(args, 0, args.length - 1))
                                     .getMessage())
@@ -286,7 +299,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
                     (Throwable) args[args.length - 1]);
         } else {
             log(
-                    System.err,
+                    err(),
                     ansi().fg(YELLOW)
                             .a(MessageFormatter.arrayFormat(format, args).getMessage())
                             .reset()
@@ -297,7 +310,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
     private void error(String format, Object... args) {
         if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
             log(
-                    System.err,
+                    err(),
                     ansi().a(INTENSITY_BOLD)
                             .fg(RED)
                             .a(MessageFormatter.arrayFormat(format, Arrays.copyOfRange(args, 0, args.length - 1))
@@ -307,7 +320,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
                     (Throwable) args[args.length - 1]);
         } else {
             log(
-                    System.err,
+                    err(),
                     ansi().a(INTENSITY_BOLD)
                             .fg(RED)
                             .a(MessageFormatter.arrayFormat(format, args).getMessage())
@@ -316,6 +329,11 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
         }
     }
 
+    private PrintStream err() {
+        NestedInvocation invocation = NestedInvocation.current();
+        return invocation != null ? invocation.stream() : System.err;
+    }
+
     private void log(PrintStream ps, String message) {
         log(ps, message, null);
     }
@@ -405,14 +423,22 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
      */
     @Override
     public final Integer call() {
+        NestedInvocation invocation = NestedInvocation.current();
+        if (invocation != null && hasContextOptions()) {
+            // context is already created and is shared; let the caller decide what to do
+            invocation.refuse();
+            return 1;
+        }
         Ansi.setEnabled(!batch);
-        boolean seeded = CONTEXT.compareAndSet(null, new HashMap<>());
+        boolean seeded = CONTEXT.compareAndSet(null, new ConcurrentHashMap<>());
         getOrCreate(Output.class, this::createCliOutput);
         getOrCreate(Runtime.class, Runtimes.INSTANCE::getRuntime);
         getOrCreate(Context.class, () -> get(Runtime.class).create(createCLIContextOverrides()));
 
         try {
-            boolean result = doExecute(getOutput(), getToolboxCommando());
+            // nested invocations use their own output, as their options and streams differ
+            Output output = invocation != null ? createCliOutput() : getOutput();
+            boolean result = doExecute(output, getToolboxCommando());
             if (!result && failOnLogicalFailure) {
                 return 1;
             } else {
@@ -422,6 +448,7 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
             error("Error", e);
             return 1;
         } finally {
+            writeMetrics();
             if (seeded) {
                 getContext().close();
             }
@@ -441,6 +468,13 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
     @Parameter(property = "failOnLogicalFailure", defaultValue = "true")
     protected boolean failOnLogicalFailure;
 
+    @CommandLine.Option(
+            names = {"--metrics-json"},
+            description =
+                    "Write metrics (per phase timers, counters and bytes) as JSON to given file at the end of run")
+    @Parameter(property = "metricsJson")
+    protected Path metricsJson;
+
     @Parameter(defaultValue = "${settings}", readonly = true, required = true)
     protected Settings settings;
 
@@ -463,6 +497,23 @@ public abstract class MojoSupport extends AbstractMojo implements Callable<Integ
             throw new MojoExecutionException(e);
         } catch (Exception e) {
             throw new MojoFailureException(e);
+        } finally {
+            writeMetrics();
+        }
+    }
+
+    private void writeMetrics() {
+        if (metricsJson != null) {
+            try {
+                Path parent = metricsJson.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Files.write(
+                        metricsJson, getToolboxCommando().getMetrics().toJson().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                getOutput().warn("Could not write metrics to {}", metricsJson, e);
+            }
         }
     }
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+
+/**
+ * CLI command invocation nested into already running CLI (like daemon or batch is), that reuses its MIMA context and
+ * toolbox commando, but writes its output to its own stream.
+ * <p>
+ * Nested invocations using options that would need different MIMA context (offline, settings, profiles, user
+ * properties, proxy) are refused.
+ */
+public final class NestedInvocation {
+    private static final ThreadLocal<NestedInvocation> CURRENT = new ThreadLocal<>();
+
+    private final PrintStream stream;
+
+    private boolean refused;
+
+    private NestedInvocation(PrintStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Returns the nested invocation current thread is executing, or {@code null}.
+     */
+    static NestedInvocation current() {
+        return CURRENT.get();
+    }
+
+    PrintStream stream() {
+        return stream;
+    }
+
+    void refuse() {
+        this.refused = true;
+    }
+
+    /**
+     * Executes CLI command with given arguments on current thread, writing all its output to given stream. Returns
+     * command exit code, or {@code null} if invocation was refused.
+     */
+    public static Integer execute(PrintStream stream, String... args) {
+        requireNonNull(stream, "stream");
+        requireNonNull(args, "args");
+        NestedInvocation invocation = new NestedInvocation(stream);
+        CURRENT.set(invocation);
+        try {
+            PrintWriter writer = new PrintWriter(stream, true);
+            int exitCode = CLI.commandLine(args).setOut(writer).setErr(writer).execute(args);
+            return invocation.refused ? null : exitCode;
+        } finally {
+            CURRENT.remove();
+            stream.flush();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.plugin.NestedInvocation;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Executes a script of toolbox commands (one command per line) within one context.
+ */
+@CommandLine.Command(
+        name = "batch",
+        description = "Executes a script of toolbox commands (one per line, '#' starts a comment) within one context")
+@Mojo(name = "gav-batch", requiresProject = false, threadSafe = true)
+public class GavBatchMojo extends GavMojoSupport {
+    /**
+     * The script file to execute (default is to read standard input).
+     */
+    @CommandLine.Parameters(
+            index = "0",
+            arity = "0..1",
+            description = "The script file to execute (default or '-' is to read standard input)")
+    @Parameter(property = "script")
+    private String script;
+
+    /**
+     * Count of threads to execute commands with; if more than 1, commands must be independent of each other.
+     */
+    @CommandLine.Option(
+            names = {"--threads"},
+            defaultValue = "1",
+            description =
+                    "Count of threads to execute commands with; if more than 1, commands must be independent of each other")
+    @Parameter(property = "threads", defaultValue = "1")
+    private int threads;
+
+    private static final class Command {
+        private final int lineNo;
+        private final String line;
+        private final String[] args;
+
+        private Command(int lineNo, String line, String[] args) {
+            this.lineNo = lineNo;
+            this.line = line;
+            this.args = args;
+        }
+    }
+
+    private static final class Result {
+        private final Command command;
+        private final Integer exitCode;
+        private final ByteArrayOutputStream buffer;
+
+        private Result(Command command, Integer exitCode, ByteArrayOutputStream buffer) {
+            this.command = command;
+            this.exitCode = exitCode;
+            this.buffer = buffer;
+        }
+    }
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be greater than 0");
+        }
+        List<String> lines;
+        if (script == null || "-".equals(script)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            lines = reader.lines().collect(Collectors.toList());
+        } else {
+            lines = Files.readAllLines(Paths.get(script), StandardCharsets.UTF_8);
+        }
+        return execute(output, System.err, lines, threads, NestedInvocation::execute);
+    }
+
+    /**
+     * Executes script lines using given invoker, with given count of threads. Script with invalid lines is rejected
+     * as whole, before any command is executed. Output of commands is written to given stream in script order.
+     */
+    static boolean execute(
+            Output output,
+            PrintStream stream,
+            List<String> lines,
+            int threads,
+            BiFunction<PrintStream, String[], Integer> invoker)
+            throws Exception {
+        ArrayList<Command> commands = new ArrayList<>();
+        int invalid = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                String[] args = parse(lines.get(i));
+                if (args.length > 0) {
+                    commands.add(new Command(i + 1, lines.get(i), args));
+                }
+            } catch (IllegalArgumentException e) {
+                output.error("Line {}: {}: {}", i + 1, e.getMessage(), lines.get(i));
+                invalid++;
+            }
+        }
+        if (invalid > 0) {
+            output.error("Script has {} invalid lines; no command executed", invalid);
+            return false;
+        }
+
+        int executed = 0;
+        int failed = 0;
+        if (threads == 1) {
+            for (Command command : commands) {
+                output.verbose("{}: {}", command.lineNo, command.line);
+                Integer exitCode = invoker.apply(stream, command.args);
+                executed++;
+                if (!report(output, command, exitCode)) {
+                    failed++;
+                }
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                ArrayList<Future<Result>> results = new ArrayList<>();
+                for (Command command : commands) {
+                    results.add(executor.submit(() -> {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                        Integer exitCode =
+                                invoker.apply(new PrintStream(buffer, true, StandardCharsets.UTF_8), command.args);
+                        return new Result(command, exitCode, buffer);
+                    }));
+                }
+                // output is emitted in script order
+                for (Future<Result> future : results) {
+                    Result result = future.get();
+                    output.verbose("{}: {}", result.command.lineNo, result.command.line);
+                    stream.write(result.buffer.toByteArray());
+                    stream.flush();
+                    executed++;
+                    if (!report(output, result.command, result.exitCode)) {
+                        failed++;
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        output.normal("Executed {} commands ({} failed)", executed, failed);
+        return failed == 0;
+    }
+
+    private static boolean report(Output output, Command command, Integer exitCode) {
+        if (exitCode == null) {
+            output.error(
+                    "Line {}: options affecting context are not supported in batch: {}", command.lineNo, command.line);
+            return false;
+        } else if (exitCode != 0) {
+            output.error("Line {}: failed with exit code {}: {}", command.lineNo, exitCode, command.line);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Splits line into arguments on whitespace, honoring single and double quotes; empty lines and lines starting
+     * with '#' results in no arguments. Unbalanced quotes are rejected with {@link IllegalArgumentException}.
+     */
+    static String[] parse(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return new String[0];
+        }
+        ArrayList<String> args = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inArg = false;
+        char quote = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) {
+                    args.add(current.toString());
+                    current.setLength(0);
+                    inArg = false;
+                }
+            } else {
+                current.append(c);
+                inArg = true;
+            }
+        }
+        if (quote != 0) {
+            throw new IllegalArgumentException("Unbalanced quotes");
+        }
+        if (inArg) {
+            args.add(current.toString());
+        }
+        return args.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Garbage collects content addressable store, removing objects no longer linked from any layout.
+ */
+@CommandLine.Command(
+        name = "cas-gc",
+        description = "Garbage collects content addressable store, removing objects no longer linked from any layout")
+@Mojo(name = "gav-cas-gc", requiresProject = false, threadSafe = true)
+public final class GavCasGcMojo extends GavMojoSupport {
+    /**
+     * Only report what would be removed.
+     */
+    @CommandLine.Option(
+            names = {"--dryRun"},
+            defaultValue = "false",
+            description = "Only report what would be removed")
+    @Parameter(property = "dryRun", defaultValue = "false")
+    private boolean dryRun;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.casGc(dryRun, output);
+    }
+}
@@ -11,6 +11,7 @@ import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import picocli.CommandLine;
@@ -49,8 +50,22 @@ public class GavClasspathMojo extends GavMojoSupport {
     @Parameter(property = "boms")
     private String boms;
 
+    /**
+     * The lockfile to use: if exists, locked artifacts are resolved without collecting dependencies, otherwise it
+     * is written.
+     */
+    @CommandLine.Option(
+            names = {"--lockfile"},
+            description = "The lockfile to use, or to write if does not exist")
+    @Parameter(property = "lockfile")
+    private File lockfile;
+
     @Override
     protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        if (lockfile != null) {
+            return toolboxCommando.classpath(
+                    ResolutionScope.parse(scope), toolboxCommando.loadGav(gav, slurp(boms)), lockfile.toPath(), output);
+        }
         return toolboxCommando.classpath(
                 ResolutionScope.parse(scope), toolboxCommando.loadGav(gav, slurp(boms)), output);
     }
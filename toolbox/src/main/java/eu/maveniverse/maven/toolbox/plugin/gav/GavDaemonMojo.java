@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.Daemon;
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+        name = "daemon",
+        description = "Starts (or stops) warm daemon that executes CLI commands invoked from same working directory")
+@Mojo(name = "gav-daemon", requiresProject = false, threadSafe = true)
+public class GavDaemonMojo extends GavMojoSupport {
+    /**
+     * Stop the running daemon instead of starting one.
+     */
+    @CommandLine.Option(
+            names = {"--stop"},
+            description = "Stop the running daemon instead of starting one")
+    @Parameter(property = "stop", defaultValue = "false")
+    private boolean stop;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        if (stop) {
+            if (Daemon.stop()) {
+                output.normal("Daemon stopped");
+                return true;
+            } else {
+                output.warn("Daemon is not running");
+                return false;
+            }
+        }
+        Daemon.serve(output);
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Deduplicates artifact files across local repositories by replacing identical files with hard links.
+ */
+@CommandLine.Command(
+        name = "dedupe",
+        description =
+                "Deduplicates artifact files across local repositories by replacing identical files with hard links")
+@Mojo(name = "gav-dedupe", requiresProject = false, threadSafe = true)
+public final class GavDedupeMojo extends GavMojoSupport {
+    /**
+     * The local repositories to deduplicate (if none given, the local repository).
+     */
+    @CommandLine.Parameters(
+            index = "0",
+            arity = "0..*",
+            description = "The local repositories to deduplicate (if none given, the local repository)")
+    @Parameter(property = "repositories")
+    private List<File> repositories;
+
+    /**
+     * Only report what would be linked.
+     */
+    @CommandLine.Option(
+            names = {"--dryRun"},
+            defaultValue = "false",
+            description = "Only report what would be linked")
+    @Parameter(property = "dryRun", defaultValue = "false")
+    private boolean dryRun;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.dedupe(
+                repositories != null
+                        ? repositories.stream().map(File::toPath).collect(Collectors.toList())
+                        : Collections.emptyList(),
+                dryRun,
+                output);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Evicts least recently used GAVs from local repository, until it meets the size budget.
+ */
+@CommandLine.Command(
+        name = "evict",
+        description = "Evicts least recently used GAVs from local repository, until it meets the size budget")
+@Mojo(name = "gav-evict", requiresProject = false, threadSafe = true)
+public final class GavEvictMojo extends GavMojoSupport {
+    /**
+     * The size budget of local repository, like {@code 500m} or {@code 10g}.
+     */
+    @CommandLine.Parameters(index = "0", description = "The size budget of local repository, like '500m' or '10g'")
+    @Parameter(property = "budget", required = true)
+    private String budget;
+
+    /**
+     * Only report what would be evicted.
+     */
+    @CommandLine.Option(
+            names = {"--dryRun"},
+            defaultValue = "false",
+            description = "Only report what would be evicted")
+    @Parameter(property = "dryRun", defaultValue = "false")
+    private boolean dryRun;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.evict(budget, dryRun, output);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Builds local index of a repository directory, usable for offline search with repository ID "local".
+ */
+@CommandLine.Command(
+        name = "index",
+        description =
+                "Builds local index of a repository directory, usable for offline search with repository ID 'local'")
+@Mojo(name = "gav-index", requiresProject = false, threadSafe = true)
+public class GavIndexMojo extends GavMojoSupport {
+    /**
+     * The repository directory to index (default is local repository).
+     */
+    @CommandLine.Option(
+            names = {"--repository"},
+            description = "The repository directory to index (default is local repository)")
+    @Parameter(property = "repository")
+    private File repository;
+
+    /**
+     * The index file to write (default is the one used by repository ID "local").
+     */
+    @CommandLine.Option(
+            names = {"--index"},
+            description = "The index file to write (default is the one used by repository ID 'local')")
+    @Parameter(property = "index")
+    private File index;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.indexLocal(
+                repository != null ? repository.toPath() : null, index != null ? index.toPath() : null, output);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Resolves Maven Artifact and writes its resolved artifact set into lockfile.
+ */
+@CommandLine.Command(name = "lock", description = "Resolves Maven Artifact and writes lockfile")
+@Mojo(name = "gav-lock", requiresProject = false, threadSafe = true)
+public class GavLockMojo extends GavMojoSupport {
+    /**
+     * The artifact coordinates in the format {@code <groupId>:<artifactId>[:<extension>[:<classifier>]]:<version>}
+     * to lock.
+     */
+    @CommandLine.Parameters(index = "0", description = "The GAV to lock")
+    @Parameter(property = "gav", required = true)
+    private String gav;
+
+    /**
+     * The resolution scope to lock, accepted values are "runtime", "compile", "test", etc.
+     */
+    @CommandLine.Option(
+            names = {"--scope"},
+            defaultValue = "runtime",
+            description = "Resolution scope to resolve (default 'runtime')")
+    @Parameter(property = "scope", defaultValue = "runtime", required = true)
+    private String scope;
+
+    /**
+     * Apply BOMs, if needed. Comma separated GAVs.
+     */
+    @CommandLine.Option(
+            names = {"--boms"},
+            defaultValue = "",
+            description = "Comma separated list of BOMs to apply")
+    @Parameter(property = "boms")
+    private String boms;
+
+    /**
+     * The lockfile to write.
+     */
+    @CommandLine.Option(
+            names = {"--lockfile"},
+            defaultValue = "toolbox.lock",
+            description = "The lockfile to write (default 'toolbox.lock')")
+    @Parameter(property = "lockfile", defaultValue = "toolbox.lock", required = true)
+    private File lockfile;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.lock(
+                ResolutionScope.parse(scope), toolboxCommando.loadGav(gav, slurp(boms)), lockfile.toPath(), output);
+    }
+}
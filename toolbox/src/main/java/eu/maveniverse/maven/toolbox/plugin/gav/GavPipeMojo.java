@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Streams Maven Artifacts from given source to given sink.
+ */
+@CommandLine.Command(name = "pipe", description = "Streams Maven Artifacts from specified source to specified sink")
+@Mojo(name = "gav-pipe", requiresProject = false, threadSafe = true)
+public final class GavPipeMojo extends GavMojoSupport {
+    /**
+     * The source spec.
+     */
+    @CommandLine.Parameters(index = "0", description = "The source spec", arity = "1")
+    @Parameter(property = "sourceSpec", required = true)
+    private String sourceSpec;
+
+    /**
+     * The sink spec.
+     */
+    @CommandLine.Parameters(index = "1", description = "The sink spec", arity = "1")
+    @Parameter(property = "sinkSpec", required = true)
+    private String sinkSpec;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.pipe(
+                toolboxCommando.artifactSource(output, sourceSpec),
+                toolboxCommando.artifactSink(output, sinkSpec),
+                output);
+    }
+}
@@ -46,7 +46,7 @@ public class GavReplMojo extends GavMojoSupport {
         builtins.alias("zle", "widget");
         builtins.alias("bindkey", "keymap");
         // set up picocli commands
-        CommandLine cmd = new CommandLine(new CLI());
+        CommandLine cmd = CLI.commandLineWithAllSubcommands();
         PicocliCommands picocliCommands = new PicocliCommands(cmd);
 
         Parser parser = new DefaultParser();
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Scans local repository (or any directory laid out as repository) and passes all found artifacts to given sink.
+ */
+@CommandLine.Command(
+        name = "scan",
+        description = "Scans local repository and passes all found Maven Artifacts to specified sink")
+@Mojo(name = "gav-scan", requiresProject = false, threadSafe = true)
+public final class GavScanMojo extends GavMojoSupport {
+    /**
+     * The sink spec.
+     */
+    @CommandLine.Parameters(
+            index = "0",
+            arity = "0..1",
+            defaultValue = "counting()",
+            description = "The sink spec (default 'counting()')")
+    @Parameter(property = "sinkSpec", defaultValue = "counting()", required = true)
+    private String sinkSpec;
+
+    /**
+     * The directory laid out as repository to scan, instead of local repository.
+     */
+    @CommandLine.Option(
+            names = {"--repository"},
+            description = "The directory laid out as repository to scan, instead of local repository")
+    @Parameter(property = "repository")
+    private File repository;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.scan(
+                repository != null ? repository.toPath() : null,
+                toolboxCommando.artifactSink(output, sinkSpec),
+                output);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Prints transfer statistics per repository.
+ */
+@CommandLine.Command(
+        name = "transfer-stats",
+        description = "Prints transfer statistics per repository (downloads, bytes, latencies, failures, cache hits)")
+@Mojo(name = "gav-transfer-stats", requiresProject = false, threadSafe = true)
+public final class GavTransferStatsMojo extends GavMojoSupport {
+    /**
+     * Clears statistics after printing them.
+     */
+    @CommandLine.Option(
+            names = {"--clear"},
+            description = "Clears statistics after printing them")
+    @Parameter(property = "clear", defaultValue = "false", required = true)
+    private boolean clear;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) {
+        return toolboxCommando.transferStats(clear, output);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import picocli.CommandLine;
+
+/**
+ * Displays differences of dependency trees of two Maven Artifacts (or same Maven Artifact with different BOMs).
+ */
+@CommandLine.Command(
+        name = "tree-diff",
+        description =
+                "Displays differences of dependency trees of two Maven Artifacts (or same Maven Artifact with different BOMs)")
+@Mojo(name = "gav-tree-diff", requiresProject = false, threadSafe = true)
+public class GavTreeDiffMojo extends GavMojoSupport {
+    /**
+     * The left GAV.
+     */
+    @CommandLine.Parameters(index = "0", description = "The left GAV", arity = "1")
+    @Parameter(property = "leftGav", required = true)
+    private String leftGav;
+
+    /**
+     * The right GAV.
+     */
+    @CommandLine.Parameters(index = "1", description = "The right GAV", arity = "1")
+    @Parameter(property = "rightGav", required = true)
+    private String rightGav;
+
+    /**
+     * Resolution scope to resolve (default 'runtime').
+     */
+    @CommandLine.Option(
+            names = {"--scope"},
+            defaultValue = "runtime",
+            description = "Resolution scope to resolve (default 'runtime')")
+    @Parameter(property = "scope", defaultValue = "runtime", required = true)
+    private String scope;
+
+    /**
+     * Comma separated list of BOMs to apply to left GAV.
+     */
+    @CommandLine.Option(
+            names = {"--leftBoms"},
+            defaultValue = "",
+            description = "Comma separated list of BOMs to apply to left GAV")
+    @Parameter(property = "leftBoms")
+    private String leftBoms;
+
+    /**
+     * Comma separated list of BOMs to apply to right GAV.
+     */
+    @CommandLine.Option(
+            names = {"--rightBoms"},
+            defaultValue = "",
+            description = "Comma separated list of BOMs to apply to right GAV")
+    @Parameter(property = "rightBoms")
+    private String rightBoms;
+
+    @Override
+    protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        return toolboxCommando.treeDiff(
+                ResolutionScope.parse(scope),
+                toolboxCommando.loadGav(leftGav, slurp(leftBoms)),
+                toolboxCommando.loadGav(rightGav, slurp(rightBoms)),
+                output);
+    }
+}
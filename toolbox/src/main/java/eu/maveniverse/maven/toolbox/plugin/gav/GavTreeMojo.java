@@ -11,6 +11,8 @@ import eu.maveniverse.maven.toolbox.plugin.GavMojoSupport;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
+import java.io.File;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import picocli.CommandLine;
@@ -58,9 +60,55 @@ public class GavTreeMojo extends GavMojoSupport {
     @Parameter(property = "verboseTree", defaultValue = "false", required = true)
     private boolean verboseTree;
 
+    /**
+     * Maximum depth of tree to display (root is at depth 0), negative for unlimited.
+     */
+    @CommandLine.Option(
+            names = {"--maxDepth"},
+            defaultValue = "-1",
+            description = "Maximum depth of tree to display (root is at depth 0), negative for unlimited")
+    @Parameter(property = "maxDepth", defaultValue = "-1")
+    private int maxDepth;
+
+    /**
+     * Maximum count of nodes to display, negative for unlimited.
+     */
+    @CommandLine.Option(
+            names = {"--maxNodes"},
+            defaultValue = "-1",
+            description = "Maximum count of nodes to display, negative for unlimited")
+    @Parameter(property = "maxNodes", defaultValue = "-1")
+    private int maxNodes;
+
+    /**
+     * The tree format: text, json, dot or graphml (default 'text').
+     */
+    @CommandLine.Option(
+            names = {"--format"},
+            defaultValue = "text",
+            description = "The tree format: text, json, dot or graphml (default 'text')")
+    @Parameter(property = "format", defaultValue = "text", required = true)
+    private String format;
+
+    /**
+     * The file to write tree to, instead to display it.
+     */
+    @CommandLine.Option(
+            names = {"--output"},
+            description = "The file to write tree to, instead to display it")
+    @Parameter(property = "output")
+    private File outputFile;
+
     @Override
     protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
         return toolboxCommando.tree(
-                ResolutionScope.parse(scope), toolboxCommando.loadGav(gav, slurp(boms)), verboseTree, output);
+                ResolutionScope.parse(scope),
+                toolboxCommando.loadGav(gav, slurp(boms)),
+                verboseTree,
+                maxDepth,
+                maxNodes,
+                TreeFormat.parse(format),
+                outputFile != null ? outputFile.toPath() : null,
+                output);
     }
 }
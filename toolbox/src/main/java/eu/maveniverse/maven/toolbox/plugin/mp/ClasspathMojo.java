@@ -11,6 +11,7 @@ import eu.maveniverse.maven.toolbox.plugin.MPMojoSupport;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.io.File;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
@@ -25,8 +26,25 @@ public class ClasspathMojo extends MPMojoSupport {
     @Parameter(property = "scope", defaultValue = "runtime", required = true)
     private String scope;
 
+    /**
+     * The lockfile to use: if exists, locked artifacts are resolved without collecting dependencies, otherwise it
+     * is written. Not used in aggregate mode.
+     */
+    @Parameter(property = "lockfile")
+    private File lockfile;
+
     @Override
     protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
+        if (skipAggregated(output)) {
+            return true;
+        }
+        if (aggregate) {
+            return toolboxCommando.classpath(ResolutionScope.parse(scope), projectsAsResolutionRoots(), output);
+        }
+        if (lockfile != null) {
+            return toolboxCommando.classpath(
+                    ResolutionScope.parse(scope), projectAsResolutionRoot(), lockfile.toPath(), output);
+        }
         return toolboxCommando.classpath(ResolutionScope.parse(scope), projectAsResolutionRoot(), output);
     }
 }
@@ -9,10 +9,8 @@ package eu.maveniverse.maven.toolbox.plugin.mp;
 
 import eu.maveniverse.maven.toolbox.plugin.MPMojoSupport;
 import eu.maveniverse.maven.toolbox.shared.Output;
-import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
-import java.util.stream.Collectors;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
@@ -59,15 +57,12 @@ public class ResolveTransitiveMojo extends MPMojoSupport {
 
     @Override
     protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
-        ResolutionRoot project = projectAsResolutionRoot();
+        if (skipAggregated(output)) {
+            return true;
+        }
         return toolboxCommando.resolveTransitive(
                 ResolutionScope.parse(scope),
-                projectAsResolutionRoot().getDependencies().stream()
-                        .filter(toolboxCommando.parseDependencyMatcherSpec(depSpec))
-                        .map(d -> ResolutionRoot.ofLoaded(d.getArtifact())
-                                .withManagedDependencies(project.getManagedDependencies())
-                                .build())
-                        .collect(Collectors.toList()),
+                dependenciesAsResolutionRoots(toolboxCommando.parseDependencyMatcherSpec(depSpec)),
                 sources,
                 javadoc,
                 signature,
@@ -11,6 +11,8 @@ import eu.maveniverse.maven.toolbox.plugin.MPMojoSupport;
 import eu.maveniverse.maven.toolbox.shared.Output;
 import eu.maveniverse.maven.toolbox.shared.ResolutionScope;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.TreeFormat;
+import java.io.File;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
@@ -31,8 +33,51 @@ public class TreeMojo extends MPMojoSupport {
     @Parameter(property = "verboseTree", defaultValue = "false", required = true)
     private boolean verboseTree;
 
+    /**
+     * Maximum depth of tree to display (root is at depth 0), negative for unlimited.
+     */
+    @Parameter(property = "maxDepth", defaultValue = "-1")
+    private int maxDepth;
+
+    /**
+     * Maximum count of nodes to display, negative for unlimited.
+     */
+    @Parameter(property = "maxNodes", defaultValue = "-1")
+    private int maxNodes;
+
+    /**
+     * The tree format: text, json, dot or graphml. Aggregated tree supports only text.
+     */
+    @Parameter(property = "format", defaultValue = "text", required = true)
+    private String format;
+
+    /**
+     * The file to write tree to, instead to display it. Not supported for aggregated tree.
+     */
+    @Parameter(property = "output")
+    private File outputFile;
+
     @Override
     protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) throws Exception {
-        return toolboxCommando.tree(ResolutionScope.parse(scope), projectAsResolutionRoot(), verboseTree, output);
+        TreeFormat treeFormat = TreeFormat.parse(format);
+        if (aggregate && (treeFormat != TreeFormat.TEXT || outputFile != null)) {
+            throw new IllegalArgumentException("Aggregated tree supports only text format displayed to output");
+        }
+        if (skipAggregated(output)) {
+            return true;
+        }
+        if (aggregate) {
+            return toolboxCommando.tree(
+                    ResolutionScope.parse(scope), projectsAsResolutionRoots(), verboseTree, maxDepth, maxNodes, output);
+        }
+        return toolboxCommando.tree(
+                ResolutionScope.parse(scope),
+                projectAsResolutionRoot(),
+                verboseTree,
+                maxDepth,
+                maxNodes,
+                treeFormat,
+                outputFile != null ? outputFile.toPath() : null,
+                output);
     }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+public class CLITest {
+    @Test
+    void subcommandsAreEntryPoints() throws IOException {
+        String pom = new String(Files.readAllBytes(Paths.get("pom.xml")), StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("<entryPoint>(eu\\.maveniverse\\.maven\\.toolbox\\.plugin\\.gav\\.[^<]+)<")
+                .matcher(pom);
+        TreeSet<String> entryPoints = new TreeSet<>();
+        while (matcher.find()) {
+            entryPoints.add(matcher.group(1));
+        }
+        assertEquals(new TreeSet<>(CLI.subcommands().values()), entryPoints);
+    }
+
+    @Test
+    void subcommandNames() throws ClassNotFoundException {
+        for (Map.Entry<String, String> subcommand : CLI.subcommands().entrySet()) {
+            CommandLine.Command command = Class.forName(subcommand.getValue()).getAnnotation(CommandLine.Command.class);
+            assertEquals(subcommand.getKey(), command.name(), subcommand.getValue());
+        }
+    }
+
+    @Test
+    void lazySubcommands() {
+        assertTrue(CLI.commandLine().getSubcommands().isEmpty());
+        assertTrue(CLI.commandLine("-B", "--version").getSubcommands().isEmpty());
+        assertEquals(
+                Arrays.asList("tree"),
+                Arrays.asList(CLI.commandLine("tree", "-B", "junit:junit:4.13.2")
+                        .getSubcommands()
+                        .keySet()
+                        .toArray()));
+        assertEquals(
+                CLI.subcommands().size(),
+                CLI.commandLine("--help").getSubcommands().size());
+        assertEquals(
+                CLI.subcommands().size(),
+                CLI.commandLineWithAllSubcommands().getSubcommands().size());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import eu.maveniverse.maven.toolbox.shared.Output;
+import eu.maveniverse.maven.toolbox.shared.ResolutionRoot;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+public class MPMojoSupportTest {
+    private static final class TestMojo extends MPMojoSupport {
+        private TestMojo(MavenSession mavenSession, MavenProject mavenProject) {
+            this.mavenSession = mavenSession;
+            this.mavenProject = mavenProject;
+            this.aggregate = true;
+            this.artifactHandlerManager = new ArtifactHandlerManager() {
+                @Override
+                public ArtifactHandler getArtifactHandler(String type) {
+                    return new DefaultArtifactHandler(type);
+                }
+
+                @Override
+                @Deprecated
+                public void addHandlers(Map<String, ArtifactHandler> handlers) {}
+            };
+        }
+
+        @Override
+        protected boolean doExecute(Output output, ToolboxCommando toolboxCommando) {
+            return true;
+        }
+    }
+
+    private static MavenProject project(String artifactId, boolean executionRoot) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("g");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setPackaging("jar");
+        project.setExecutionRoot(executionRoot);
+        return project;
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("g");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static MavenSession session(MavenProject... projects) {
+        MavenSession session = new MavenSession(
+                null,
+                new DefaultRepositorySystemSession(),
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+        session.setProjects(Arrays.asList(projects));
+        return session;
+    }
+
+    @Test
+    void aggregatingOnExecutionRoot() {
+        MavenProject root = project("root", true);
+        MavenProject a = project("a", false);
+        MavenProject b = project("b", false);
+        MavenSession session = session(root, a, b);
+        assertFalse(new TestMojo(session, root).skipAggregated(new NullOutput()));
+        assertTrue(new TestMojo(session, a).skipAggregated(new NullOutput()));
+        assertTrue(new TestMojo(session, b).skipAggregated(new NullOutput()));
+    }
+
+    @Test
+    void aggregatingWithoutExecutionRoot() {
+        // like -pl a,b: root is not in reactor
+        MavenProject a = project("a", false);
+        MavenProject b = project("b", false);
+        MavenSession session = session(a, b);
+        assertSame(b, new TestMojo(session, a).aggregatingProject());
+        assertTrue(new TestMojo(session, a).skipAggregated(new NullOutput()));
+        assertFalse(new TestMojo(session, b).skipAggregated(new NullOutput()));
+    }
+
+    @Test
+    void dependenciesKeyedByManagement() {
+        MavenProject a = project("a", true);
+        a.setDependencies(Collections.singletonList(dependency("x", "1.0")));
+        MavenProject b = project("b", false);
+        b.setDependencies(Collections.singletonList(dependency("x", "1.0")));
+        MavenProject c = project("c", false);
+        c.setDependencies(Collections.singletonList(dependency("x", "1.0")));
+        DependencyManagement management = new DependencyManagement();
+        management.setDependencies(Collections.singletonList(dependency("y", "2.0")));
+        c.getModel().setDependencyManagement(management);
+
+        List<ResolutionRoot> roots = new TestMojo(session(a, b, c), a).dependenciesAsResolutionRoots(d -> true);
+        // a and b share the root; c has different dependency management
+        assertEquals(2, roots.size());
+        assertEquals(0, roots.get(0).getManagedDependencies().size());
+        assertEquals(1, roots.get(1).getManagedDependencies().size());
+    }
+}
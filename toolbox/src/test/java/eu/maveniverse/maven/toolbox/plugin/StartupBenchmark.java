@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CLI startup benchmark: measures time to first output and total time of CLI commands, by running them in new
+ * JVM processes. If AppCDS archive is present, same commands are measured with it as well.
+ * <p>
+ * Arguments: path of CLI JAR, path of AppCDS archive (optional), iterations (optional, default 10) and the GAV
+ * to use with "tree" command (optional, default is {@code junit:junit:4.13.2}).
+ */
+public final class StartupBenchmark {
+    public static void main(String... args) throws Exception {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark cli.jar [cli.jsa] [iterations] [gav]");
+        }
+        Path cliJar = Paths.get(args[0]);
+        Path cdsArchive = args.length > 1 ? Paths.get(args[1]) : null;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        String gav = args.length > 3 ? args[3] : "junit:junit:4.13.2";
+
+        List<List<String>> commands = Arrays.asList(Arrays.asList("--version"), Arrays.asList("tree", "-B", gav));
+        for (List<String> command : commands) {
+            benchmark(cliJar, null, command, iterations);
+            if (cdsArchive != null && Files.isRegularFile(cdsArchive)) {
+                benchmark(cliJar, cdsArchive, command, iterations);
+            }
+        }
+    }
+
+    private static void benchmark(Path cliJar, Path cdsArchive, List<String> command, int iterations)
+            throws IOException, InterruptedException {
+        ArrayList<String> cmd = new ArrayList<>();
+        cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (cdsArchive != null) {
+            cmd.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        cmd.add("-jar");
+        cmd.add(cliJar.toString());
+        cmd.addAll(command);
+
+        // warmup: OS file caches, local repository
+        run(cmd);
+        ArrayList<Long> firstOutput = new ArrayList<>();
+        ArrayList<Long> total = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            long[] result = run(cmd);
+            firstOutput.add(result[0]);
+            total.add(result[1]);
+        }
+        Collections.sort(firstOutput);
+        Collections.sort(total);
+        System.out.printf(
+                "%-30s %-6s first output: min %5d ms, median %5d ms; total: min %5d ms, median %5d ms%n",
+                String.join(" ", command),
+                cdsArchive != null ? "AppCDS" : "",
+                firstOutput.get(0),
+                firstOutput.get(iterations / 2),
+                total.get(0),
+                total.get(iterations / 2));
+    }
+
+    private static long[] run(List<String> cmd) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        long firstOutput = -1;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = process.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (read > 0 && firstOutput < 0) {
+                    firstOutput = System.nanoTime();
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        long end = System.nanoTime();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Command " + cmd + " failed with exit code " + exitCode);
+        }
+        return new long[] {
+            TimeUnit.NANOSECONDS.toMillis((firstOutput < 0 ? end : firstOutput) - start),
+            TimeUnit.NANOSECONDS.toMillis(end - start)
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023-2024 Maveniverse Org.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package eu.maveniverse.maven.toolbox.plugin.gav;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.toolbox.shared.NullOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+
+public class GavBatchMojoTest {
+    @Test
+    void parse() {
+        assertArrayEquals(new String[0], GavBatchMojo.parse("  "));
+        assertArrayEquals(new String[0], GavBatchMojo.parse(" # tree junit:junit:4.13.2"));
+        assertArrayEquals(
+                new String[] {"tree", "-B", "a b", "c 'd'", ""}, GavBatchMojo.parse(" tree  -B 'a b' \"c 'd'\" '' "));
+        assertArrayEquals(new String[] {"ab"}, GavBatchMojo.parse("a'b'"));
+        assertThrows(IllegalArgumentException.class, () -> GavBatchMojo.parse("tree 'junit:junit:4.13.2"));
+    }
+
+    @Test
+    void execute() throws Exception {
+        List<String> lines = Arrays.asList("# comment", "slow one", "", "fast two", "fail three");
+        BiFunction<PrintStream, String[], Integer> invoker = (stream, args) -> {
+            if ("slow".equals(args[0])) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            stream.println(args[1]);
+            return "fail".equals(args[0]) ? 1 : 0;
+        };
+
+        for (int threads : new int[] {1, 3}) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            assertFalse(GavBatchMojo.execute(
+                    new NullOutput(), new PrintStream(buffer, true, StandardCharsets.UTF_8), lines, threads, invoker));
+            // output in script order
+            assertEquals(
+                    String.join(System.lineSeparator(), "one", "two", "three", ""),
+                    buffer.toString(StandardCharsets.UTF_8));
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        assertTrue(GavBatchMojo.execute(
+                new NullOutput(),
+                new PrintStream(buffer, true, StandardCharsets.UTF_8),
+                lines.subList(0, 4),
+                2,
+                invoker));
+    }
+
+    @Test
+    void invalidScriptRejected() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        List<String> lines = Arrays.asList("tree junit:junit:4.13.2", "tree 'junit:junit:4.13.2");
+        assertFalse(GavBatchMojo.execute(new NullOutput(), System.err, lines, 2, (stream, args) -> {
+            invocations.incrementAndGet();
+            return 0;
+        }));
+        assertEquals(0, invocations.get());
+    }
+}